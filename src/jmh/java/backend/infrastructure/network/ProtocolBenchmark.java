@@ -0,0 +1,105 @@
+package backend.infrastructure.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import backend.application.service.BattleService;
+import backend.domain.model.BattleState;
+import backend.infrastructure.database.PokemonRepository;
+import backend.infrastructure.network.MessageFraming.Format;
+import backend.infrastructure.network.NetworkProtocol.BattleStateUpdateMessage;
+import backend.infrastructure.network.NetworkProtocol.Message;
+import benchmark.BenchmarkFixtures;
+
+/**
+ * Protocol hot paths - full state update through Java serialization and through the binary codec
+ * Lives in the network package because the framing is package-private. Compare legacyEncode
+ * with binaryEncode for encode CPU; setUp prints the payload size of each format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProtocolBenchmark {
+    private BattleStateUpdateMessage message;
+    private byte[] serialized;
+    private byte[] legacyPayload;
+    private byte[] binaryPayload;
+
+    @Setup
+    public void setUp() throws Exception {
+        Logger.getLogger("").setLevel(Level.SEVERE);
+        PokemonRepository repository = BenchmarkFixtures.pokemonRepository();
+        BattleService battleService = new BattleService();
+        BattleState battle = battleService.startBattle(
+            BenchmarkFixtures.playerTeam(repository), BenchmarkFixtures.enemyTeam(repository));
+        message = new BattleStateUpdateMessage(battleService.getBattleStateDTO(battle), "Charizard used Flamethrower!", 1);
+
+        serialized = serialize();
+        legacyPayload = MessageFraming.encode(message, Format.LEGACY);
+        binaryPayload = MessageFraming.encode(message, Format.BINARY);
+        // Size is the other half of the comparison; printed once per fork next to the timings
+        System.out.printf("Payload bytes: java %d, legacy %d, binary %d (%.1fx smaller than legacy)%n",
+            serialized.length, legacyPayload.length, binaryPayload.length,
+            (double) legacyPayload.length / binaryPayload.length);
+    }
+
+    @Benchmark
+    public byte[] javaSerialize() throws IOException {
+        return serialize();
+    }
+
+    @Benchmark
+    public Object javaDeserialize() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public byte[] legacyEncode() throws IOException {
+        return MessageFraming.encode(message, Format.LEGACY);
+    }
+
+    @Benchmark
+    public Message legacyDecode() throws IOException, ClassNotFoundException {
+        return MessageFraming.decode(legacyPayload);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() throws IOException {
+        return MessageFraming.encode(message, Format.BINARY);
+    }
+
+    @Benchmark
+    public Message binaryDecode() throws IOException, ClassNotFoundException {
+        return MessageFraming.decode(binaryPayload);
+    }
+
+    private byte[] serialize() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(message);
+        }
+        return bytes.toByteArray();
+    }
+}
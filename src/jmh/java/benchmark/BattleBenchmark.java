@@ -0,0 +1,99 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import backend.application.dto.BattleStateDTO;
+import backend.application.service.BattleService;
+import backend.domain.model.BattleState;
+import backend.domain.model.Move;
+import backend.domain.model.Pokemon;
+import backend.domain.model.PokemonBattleStats;
+import backend.domain.model.PokemonType;
+import backend.domain.model.Team;
+import backend.domain.model.TypeEffectiveness;
+import backend.infrastructure.database.PokemonRepository;
+
+/**
+ * Battle hot paths - damage, type effectiveness, state DTOs and move generation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BattleBenchmark {
+    private static final String[] TYPES = {
+        "Normal", "Fire", "Water", "Electric", "Grass", "Ice", "Fighting", "Poison", "Ground",
+        "Flying", "Psychic", "Bug", "Rock", "Ghost", "Dragon", "Dark", "Steel", "Fairy"
+    };
+    private static final PokemonType[] POKEMON_TYPES = PokemonType.values();
+
+    private BattleService battleService;
+    private BattleState battle;
+    private PokemonBattleStats attacker;
+    private PokemonBattleStats defender;
+    private Pokemon pokemon;
+    private Move move;
+    private int typeIndex;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Missing move data warnings would end up in every iteration's output
+        Logger.getLogger("").setLevel(Level.SEVERE);
+        PokemonRepository repository = BenchmarkFixtures.pokemonRepository();
+        Team player = BenchmarkFixtures.playerTeam(repository);
+        Team enemy = BenchmarkFixtures.enemyTeam(repository);
+
+        battleService = new BattleService();
+        battle = battleService.startBattle(player, enemy);
+        attacker = player.getActivePokemon();
+        defender = enemy.getActivePokemon();
+        pokemon = attacker.getPokemon();
+        List<Move> moves = battleService.generateMovesForPokemon(pokemon);
+        move = moves.get(0);
+    }
+
+    @Benchmark
+    public int calculateDamage() {
+        return attacker.calculateDamage(move, defender);
+    }
+
+    @Benchmark
+    public double totalEffectiveness() {
+        // Cycle the attacking type so the lookup cannot be hoisted out of the loop
+        String attackType = TYPES[typeIndex++ % TYPES.length];
+        return TypeEffectiveness.getTotalEffectiveness(attackType, "Water", "Flying");
+    }
+
+    @Benchmark
+    public double totalEffectivenessByType() {
+        PokemonType attackType = POKEMON_TYPES[typeIndex++ % POKEMON_TYPES.length];
+        return TypeEffectiveness.getTotalEffectiveness(attackType, PokemonType.WATER, PokemonType.FLYING);
+    }
+
+    @Benchmark
+    public BattleStateDTO battleStateDTO() {
+        return battleService.getBattleStateDTO(battle);
+    }
+
+    @Benchmark
+    public void generateMoves(Blackhole blackhole) {
+        blackhole.consume(battleService.generateMovesForPokemon(pokemon));
+    }
+}
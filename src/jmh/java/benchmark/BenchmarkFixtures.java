@@ -0,0 +1,48 @@
+package benchmark;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import backend.domain.model.Pokemon;
+import backend.domain.model.Team;
+import backend.infrastructure.database.PokemonRepository;
+import backend.infrastructure.persistence.ConnectionManager;
+
+/**
+ * Shared benchmark inputs - fixed teams from pokedex.db so every run measures the same battle
+ */
+public final class BenchmarkFixtures {
+    public static final String POKEDEX_DB = "pokedex.db";
+
+    // Spread over type combinations, including single-typed Pokemon (the Pokedex is Gen 1 only)
+    private static final int[] PLAYER_IDS = {6, 25, 94, 131, 149, 76};
+    private static final int[] ENEMY_IDS = {3, 9, 65, 143, 130, 142};
+
+    private BenchmarkFixtures() {
+    }
+
+    public static PokemonRepository pokemonRepository() throws SQLException {
+        return new PokemonRepository(ConnectionManager.getInstance().getPool(POKEDEX_DB));
+    }
+
+    public static Team playerTeam(PokemonRepository repository) throws SQLException {
+        return team(repository, "player", PLAYER_IDS);
+    }
+
+    public static Team enemyTeam(PokemonRepository repository) throws SQLException {
+        return team(repository, "enemy", ENEMY_IDS);
+    }
+
+    private static Team team(PokemonRepository repository, String trainer, int[] ids) throws SQLException {
+        List<Pokemon> pokemon = new ArrayList<>();
+        for (int id : ids) {
+            Pokemon p = repository.findById(id);
+            if (p == null) {
+                throw new IllegalStateException("Pokemon " + id + " missing from " + POKEDEX_DB);
+            }
+            pokemon.add(p);
+        }
+        return new Team(trainer, pokemon);
+    }
+}
@@ -0,0 +1,94 @@
+package benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import backend.application.service.PokemonService;
+import backend.application.service.UserService;
+import backend.domain.model.Pokemon;
+import backend.infrastructure.database.PokedexSnapshot;
+import backend.infrastructure.database.UserRepository;
+import backend.infrastructure.persistence.ConnectionPool;
+
+/**
+ * Persistence hot paths - Pokedex filtering and login
+ * Login runs against a throwaway copy of the usuarios schema, never the real Usuarios.db.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistenceBenchmark {
+    private static final String USERNAME = "benchmark";
+    private static final String PASSWORD = "benchmark-password";
+
+    private PokemonService pokemonService;
+    private PokemonService snapshotService;
+    private UserService userService;
+    private ConnectionPool userPool;
+    private File userDb;
+
+    @Setup
+    public void setUp() throws Exception {
+        pokemonService = new PokemonService(BenchmarkFixtures.pokemonRepository());
+        snapshotService = new PokemonService(new PokedexSnapshot(BenchmarkFixtures.pokemonRepository()));
+
+        userDb = Files.createTempFile("benchmark-users", ".db").toFile();
+        userPool = new ConnectionPool("benchmark-users", "jdbc:sqlite:" + userDb.getAbsolutePath(), 2,
+            ConnectionPool.DEFAULT_TIMEOUT_MILLIS);
+        userPool.write(connection -> {
+            try (Statement st = connection.createStatement()) {
+                return st.execute("CREATE TABLE usuarios (id INTEGER PRIMARY KEY AUTOINCREMENT, nome TEXT UNIQUE NOT NULL, "
+                    + "senha TEXT NOT NULL, admin BOOLEAN DEFAULT FALSE, ultimo_login TEXT, data_criacao TEXT)");
+            }
+        });
+        userService = new UserService(new UserRepository(userPool));
+        userService.register(USERNAME, PASSWORD, PASSWORD, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        userPool.close();
+        userDb.delete();
+        new File(userDb.getPath() + "-wal").delete();
+        new File(userDb.getPath() + "-shm").delete();
+    }
+
+    @Benchmark
+    public List<Pokemon> findWithFilters() throws SQLException {
+        // Typical Pokedex search: one type and two stat ranges
+        return pokemonService.findWithFilters(null, "Fire", 50, 120, 60, null,
+            null, null, null, null, null, null, 70, null);
+    }
+
+    @Benchmark
+    public List<Pokemon> findWithFiltersSnapshot() throws SQLException {
+        return snapshotService.findWithFilters(null, "Fire", 50, 120, 60, null,
+            null, null, null, null, null, null, 70, null);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean authenticate() throws SQLException {
+        return userService.authenticate(USERNAME, PASSWORD);
+    }
+}
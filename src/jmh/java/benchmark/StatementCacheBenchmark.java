@@ -0,0 +1,106 @@
+package benchmark;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import backend.domain.model.Pokemon;
+import backend.domain.model.User;
+import backend.domain.service.IPokemonRepository.PokemonFilter;
+import backend.infrastructure.database.PokemonRepository;
+import backend.infrastructure.database.UserRepository;
+import backend.infrastructure.persistence.ConnectionPool;
+import backend.infrastructure.persistence.DatabaseConnection;
+
+/**
+ * Prepared statement cache - login and Pokedex filter queries per second, with the cache off (0) and on
+ * Login measures only its database round trips; password hashing would hide them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatementCacheBenchmark {
+    private static final String USERNAME = "benchmark";
+
+    @Param({"0", "64"})
+    public int statementCacheSize;
+
+    private ConnectionPool pokedexPool;
+    private ConnectionPool userPool;
+    private PokemonRepository pokemonRepository;
+    private UserRepository userRepository;
+    private File userDb;
+    private int minAttack;
+
+    @Setup
+    public void setUp() throws Exception {
+        pokedexPool = new ConnectionPool("benchmark-pokedex", DatabaseConnection.url(BenchmarkFixtures.POKEDEX_DB),
+            2, ConnectionPool.DEFAULT_TIMEOUT_MILLIS, statementCacheSize);
+        pokemonRepository = new PokemonRepository(pokedexPool);
+
+        userDb = Files.createTempFile("benchmark-users", ".db").toFile();
+        userPool = new ConnectionPool("benchmark-users", "jdbc:sqlite:" + userDb.getAbsolutePath(), 2,
+            ConnectionPool.DEFAULT_TIMEOUT_MILLIS, statementCacheSize);
+        userPool.write(connection -> {
+            try (Statement st = connection.createStatement()) {
+                return st.execute("CREATE TABLE usuarios (id INTEGER PRIMARY KEY AUTOINCREMENT, nome TEXT UNIQUE NOT NULL, "
+                    + "senha TEXT NOT NULL, admin BOOLEAN DEFAULT FALSE, ultimo_login TEXT, data_criacao TEXT)");
+            }
+        });
+        userRepository = new UserRepository(userPool);
+        userRepository.create(USERNAME, "$2a$12$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchma".getBytes(), false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println();
+        System.out.println(pokedexPool.getStats());
+        System.out.println(userPool.getStats());
+        pokedexPool.close();
+        userPool.close();
+        userDb.delete();
+        new File(userDb.getPath() + "-wal").delete();
+        new File(userDb.getPath() + "-shm").delete();
+    }
+
+    /**
+     * The queries of a successful login: stored hash, last login, then the profile
+     */
+    @Benchmark
+    public User login() throws SQLException {
+        if (userRepository.getEncryptedPassword(USERNAME) == null) {
+            throw new IllegalStateException("Benchmark user missing");
+        }
+        userRepository.updateLastLogin(USERNAME);
+        return userRepository.findByUsername(USERNAME);
+    }
+
+    /**
+     * Typical Pokedex search with changing values but the same filter shape
+     */
+    @Benchmark
+    public List<Pokemon> filterQuery() throws SQLException {
+        minAttack = (minAttack + 7) % 100;
+        return pokemonRepository.findMatching(new PokemonFilter(null, "Fire", 50, 120, minAttack, null,
+            null, null, null, null, null, null, 70, null));
+    }
+}
@@ -0,0 +1,56 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import backend.application.service.BattleService;
+import backend.application.service.TeamOptimizer;
+import backend.domain.model.Team;
+import backend.infrastructure.database.PokemonRepository;
+
+/**
+ * Team optimizer fitness - evaluations per second against the default 16-team opponent pool
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TeamOptimizerBenchmark {
+    private static final int OPPONENTS = 16;
+    private static final int BATTLES_PER_OPPONENT = 200;
+    private static final long SEED = 42L;
+
+    private TeamOptimizer optimizer;
+    private Team team;
+    private List<Team> opponents;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Missing move data warnings would end up in every iteration's output
+        Logger.getLogger("").setLevel(Level.SEVERE);
+        PokemonRepository repository = BenchmarkFixtures.pokemonRepository();
+        optimizer = new TeamOptimizer(repository, new BattleService());
+        team = BenchmarkFixtures.playerTeam(repository);
+        opponents = optimizer.randomOpponents(OPPONENTS, 5, SEED);
+    }
+
+    @Benchmark
+    public double evaluateTeam() {
+        return optimizer.evaluate(team, opponents, BATTLES_PER_OPPONENT, SEED);
+    }
+}
@@ -0,0 +1,59 @@
+package benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import backend.application.service.TeamService;
+import backend.domain.model.Pokemon;
+import backend.domain.model.Team;
+import backend.domain.service.PokemonSampler;
+import backend.infrastructure.database.PokemonRepository;
+
+/**
+ * Random team generation - teams per second, unconstrained and with type and stat budget constraints
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TeamSamplingBenchmark {
+    private PokemonRepository repository;
+    private TeamService teamService;
+    private PokemonSampler.Constraints constraints;
+
+    @Setup
+    public void setUp() throws Exception {
+        repository = BenchmarkFixtures.pokemonRepository();
+        teamService = new TeamService(repository);
+        // A type with few members and a tight budget, the worst case for rejection sampling
+        constraints = new PokemonSampler.Constraints().type("Water").maxTotal(1800);
+    }
+
+    @Benchmark
+    public Team randomTeam() throws Exception {
+        return teamService.generateRandomTeam("benchmark");
+    }
+
+    @Benchmark
+    public Team constrainedTeam() throws Exception {
+        return teamService.generateRandomTeam("benchmark", constraints);
+    }
+
+    @Benchmark
+    public List<Pokemon> findRandomFromDatabase() throws Exception {
+        return repository.findRandom(5);
+    }
+}
@@ -0,0 +1,97 @@
+package app;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import backend.application.service.BattleAI;
+import backend.application.service.BattleDecision;
+import backend.application.service.BattleService;
+import backend.application.service.MonteCarloBattleAI;
+import backend.application.service.RandomBattleAI;
+import backend.application.service.TeamService;
+import backend.domain.model.BattleRandom;
+import backend.domain.model.BattleState;
+import backend.domain.model.Team;
+import backend.infrastructure.ServiceLocator;
+
+/**
+ * Plays MonteCarloBattleAI against the random opponent on random teams
+ *
+ * Usage: BattleAIComparison [--battles=N] [--budget=MS] [--seed=N]
+ * The search AI always plays the enemy side, as in singleplayer.
+ */
+public class BattleAIComparison {
+    private static final int DEFAULT_BATTLES = 20;
+    private static final int MAX_TURNS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        int battles = DEFAULT_BATTLES;
+        long budget = MonteCarloBattleAI.DEFAULT_BUDGET_MILLIS;
+        long seed = BattleRandom.newSeed();
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1).trim();
+            if (arg.startsWith("--battles=")) {
+                battles = Integer.parseInt(value);
+            } else if (arg.startsWith("--budget=")) {
+                budget = Long.parseLong(value);
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value);
+            } else {
+                System.err.println("⚠️  Unknown option: " + arg);
+            }
+        }
+
+        // Move data warnings are logged once at load and would bury the result
+        Logger.getLogger("").setLevel(Level.SEVERE);
+        ServiceLocator services = ServiceLocator.getInstance();
+        BattleService battleService = services.getBattleService();
+        TeamService teamService = services.getTeamService();
+        BattleAI randomAI = new RandomBattleAI(battleService);
+        MonteCarloBattleAI searchAI = new MonteCarloBattleAI(battleService, budget);
+
+        System.out.println("▶ " + battles + " battles, search budget " + budget + " ms on "
+            + Runtime.getRuntime().availableProcessors() + " cores (seed " + seed + ")");
+
+        int searchWins = 0;
+        int draws = 0;
+        long slowest = 0;
+        for (int b = 0; b < battles; b++) {
+            Team player = teamService.generateRandomTeam("Random");
+            Team enemy = teamService.generateRandomTeam("Search");
+            BattleState battle = battleService.startBattle(player, enemy, seed + b);
+
+            for (int turn = 0; turn < MAX_TURNS && !battle.isBattleEnded(); turn++) {
+                boolean searching = battle.getCurrentTurn() == BattleState.Turn.ENEMY;
+                BattleDecision decision = (searching ? searchAI : randomAI).decide(battle);
+                if (searching) {
+                    slowest = Math.max(slowest, decision.getElapsedNanos());
+                }
+                Team team = battle.getActiveTeam();
+                if (decision.isSwitch()) {
+                    team.switchPokemon(decision.getIndex());
+                } else {
+                    battleService.executeMove(battle, battleService
+                        .generateMovesForPokemon(team.getActivePokemon().getPokemon()).get(decision.getIndex()));
+                }
+                battle.checkBattleEnd();
+                battle.switchTurn();
+            }
+
+            if (battle.getWinner() == enemy) {
+                searchWins++;
+            } else if (battle.getWinner() == null) {
+                draws++;
+            }
+        }
+
+        System.out.printf("📊 Search AI won %d/%d (%.1f%%), draws %d%n",
+            searchWins, battles, 100.0 * searchWins / battles, draws);
+        System.out.printf("   %,d decisions, %.1f decisions/s, slowest %.1f ms%n",
+            searchAI.getDecisions(), searchAI.getDecisionsPerSecond(), slowest / 1e6);
+        System.out.printf("   %,d nodes searched, %,.0f per decision, %,.0f nodes/s%n",
+            searchAI.getNodesSearched(), (double) searchAI.getNodesSearched() / Math.max(1, searchAI.getDecisions()),
+            searchAI.getNodesPerSecond());
+        System.exit(0);
+    }
+}
@@ -0,0 +1,57 @@
+package app;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import backend.application.service.MatchupMatrix;
+import backend.domain.model.Pokemon;
+import backend.infrastructure.ServiceLocator;
+
+/**
+ * Builds the species matchup matrix, or confirms the cached one is current
+ *
+ * Usage: BuildMatchupMatrix [--force] [--battles=N] [--file=PATH]
+ * --battles sets the simulated battles behind each win probability (default 1000).
+ */
+public class BuildMatchupMatrix {
+    public static void main(String[] args) throws Exception {
+        boolean force = false;
+        int battles = MatchupMatrix.DEFAULT_BATTLES_PER_PAIR;
+        Path file = Paths.get(MatchupMatrix.DEFAULT_FILE);
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1).trim();
+            if (arg.equals("--force")) {
+                force = true;
+            } else if (arg.startsWith("--battles=")) {
+                battles = Integer.parseInt(value);
+            } else if (arg.startsWith("--file=")) {
+                file = Paths.get(value);
+            } else {
+                System.err.println("⚠️  Unknown option: " + arg);
+            }
+        }
+
+        Logger.getLogger("").setLevel(Level.SEVERE);
+        ServiceLocator services = ServiceLocator.getInstance();
+        List<Pokemon> pokemon = services.getPokemonService().getAllPokemon();
+
+        long start = System.nanoTime();
+        MatchupMatrix matrix = MatchupMatrix.loadOrBuild(file, pokemon, services.getBattleService(), battles, force);
+        System.out.printf("✅ %d x %d matchups in %s (%.1f s)%n", matrix.getCount(), matrix.getCount(),
+            file.toAbsolutePath(), (System.nanoTime() - start) / 1e9);
+
+        // Spot check: the first two species in the Pokedex
+        if (pokemon.size() >= 2) {
+            Pokemon a = pokemon.get(0);
+            Pokemon b = pokemon.get(1);
+            System.out.printf("   %s vs %s: %.1f damage/turn, %.1f turns to KO, %.1f%% to win%n",
+                a.getName(), b.getName(), matrix.getExpectedDamage(a.getId(), b.getId()),
+                matrix.getTurnsToKo(a.getId(), b.getId()), matrix.getWinProbability(a.getId(), b.getId()) * 100);
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,317 @@
+package app;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import backend.application.dto.BattleStateDTO;
+import backend.application.dto.PokemonDTO;
+import backend.domain.model.Pokemon;
+import backend.domain.model.PokemonBattleStats;
+import backend.domain.model.Team;
+import backend.infrastructure.ServiceLocator;
+import backend.infrastructure.network.BattleClient;
+import backend.infrastructure.network.BattleServer;
+import backend.infrastructure.network.BattleServer.ExecutionMode;
+import backend.infrastructure.network.NetworkProtocol;
+
+/**
+ * Runs the same load against the PLATFORM and VIRTUAL execution modes of BattleServer
+ * and reports connections held, memory per connection and p99 turn latency.
+ *
+ * Usage: ExecutionModeComparison [idleConnections] [battles] [port]
+ */
+public class ExecutionModeComparison {
+    private static final Logger LOGGER = Logger.getLogger(ExecutionModeComparison.class.getName());
+    private static final int DEFAULT_IDLE_CONNECTIONS = 2000;
+    private static final int DEFAULT_BATTLES = 50;
+    private static final int DEFAULT_PORT = 8890;
+    private static final long BATTLE_TIMEOUT_SECONDS = 120;
+
+    public static void main(String[] args) throws Exception {
+        int idleConnections = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_IDLE_CONNECTIONS;
+        int battles = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BATTLES;
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PORT;
+
+        // Keep per-move INFO logging out of the measurements
+        Logger.getLogger("").setLevel(Level.WARNING);
+        ServiceLocator.getInstance();
+
+        List<Result> results = new ArrayList<>();
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            results.add(run(mode, idleConnections, battles, port));
+        }
+
+        System.out.println();
+        System.out.printf("%-10s %12s %14s %14s %14s %12s %12s%n",
+            "Mode", "Held", "Heap/conn (B)", "RSS/conn (B)", "OS threads", "p50 (ms)", "p99 (ms)");
+        for (Result r : results) {
+            System.out.printf("%-10s %12d %14d %14s %14d %12.2f %12.2f%n",
+                r.mode, r.connectionsHeld, r.heapPerConnection,
+                r.rssPerConnection < 0 ? "n/a" : Long.toString(r.rssPerConnection),
+                r.osThreads, r.p50Millis, r.p99Millis);
+        }
+        System.exit(0);
+    }
+
+    private static Result run(ExecutionMode mode, int idleConnections, int battles, int port) throws Exception {
+        System.out.println("▶ " + mode + ": " + idleConnections + " idle connections, " + battles + " battles");
+        BattleServer server = new BattleServer(port, mode);
+        server.start();
+
+        Result result = new Result(mode);
+        List<Socket> idle = new ArrayList<>();
+        try {
+            long heapBefore = usedHeap();
+            long rssBefore = residentSetSize();
+
+            // Phase 1: idle connections, each announced with a CONNECT frame
+            for (int i = 0; i < idleConnections; i++) {
+                try {
+                    idle.add(openIdleConnection(port, "idle" + i));
+                } catch (IOException e) {
+                    System.out.println("  stopped opening connections at " + i + ": " + e.getMessage());
+                    break;
+                }
+            }
+            waitForClients(server, idle.size());
+
+            result.connectionsHeld = server.getConnectedClientCount();
+            result.osThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+            long held = Math.max(1, result.connectionsHeld);
+            result.heapPerConnection = (usedHeap() - heapBefore) / held;
+            long rssAfter = residentSetSize();
+            result.rssPerConnection = rssBefore < 0 || rssAfter < 0 ? -1 : (rssAfter - rssBefore) / held;
+
+            // Phase 2: full battles on top of the idle load
+            List<Long> latencies = runBattles(port, battles);
+            result.p50Millis = percentile(latencies, 0.50);
+            result.p99Millis = percentile(latencies, 0.99);
+        } finally {
+            for (Socket socket : idle) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // Ignore - measurement is over
+                }
+            }
+            server.stop();
+            Thread.sleep(500);
+        }
+        return result;
+    }
+
+    private static Socket openIdleConnection(int port, String username) throws IOException {
+        Socket socket = new Socket("localhost", port);
+        // Hand-written frame: 4-byte length + serialized ConnectMessage
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(new NetworkProtocol.ConnectMessage(username, NetworkProtocol.PROTOCOL_VERSION));
+        }
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+        out.flush();
+        return socket;
+    }
+
+    private static void waitForClients(BattleServer server, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (server.getConnectedClientCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        // Let lazily allocated per-connection state settle before sampling memory
+        Thread.sleep(500);
+    }
+
+    private static List<Long> runBattles(int port, int battles) throws Exception {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        CountDownLatch finished = new CountDownLatch(battles * 2);
+        List<BattleClient> clients = new ArrayList<>();
+
+        for (int i = 0; i < battles * 2; i++) {
+            BattleClient client = new BattleClient();
+            client.setListener(new TurnTimingBot(client, latencies, finished));
+            if (!client.connect("localhost", port, "bot" + i)) {
+                finished.countDown();
+                continue;
+            }
+            clients.add(client);
+            client.createGame("bot" + i, randomTeam());
+        }
+
+        if (!finished.await(BATTLE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            LOGGER.warning("Not every battle finished before the timeout");
+        }
+        clients.forEach(BattleClient::disconnect);
+        return new ArrayList<>(latencies);
+    }
+
+    private static List<PokemonDTO> randomTeam() throws Exception {
+        Team team = ServiceLocator.getInstance().getTeamService().generateRandomTeam("bot");
+        List<PokemonDTO> dtos = new ArrayList<>();
+        for (PokemonBattleStats stats : team.getAllPokemon()) {
+            Pokemon p = stats.getPokemon();
+            dtos.add(new PokemonDTO(p.getId(), p.getName(), p.getForm(), p.getType1(), p.getType2(),
+                p.getTotal(), p.getHp(), p.getAttack(), p.getDefense(), p.getSpAtk(), p.getSpDef(),
+                p.getSpeed(), p.getGeneration()));
+        }
+        return dtos;
+    }
+
+    private static double percentile(List<Long> values, double percentile) {
+        if (values.isEmpty()) {
+            return 0.0;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index)) / 1_000_000.0;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Resident set size in bytes (Linux only) - captures thread stacks that the heap does not
+     */
+    private static long residentSetSize() {
+        Path status = Paths.get("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.log(Level.FINE, "Could not read RSS", e);
+        }
+        return -1;
+    }
+
+    /**
+     * Plays its turns immediately and times each action until the server completes the turn
+     */
+    private static class TurnTimingBot implements BattleClient.BattleClientListener {
+        private final BattleClient client;
+        private final ConcurrentLinkedQueue<Long> latencies;
+        private final CountDownLatch finished;
+        private volatile BattleStateDTO lastState;
+        private volatile long actionSentAt;
+
+        TurnTimingBot(BattleClient client, ConcurrentLinkedQueue<Long> latencies, CountDownLatch finished) {
+            this.client = client;
+            this.latencies = latencies;
+            this.finished = finished;
+        }
+
+        @Override
+        public void onGameCreated(String gameId) {
+        }
+
+        @Override
+        public void onGameJoined(String gameId, String opponentName) {
+        }
+
+        @Override
+        public void onBattleStarted(BattleStateDTO initialState) {
+            lastState = initialState;
+            act();
+        }
+
+        @Override
+        public void onBattleStateUpdate(BattleStateDTO state, String actionMessage) {
+            lastState = state;
+        }
+
+        @Override
+        public void onTurnComplete() {
+            recordLatency();
+            act();
+        }
+
+        @Override
+        public void onBattleEnd(boolean didIWin, String winnerName, String loserName,
+                                NetworkProtocol.BattleOutcomeType outcomeType) {
+            recordLatency();
+            finished.countDown();
+        }
+
+        @Override
+        public void onError(String errorCode, String errorMessage) {
+        }
+
+        @Override
+        public void onGameError(String error) {
+        }
+
+        @Override
+        public void onConnectionLost() {
+            finished.countDown();
+        }
+
+        private void recordLatency() {
+            if (actionSentAt != 0) {
+                latencies.add(System.nanoTime() - actionSentAt);
+                actionSentAt = 0;
+            }
+        }
+
+        private void act() {
+            BattleStateDTO state = lastState;
+            boolean playerOne = client.isPlayerOne();
+            if (state == null || playerOne != "PLAYER".equals(state.getCurrentTurn())) {
+                return;
+            }
+
+            List<PokemonDTO> team = playerOne ? state.getPlayerTeam() : state.getEnemyTeam();
+            int active = playerOne ? state.getPlayerActivePokemonIndex() : state.getEnemyActivePokemonIndex();
+            actionSentAt = System.nanoTime();
+            if (team.get(active).isFainted()) {
+                for (int i = 0; i < team.size(); i++) {
+                    if (!team.get(i).isFainted()) {
+                        client.sendSwitchPokemon(i);
+                        return;
+                    }
+                }
+            }
+            client.sendMove(0);
+        }
+    }
+
+    private static class Result {
+        private final ExecutionMode mode;
+        private int connectionsHeld;
+        private long heapPerConnection;
+        private long rssPerConnection;
+        private int osThreads;
+        private double p50Millis;
+        private double p99Millis;
+
+        Result(ExecutionMode mode) {
+            this.mode = mode;
+        }
+    }
+}
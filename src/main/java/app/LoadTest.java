@@ -0,0 +1,420 @@
+package app;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import backend.application.dto.BattleStateDTO;
+import backend.application.dto.PokemonDTO;
+import backend.domain.model.Pokemon;
+import backend.domain.model.PokemonBattleStats;
+import backend.domain.model.Team;
+import backend.infrastructure.ServiceLocator;
+import backend.infrastructure.network.BattleClient;
+import backend.infrastructure.network.BattleServer;
+import backend.infrastructure.network.BattleServer.TransportMode;
+import backend.infrastructure.network.NetworkProtocol;
+
+/**
+ * Headless load generator - N bot players on BattleClient against a local BattleServer
+ *
+ * Each bot connects, queues with a random team, plays its moves after a think time,
+ * occasionally forfeits or drops its connection, and queues again until the run ends.
+ * Reports connect rate, matchmaking latency, per-turn round trip percentiles and error rates.
+ *
+ * Usage: LoadTest [--bots=N] [--duration=SECONDS] [--think=MS] [--forfeit=P] [--drop=P]
+ *                 [--port=N] [--server=nio|blocking|external]
+ * --server=external targets a server already running on localhost:port instead of starting one.
+ */
+public class LoadTest {
+    private static final Logger LOGGER = Logger.getLogger(LoadTest.class.getName());
+    private static final int TEAM_POOL_SIZE = 64;
+    private static final long RECONNECT_DELAY_MILLIS = 500;
+    private static final long GRACE_MILLIS = 15_000;
+
+    private final int bots;
+    private final long durationMillis;
+    private final long thinkMillis;
+    private final double forfeitChance;
+    private final double dropChance;
+    private final int port;
+    private final List<List<PokemonDTO>> teamPool = new ArrayList<>();
+    private final ScheduledExecutorService scheduler =
+        Executors.newScheduledThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    private final List<Bot> allBots = new ArrayList<>();
+    private volatile long deadline;
+
+    // Metrics
+    private final Samples connectTimes = new Samples();
+    private final Samples matchmakingTimes = new Samples();
+    private final Samples turnTimes = new Samples();
+    private final LongAdder connects = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private final LongAdder battlesFinished = new LongAdder();
+    private final LongAdder forfeits = new LongAdder();
+    private final LongAdder drops = new LongAdder();
+    private final LongAdder connectionsLost = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicLong firstConnectAt = new AtomicLong();
+    private final AtomicLong lastConnectAt = new AtomicLong();
+
+    LoadTest(int bots, long durationMillis, long thinkMillis, double forfeitChance, double dropChance, int port) {
+        this.bots = bots;
+        this.durationMillis = durationMillis;
+        this.thinkMillis = thinkMillis;
+        this.forfeitChance = forfeitChance;
+        this.dropChance = dropChance;
+        this.port = port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int bots = 100;
+        long durationSeconds = 30;
+        long thinkMillis = 200;
+        double forfeitChance = 0.02;
+        double dropChance = 0.01;
+        int port = 8891;
+        String server = "nio";
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1).trim();
+            try {
+                if (arg.startsWith("--bots=")) {
+                    bots = Math.max(2, Integer.parseInt(value));
+                } else if (arg.startsWith("--duration=")) {
+                    durationSeconds = Math.max(1, Long.parseLong(value));
+                } else if (arg.startsWith("--think=")) {
+                    thinkMillis = Math.max(0, Long.parseLong(value));
+                } else if (arg.startsWith("--forfeit=")) {
+                    forfeitChance = Double.parseDouble(value);
+                } else if (arg.startsWith("--drop=")) {
+                    dropChance = Double.parseDouble(value);
+                } else if (arg.startsWith("--port=")) {
+                    port = Integer.parseInt(value);
+                } else if (arg.startsWith("--server=")) {
+                    server = value.toLowerCase();
+                } else {
+                    System.err.println("⚠️  Unknown option: " + arg);
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("⚠️  Invalid value in " + arg + ", keeping default");
+            }
+        }
+
+        // Per-move logging (including missing move data warnings) would bury the report
+        Logger.getLogger("").setLevel(Level.SEVERE);
+        ServiceLocator.getInstance();
+
+        BattleServer battleServer = null;
+        if (!server.equals("external")) {
+            TransportMode transport = server.equals("blocking") ? TransportMode.BLOCKING : TransportMode.NIO;
+            battleServer = new BattleServer(port, transport);
+            battleServer.start();
+        }
+
+        LoadTest test = new LoadTest(bots, durationSeconds * 1000, thinkMillis, forfeitChance, dropChance, port);
+        try {
+            test.run();
+            test.printReport(battleServer);
+        } finally {
+            if (battleServer != null) {
+                battleServer.stop();
+            }
+        }
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        for (int i = 0; i < TEAM_POOL_SIZE; i++) {
+            teamPool.add(randomTeam());
+        }
+
+        System.out.println("▶ " + bots + " bots for " + durationMillis / 1000 + "s (think " + thinkMillis
+            + " ms, forfeit " + forfeitChance + ", drop " + dropChance + ") against localhost:" + port);
+        deadline = System.currentTimeMillis() + durationMillis;
+        CountDownLatch finished = new CountDownLatch(bots);
+        for (int i = 0; i < bots; i++) {
+            Bot bot = new Bot("bot" + i, finished);
+            allBots.add(bot);
+            schedule(bot::connect, 0);
+        }
+
+        // Bots stop queueing at the deadline; anyone still waiting for an opponent then
+        // will never get one, while running battles get a grace period to finish
+        Thread.sleep(durationMillis);
+        long graceEnd = System.currentTimeMillis() + GRACE_MILLIS;
+        while (!finished.await(100, TimeUnit.MILLISECONDS) && System.currentTimeMillis() < graceEnd) {
+            for (Bot bot : allBots) {
+                if (!bot.inBattle) {
+                    bot.stop();
+                }
+            }
+        }
+        long unfinished = finished.getCount();
+        if (unfinished > 0) {
+            LOGGER.severe(unfinished + " bots were still playing after the grace period");
+        }
+        for (Bot bot : allBots) {
+            bot.stop();
+        }
+        scheduler.shutdownNow();
+    }
+
+    private void schedule(Runnable task, long delayMillis) {
+        if (!scheduler.isShutdown()) {
+            try {
+                scheduler.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Run is over
+            }
+        }
+    }
+
+    void printReport(BattleServer server) {
+        long turns = turnTimes.count();
+        double connectWindow = Math.max(1, lastConnectAt.get() - firstConnectAt.get()) / 1000.0;
+        long errorCount = errors.values().stream().mapToLong(LongAdder::sum).sum();
+
+        System.out.println();
+        System.out.println("📊 Load test results");
+        System.out.printf("   Connects:            %d ok, %d failed (%.0f/s, p50 %.2f ms, p99 %.2f ms)%n",
+            connects.sum(), connectFailures.sum(), connects.sum() / connectWindow,
+            connectTimes.percentileMillis(0.50), connectTimes.percentileMillis(0.99));
+        System.out.printf("   Matchmaking latency: p50 %.2f ms, p95 %.2f ms, p99 %.2f ms (%d matches)%n",
+            matchmakingTimes.percentileMillis(0.50), matchmakingTimes.percentileMillis(0.95),
+            matchmakingTimes.percentileMillis(0.99), matchmakingTimes.count());
+        System.out.printf("   Turn round trip:     p50 %.2f ms, p95 %.2f ms, p99 %.2f ms (%d turns, %.0f/s)%n",
+            turnTimes.percentileMillis(0.50), turnTimes.percentileMillis(0.95),
+            turnTimes.percentileMillis(0.99), turns, turns / (durationMillis / 1000.0));
+        System.out.printf("   Battles finished:    %d (%d forfeits, %d dropped connections)%n",
+            battlesFinished.sum(), forfeits.sum(), drops.sum());
+        System.out.printf("   Errors:              %d (%.2f per 1000 turns), %d connections lost%n",
+            errorCount, turns == 0 ? 0.0 : errorCount * 1000.0 / turns, connectionsLost.sum());
+        errors.forEach((code, count) -> System.out.println("      " + code + ": " + count.sum()));
+        if (server != null) {
+            System.out.println("   Server: dropped updates " + server.getDroppedOutboundFrames()
+                + ", overflow disconnects " + server.getOverflowDisconnects()
+                + ", queue wait " + server.getMatchmakingWaitTimes());
+        }
+    }
+
+    private static List<PokemonDTO> randomTeam() throws Exception {
+        Team team = ServiceLocator.getInstance().getTeamService().generateRandomTeam("bot");
+        List<PokemonDTO> dtos = new ArrayList<>();
+        for (PokemonBattleStats stats : team.getAllPokemon()) {
+            Pokemon p = stats.getPokemon();
+            dtos.add(new PokemonDTO(p.getId(), p.getName(), p.getForm(), p.getType1(), p.getType2(),
+                p.getTotal(), p.getHp(), p.getAttack(), p.getDefense(), p.getSpAtk(), p.getSpDef(),
+                p.getSpeed(), p.getGeneration()));
+        }
+        return dtos;
+    }
+
+    private void recordError(String code) {
+        errors.computeIfAbsent(code, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * One simulated player; callbacks arrive on the client's receive thread,
+     * so anything slow (think time, reconnects) goes through the scheduler
+     */
+    private final class Bot implements BattleClient.BattleClientListener {
+        private final String name;
+        private final CountDownLatch finished;
+        private volatile BattleClient client;
+        private volatile boolean inBattle;
+        private volatile long queuedAt;
+        private volatile long actionSentAt;
+        private volatile boolean done;
+
+        Bot(String name, CountDownLatch finished) {
+            this.name = name;
+            this.finished = finished;
+        }
+
+        void connect() {
+            if (done || System.currentTimeMillis() >= deadline) {
+                finish();
+                return;
+            }
+            client = new BattleClient();
+            client.setListener(this);
+            long start = System.nanoTime();
+            if (!client.connect("localhost", port, name)) {
+                connectFailures.increment();
+                schedule(this::connect, RECONNECT_DELAY_MILLIS);
+                return;
+            }
+            connectTimes.add(System.nanoTime() - start);
+            connects.increment();
+            long now = System.currentTimeMillis();
+            firstConnectAt.compareAndSet(0, now);
+            lastConnectAt.accumulateAndGet(now, Math::max);
+            queue();
+        }
+
+        void queue() {
+            if (done || System.currentTimeMillis() >= deadline) {
+                stop();
+                return;
+            }
+            queuedAt = System.nanoTime();
+            client.createGame(name, teamPool.get(ThreadLocalRandom.current().nextInt(teamPool.size())));
+        }
+
+        void stop() {
+            BattleClient current = client;
+            if (current != null && current.isConnected()) {
+                current.disconnect();
+            }
+            finish();
+        }
+
+        void finish() {
+            if (!done) {
+                done = true;
+                finished.countDown();
+            }
+        }
+
+        @Override
+        public void onGameCreated(String gameId) {
+            // WAITING acknowledgement - the match itself arrives as GAME_JOINED
+        }
+
+        @Override
+        public void onGameJoined(String gameId, String opponentName) {
+            matchmakingTimes.add(System.nanoTime() - queuedAt);
+            inBattle = true;
+        }
+
+        @Override
+        public void onBattleStarted(BattleStateDTO initialState) {
+            scheduleAction();
+        }
+
+        @Override
+        public void onBattleStateUpdate(BattleStateDTO state, String actionMessage) {
+        }
+
+        @Override
+        public void onTurnComplete() {
+            recordTurn();
+            scheduleAction();
+        }
+
+        @Override
+        public void onBattleEnd(boolean didIWin, String winnerName, String loserName,
+                                NetworkProtocol.BattleOutcomeType outcomeType) {
+            recordTurn();
+            inBattle = false;
+            battlesFinished.increment();
+            schedule(this::queue, 0);
+        }
+
+        @Override
+        public void onError(String errorCode, String errorMessage) {
+            recordError(errorCode);
+        }
+
+        @Override
+        public void onGameError(String error) {
+            recordError("GAME_ERROR");
+        }
+
+        @Override
+        public void onConnectionLost() {
+            connectionsLost.increment();
+            inBattle = false;
+            schedule(this::connect, RECONNECT_DELAY_MILLIS);
+        }
+
+        private void recordTurn() {
+            long sentAt = actionSentAt;
+            if (sentAt != 0) {
+                turnTimes.add(System.nanoTime() - sentAt);
+                actionSentAt = 0;
+            }
+        }
+
+        private void scheduleAction() {
+            BattleStateDTO state = client.getBattleState();
+            if (state == null || client.isPlayerOne() != "PLAYER".equals(state.getCurrentTurn())) {
+                return;
+            }
+            long think = thinkMillis == 0 ? 0 : ThreadLocalRandom.current().nextLong(thinkMillis / 2, thinkMillis * 3 / 2 + 1);
+            schedule(this::act, think);
+        }
+
+        private void act() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            double roll = random.nextDouble();
+            if (roll < dropChance) {
+                drops.increment();
+                inBattle = false;
+                client.dropConnection();
+                schedule(this::connect, RECONNECT_DELAY_MILLIS);
+                return;
+            }
+            if (roll < dropChance + forfeitChance) {
+                forfeits.increment();
+                client.sendForfeit("load test");
+                return;
+            }
+
+            BattleStateDTO state = client.getBattleState();
+            boolean playerOne = client.isPlayerOne();
+            List<PokemonDTO> team = playerOne ? state.getPlayerTeam() : state.getEnemyTeam();
+            int active = playerOne ? state.getPlayerActivePokemonIndex() : state.getEnemyActivePokemonIndex();
+            actionSentAt = System.nanoTime();
+            if (team.get(active).isFainted()) {
+                for (int i = 0; i < team.size(); i++) {
+                    if (!team.get(i).isFainted()) {
+                        client.sendSwitchPokemon(i);
+                        return;
+                    }
+                }
+            }
+            List<?> moves = team.get(active).getAvailableMoves();
+            client.sendMove(moves == null || moves.isEmpty() ? 0 : random.nextInt(moves.size()));
+        }
+    }
+
+    /**
+     * Raw latency samples in nanoseconds, for exact percentiles
+     */
+    private static final class Samples {
+        private final ConcurrentLinkedQueue<Long> values = new ConcurrentLinkedQueue<>();
+
+        void add(long nanos) {
+            values.add(nanos);
+        }
+
+        long count() {
+            return values.size();
+        }
+
+        double percentileMillis(double percentile) {
+            List<Long> sorted = new ArrayList<>(values);
+            if (sorted.isEmpty()) {
+                return 0.0;
+            }
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+            return sorted.get(Math.max(0, index)) / 1_000_000.0;
+        }
+    }
+}
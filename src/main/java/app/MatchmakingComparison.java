@@ -0,0 +1,160 @@
+package app;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import backend.infrastructure.network.MatchmakingService;
+
+/**
+ * Measures matchmaking joins per second with many threads joining at once:
+ * the previous single waiting slot behind one lock against the bucketed MatchmakingService.
+ * Each match spins for matchCostMicros to stand in for session creation, which the
+ * single-slot matchmaker did while holding its lock (0 isolates the queueing itself).
+ *
+ * Usage: MatchmakingComparison [threads] [joinsPerThread] [matchCostMicros]
+ */
+public class MatchmakingComparison {
+    private static final int DEFAULT_THREADS = 16;
+    private static final int DEFAULT_JOINS_PER_THREAD = 50_000;
+    private static final int DEFAULT_MATCH_COST_MICROS = 20;
+    private static final int MAX_TEAM_STRENGTH = 4200;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_THREADS;
+        int joinsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_JOINS_PER_THREAD;
+        long matchCostNanos = (args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MATCH_COST_MICROS) * 1000L;
+        Logger.getLogger("").setLevel(Level.WARNING);
+
+        System.out.println("▶ " + threads + " threads x " + joinsPerThread + " joins, "
+            + matchCostNanos / 1000 + " µs per match");
+        for (int round = 0; round < 2; round++) {
+            // First round warms up the JIT
+            boolean report = round == 1;
+            Result single = runSingleSlot(threads, joinsPerThread, matchCostNanos);
+            Result queued = runQueued(threads, joinsPerThread, matchCostNanos);
+            if (report) {
+                System.out.println();
+                System.out.printf("%-14s %16s %14s %14s%n", "Matchmaker", "Joins/s", "Matches", "Drain (ms)");
+                print("single-slot", single);
+                print("queued", queued);
+            }
+        }
+        System.exit(0);
+    }
+
+    private static void print(String name, Result result) {
+        System.out.printf("%-14s %,16.0f %,14d %14.1f%n",
+            name, result.joinsPerSecond, result.matches, result.drainMillis);
+    }
+
+    /**
+     * The previous algorithm: one waiting player, every join takes the same lock
+     */
+    private static Result runSingleSlot(int threads, int joinsPerThread, long matchCostNanos)
+            throws InterruptedException {
+        ReentrantLock lock = new ReentrantLock();
+        String[] waiting = new String[1];
+        LongAdder matches = new LongAdder();
+
+        long elapsed = runJoiners(threads, joinsPerThread, (id, strength) -> {
+            lock.lock();
+            try {
+                if (waiting[0] == null) {
+                    waiting[0] = id;
+                } else {
+                    simulateMatch(matchCostNanos);
+                    matches.increment();
+                    waiting[0] = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+        Result result = new Result();
+        result.joinsPerSecond = threads * (double) joinsPerThread / (elapsed / 1e9);
+        result.matches = matches.sum();
+        return result;
+    }
+
+    private static Result runQueued(int threads, int joinsPerThread, long matchCostNanos)
+            throws InterruptedException {
+        LongAdder matches = new LongAdder();
+        MatchmakingService<String> service = new MatchmakingService<>(
+            MatchmakingService.DEFAULT_BUCKET_WIDTH, MatchmakingService.DEFAULT_BUCKET_COUNT,
+            MatchmakingService.DEFAULT_TICK_MILLIS, 0, (first, second) -> {
+                simulateMatch(matchCostNanos);
+                matches.increment();
+            });
+        service.start();
+
+        long elapsed = runJoiners(threads, joinsPerThread, (id, strength) -> service.join(id, strength, id));
+        long drainStart = System.nanoTime();
+        long expected = (long) threads * joinsPerThread / 2;
+        while (matches.sum() < expected && System.nanoTime() - drainStart < 30_000_000_000L) {
+            Thread.sleep(5);
+        }
+        long drained = System.nanoTime() - drainStart;
+        service.stop();
+
+        Result result = new Result();
+        result.joinsPerSecond = threads * (double) joinsPerThread / (elapsed / 1e9);
+        result.matches = matches.sum();
+        result.drainMillis = drained / 1_000_000.0;
+        return result;
+    }
+
+    private static void simulateMatch(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private interface Joiner {
+        void join(String id, int strength);
+    }
+
+    /**
+     * Run every thread's joins at once and return the wall time in nanoseconds
+     */
+    private static long runJoiners(int threads, int joinsPerThread, Joiner joiner) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String prefix = "p" + t + "-";
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    for (int i = 0; i < joinsPerThread; i++) {
+                        joiner.join(prefix + i, random.nextInt(MAX_TEAM_STRENGTH));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - begin;
+    }
+
+    private static class Result {
+        double joinsPerSecond;
+        long matches;
+        double drainMillis;
+    }
+}
@@ -0,0 +1,76 @@
+package app;
+
+import java.io.File;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import backend.infrastructure.database.PasswordMigration;
+import backend.infrastructure.persistence.ConnectionManager;
+import backend.infrastructure.persistence.ConnectionPool;
+
+/**
+ * Re-hashes every CryptoDummy and plain-text password in Usuarios.db with BCrypt
+ *
+ * Usage: MigratePasswords [--dry-run] [--restart] [--batch=N] [--threads=N] [--keys=DIR]
+ * Run it once before starting a release without the legacy login paths; it is safe to stop
+ * and rerun, and --restart rescans rows an earlier run already passed.
+ */
+public class MigratePasswords {
+    private static final String USER_DB = "Usuarios.db";
+
+    public static void main(String[] args) throws Exception {
+        boolean dryRun = false;
+        boolean restart = false;
+        int batch = PasswordMigration.DEFAULT_BATCH_SIZE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        File keys = new File("keys");
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1).trim();
+            if (arg.equals("--dry-run")) {
+                dryRun = true;
+            } else if (arg.equals("--restart")) {
+                restart = true;
+            } else if (arg.startsWith("--batch=")) {
+                batch = Integer.parseInt(value);
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(value);
+            } else if (arg.startsWith("--keys=")) {
+                keys = new File(value);
+            } else {
+                System.err.println("⚠️  Unknown option: " + arg);
+            }
+        }
+
+        Logger.getLogger("").setLevel(Level.SEVERE);
+        ConnectionManager connections = ConnectionManager.getInstance();
+        ConnectionPool pool = connections.getPool(USER_DB);
+        PasswordMigration migration = new PasswordMigration(pool, keys);
+
+        if (dryRun) {
+            PasswordMigration.Report report = migration.scan();
+            System.out.println("📊 " + report.getBcrypt() + " BCrypt, " + report.getCryptoDummy() + " CryptoDummy, "
+                + report.getPlainText() + " plain text (nothing changed)");
+            connections.closeAll();
+            System.exit(0);
+        }
+
+        if (restart) {
+            migration.resetCheckpoint();
+        }
+        System.out.println("▶ Migrating " + USER_DB + " in batches of " + batch + " on " + threads + " threads");
+        PasswordMigration.Report report = migration.run(batch, threads, progress ->
+            System.out.printf("   %d migrated so far (%.1f s)%n", progress.getMigrated(), progress.getElapsedNanos() / 1e9));
+
+        if (report.getResumedAfter() > 0) {
+            System.out.println("   Resumed after user ID " + report.getResumedAfter());
+        }
+        System.out.printf("📊 %s in %.1f s%n", report, report.getElapsedNanos() / 1e9);
+        if (report.getFailed() > 0) {
+            System.out.println("⚠️  " + report.getFailed() + " passwords could not be hashed (see the log); "
+                + "the checkpoint stays before the first of them, so running again retries them");
+        }
+        connections.closeAll();
+        System.exit(report.getFailed() == 0 ? 0 : 1);
+    }
+}
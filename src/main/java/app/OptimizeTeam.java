@@ -0,0 +1,94 @@
+package app;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import backend.application.service.TeamOptimizer;
+import backend.application.service.TeamOptimizer.Progress;
+import backend.application.service.TeamService;
+import backend.domain.model.Pokemon;
+import backend.domain.model.Team;
+import backend.infrastructure.ServiceLocator;
+
+/**
+ * Suggests a team with TeamOptimizer, printing the best team after every generation
+ *
+ * Usage: OptimizeTeam [--meta=ID,ID,...;ID,ID,...] [--opponents=N] [--population=N]
+ *                     [--generations=N] [--battles=N] [--seed=N]
+ * --meta lists the opponent teams; without it the optimizer plays N random teams.
+ */
+public class OptimizeTeam {
+    private static final int DEFAULT_OPPONENTS = 16;
+
+    public static void main(String[] args) throws Exception {
+        String meta = null;
+        int opponentCount = DEFAULT_OPPONENTS;
+        TeamOptimizer.Settings settings = new TeamOptimizer.Settings();
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1).trim();
+            if (arg.startsWith("--meta=")) {
+                meta = value;
+            } else if (arg.startsWith("--opponents=")) {
+                opponentCount = Integer.parseInt(value);
+            } else if (arg.startsWith("--population=")) {
+                settings.populationSize(Integer.parseInt(value));
+            } else if (arg.startsWith("--generations=")) {
+                settings.generations(Integer.parseInt(value));
+            } else if (arg.startsWith("--battles=")) {
+                settings.battlesPerOpponent(Integer.parseInt(value));
+            } else if (arg.startsWith("--seed=")) {
+                settings.seed(Long.parseLong(value));
+            } else {
+                System.err.println("⚠️  Unknown option: " + arg);
+            }
+        }
+
+        // Move data warnings are logged once at load and would bury the result
+        Logger.getLogger("").setLevel(Level.SEVERE);
+        ServiceLocator services = ServiceLocator.getInstance();
+        TeamOptimizer optimizer = services.getTeamOptimizer();
+        List<Team> opponents = meta == null
+            ? optimizer.randomOpponents(opponentCount, TeamService.getMaxTeamSize(), settings.getSeed())
+            : metaTeams(meta, services);
+
+        System.out.println("▶ Optimizing against " + opponents.size() + " teams on "
+            + Runtime.getRuntime().availableProcessors() + " cores (seed " + settings.getSeed() + ")");
+        Progress result = optimizer.optimize(opponents, settings, progress ->
+            System.out.printf("   gen %3d  best %.1f%%  mean %.1f%%  %s%n", progress.getGeneration(),
+                progress.getBestFitness() * 100, progress.getMeanFitness() * 100, names(progress.getBestTeam())));
+
+        System.out.println("📊 " + names(result.getBestTeam()) + " scores "
+            + String.format("%.1f%%", result.getBestFitness() * 100));
+        System.out.printf("   %d generations, %,d teams simulated in %.1f s, %,.0f evaluations/s%n",
+            result.getGeneration(), result.getEvaluations(), result.getElapsedNanos() / 1e9,
+            result.getEvaluationsPerSecond());
+        System.exit(0);
+    }
+
+    private static List<Team> metaTeams(String meta, ServiceLocator services) throws Exception {
+        List<Team> teams = new ArrayList<>();
+        for (String ids : meta.split(";")) {
+            List<Pokemon> pokemon = new ArrayList<>();
+            for (String id : ids.split(",")) {
+                Pokemon p = services.getPokemonService().findById(Integer.parseInt(id.trim()));
+                if (p == null) {
+                    throw new IllegalArgumentException("No Pokemon with ID " + id.trim());
+                }
+                pokemon.add(p);
+            }
+            teams.add(services.getTeamService().createTeam("Meta " + (teams.size() + 1), pokemon));
+        }
+        return teams;
+    }
+
+    private static String names(List<Pokemon> team) {
+        List<String> names = new ArrayList<>();
+        for (Pokemon pokemon : team) {
+            names.add(pokemon.getName());
+        }
+        return String.join("/", names);
+    }
+}
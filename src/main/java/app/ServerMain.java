@@ -5,9 +5,17 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import backend.infrastructure.network.BattleServer;
+import backend.infrastructure.network.BattleServer.ExecutionMode;
+import backend.infrastructure.network.BattleServer.OverflowPolicy;
+import backend.infrastructure.network.BattleServer.TransportMode;
 
 /**
  * Main class to start the Pokemon Battle Server
+ *
+ * Usage: ServerMain [port] [--transport=blocking|nio] [--threads=platform|virtual] [--io-threads=N]
+ *                   [--outbound-queue=N] [--overflow=drop_stale_state|keep_latest_snapshot|disconnect]
+ * The NIO transport holds tens of thousands of idle players on a few threads;
+ * raise the process file descriptor limit (ulimit -n) accordingly.
  */
 public class ServerMain {
     private static final Logger LOGGER = Logger.getLogger(ServerMain.class.getName());
@@ -17,26 +25,69 @@ public class ServerMain {
         printBanner();
         
         int port = DEFAULT_PORT;
+        TransportMode transportMode = TransportMode.BLOCKING;
+        ExecutionMode executionMode = ExecutionMode.PLATFORM;
+        int ioThreads = BattleServer.defaultIoThreads();
+        int outboundCapacity = 256;
+        OverflowPolicy overflowPolicy = OverflowPolicy.DROP_STALE_STATE;
         
-        // Check if port was provided as argument
-        if (args.length > 0) {
-            try {
-                port = Integer.parseInt(args[0]);
-                if (port < 1024 || port > 65535) {
-                    System.err.println("⚠️  Invalid port number. Using default: " + DEFAULT_PORT);
+        for (String arg : args) {
+            if (arg.startsWith("--transport=")) {
+                String mode = arg.substring("--transport=".length()).trim().toUpperCase();
+                try {
+                    transportMode = TransportMode.valueOf(mode);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("⚠️  Unknown transport '" + mode + "'. Using default: " + transportMode);
+                }
+            } else if (arg.startsWith("--threads=")) {
+                String mode = arg.substring("--threads=".length()).trim().toUpperCase();
+                try {
+                    executionMode = ExecutionMode.valueOf(mode);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("⚠️  Unknown thread mode '" + mode + "'. Using default: " + executionMode);
+                }
+            } else if (arg.startsWith("--io-threads=")) {
+                try {
+                    ioThreads = Math.max(1, Integer.parseInt(arg.substring("--io-threads=".length()).trim()));
+                } catch (NumberFormatException e) {
+                    System.err.println("⚠️  Invalid I/O thread count. Using default: " + ioThreads);
+                }
+            } else if (arg.startsWith("--outbound-queue=")) {
+                try {
+                    outboundCapacity = Math.max(1, Integer.parseInt(arg.substring("--outbound-queue=".length()).trim()));
+                } catch (NumberFormatException e) {
+                    System.err.println("⚠️  Invalid outbound queue size. Using default: " + outboundCapacity);
+                }
+            } else if (arg.startsWith("--overflow=")) {
+                String policy = arg.substring("--overflow=".length()).trim().toUpperCase();
+                try {
+                    overflowPolicy = OverflowPolicy.valueOf(policy);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("⚠️  Unknown overflow policy '" + policy + "'. Using default: " + overflowPolicy);
+                }
+            } else {
+                // Positional argument: port
+                try {
+                    port = Integer.parseInt(arg);
+                    if (port < 1024 || port > 65535) {
+                        System.err.println("⚠️  Invalid port number. Using default: " + DEFAULT_PORT);
+                        port = DEFAULT_PORT;
+                    }
+                } catch (NumberFormatException e) {
+                    System.err.println("⚠️  Invalid port format. Using default: " + DEFAULT_PORT);
                     port = DEFAULT_PORT;
                 }
-            } catch (NumberFormatException e) {
-                System.err.println("⚠️  Invalid port format. Using default: " + DEFAULT_PORT);
-                port = DEFAULT_PORT;
             }
         }
         
-        BattleServer server = new BattleServer(port);
+        BattleServer server = new BattleServer(port, transportMode, executionMode, ioThreads);
+        server.configureOutboundQueue(outboundCapacity, overflowPolicy);
         
         try {
             server.start();
             System.out.println("🎮 Pokemon Battle Server is running on port " + port);
+            System.out.println("🔌 Transport: " + transportMode
+                + (transportMode == TransportMode.NIO ? " (" + ioThreads + " I/O threads)" : " (" + executionMode + " threads)"));
             System.out.println("📡 Server Address: localhost:" + port);
             System.out.println("🔗 For LAN play, use your IP address instead of localhost");
             System.out.println("\n💡 Commands:");
@@ -79,8 +130,17 @@ public class ServerMain {
                     case "status":
                         System.out.println("\n📊 Server Status:");
                         System.out.println("   Status: ✅ Running");
-                        System.out.println("   Port: " + DEFAULT_PORT);
-                        System.out.println("   Ready for connections");
+                        System.out.println("   Port: " + server.getPort());
+                        System.out.println("   Transport: " + server.getTransportMode());
+                        System.out.println("   Threads: " + server.getExecutionMode());
+                        System.out.println("   Connected clients: " + server.getConnectedClientCount());
+                        System.out.println("   Active battles: " + server.getActiveGameCount());
+                        System.out.println("   Matchmaking queue: " + server.getMatchmakingQueueSize()
+                            + " (wait " + server.getMatchmakingWaitTimes() + ")");
+                        System.out.println("   Outbound queued: " + server.getOutboundQueueDepth()
+                            + " (peak " + server.getPeakOutboundQueueDepth() + ")");
+                        System.out.println("   Dropped updates: " + server.getDroppedOutboundFrames());
+                        System.out.println("   Overflow disconnects: " + server.getOverflowDisconnects());
                         System.out.println();
                         break;
                         
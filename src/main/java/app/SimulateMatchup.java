@@ -0,0 +1,87 @@
+package app;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import backend.application.service.BattleSimulator;
+import backend.application.service.BattleSimulator.SimulationResult;
+import backend.domain.model.BattleRandom;
+import backend.domain.model.Pokemon;
+import backend.domain.model.PokemonBattleStats;
+import backend.domain.model.Team;
+import backend.infrastructure.ServiceLocator;
+
+/**
+ * Estimates the win probability between two teams with BattleSimulator
+ *
+ * Usage: SimulateMatchup [--first=ID,ID,...] [--second=ID,ID,...] [--battles=N] [--seed=N]
+ * Teams are Pokedex IDs; a team left out is picked at random.
+ */
+public class SimulateMatchup {
+    private static final int DEFAULT_BATTLES = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        String first = null;
+        String second = null;
+        int battles = DEFAULT_BATTLES;
+        long seed = BattleRandom.newSeed();
+
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1).trim();
+            if (arg.startsWith("--first=")) {
+                first = value;
+            } else if (arg.startsWith("--second=")) {
+                second = value;
+            } else if (arg.startsWith("--battles=")) {
+                battles = Integer.parseInt(value);
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(value);
+            } else {
+                System.err.println("⚠️  Unknown option: " + arg);
+            }
+        }
+
+        // Move data warnings are logged once at load and would bury the result
+        Logger.getLogger("").setLevel(Level.SEVERE);
+        ServiceLocator services = ServiceLocator.getInstance();
+        Team firstTeam = team("first", first, services);
+        Team secondTeam = team("second", second, services);
+        BattleSimulator simulator = new BattleSimulator(services.getBattleService());
+
+        System.out.println("▶ " + describe(firstTeam) + " vs " + describe(secondTeam) + " (seed " + seed + ")");
+        // Short run first so the reported time is not dominated by JIT compilation
+        simulator.simulate(firstTeam, secondTeam, Math.min(battles, 20_000), seed);
+        SimulationResult result = simulator.simulate(firstTeam, secondTeam, battles, seed);
+
+        System.out.println("📊 " + result);
+        System.out.printf("   %.1f ms, %,.0f battles/s on %d cores%n",
+            result.getElapsedNanos() / 1e6, result.getBattles() / (result.getElapsedNanos() / 1e9),
+            Runtime.getRuntime().availableProcessors());
+        System.exit(0);
+    }
+
+    private static Team team(String name, String ids, ServiceLocator services) throws Exception {
+        if (ids == null || ids.isEmpty()) {
+            return services.getTeamService().generateRandomTeam(name);
+        }
+        List<Pokemon> pokemon = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            Pokemon p = services.getPokemonService().findById(Integer.parseInt(id.trim()));
+            if (p == null) {
+                throw new IllegalArgumentException("No Pokemon with ID " + id.trim());
+            }
+            pokemon.add(p);
+        }
+        return services.getTeamService().createTeam(name, pokemon);
+    }
+
+    private static String describe(Team team) {
+        List<String> names = new ArrayList<>();
+        for (PokemonBattleStats stats : team.getAllPokemon()) {
+            names.add(stats.getPokemon().getName());
+        }
+        return String.join("/", names);
+    }
+}
@@ -23,6 +23,21 @@ public class BattleStateDTO implements Serializable {
     public BattleStateDTO() {
     }
 
+    /**
+     * Shallow copy - team lists and their Pokemon are shared with the source
+     */
+    public BattleStateDTO(BattleStateDTO other) {
+        this.playerTeam = other.playerTeam;
+        this.enemyTeam = other.enemyTeam;
+        this.playerActivePokemonIndex = other.playerActivePokemonIndex;
+        this.enemyActivePokemonIndex = other.enemyActivePokemonIndex;
+        this.currentTurn = other.currentTurn;
+        this.phase = other.phase;
+        this.lastActionMessage = other.lastActionMessage;
+        this.battleEnded = other.battleEnded;
+        this.winner = other.winner;
+    }
+
     // Getters and Setters
     public List<PokemonDTO> getPlayerTeam() {
         return playerTeam;
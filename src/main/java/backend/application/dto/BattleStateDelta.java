@@ -0,0 +1,201 @@
+package backend.application.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a change between two consecutive battle states
+ * Only fields that changed are set (null = unchanged); the static roster is sent once
+ * in the initial BattleStateDTO and never repeated here
+ */
+public class BattleStateDelta implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int sequence;
+    private final List<PokemonUpdate> pokemonUpdates = new ArrayList<>();
+    private Integer playerActivePokemonIndex;
+    private Integer enemyActivePokemonIndex;
+    private String currentTurn;
+    private String phase;
+    private String lastActionMessage;
+    private boolean battleEnded;
+    private String winner;
+
+    public BattleStateDelta() {
+    }
+
+    /**
+     * Apply this delta to a state, returning a new state
+     * The base state is left untouched so listeners can still compare old and new;
+     * unchanged Pokemon are shared between the two
+     */
+    public BattleStateDTO applyTo(BattleStateDTO base) {
+        BattleStateDTO next = new BattleStateDTO(base);
+        List<PokemonDTO> playerTeam = base.getPlayerTeam();
+        List<PokemonDTO> enemyTeam = base.getEnemyTeam();
+
+        for (PokemonUpdate update : pokemonUpdates) {
+            if (update.isEnemyTeam()) {
+                if (enemyTeam == base.getEnemyTeam()) {
+                    enemyTeam = new ArrayList<>(enemyTeam);
+                }
+                applyPokemonUpdate(enemyTeam, update);
+            } else {
+                if (playerTeam == base.getPlayerTeam()) {
+                    playerTeam = new ArrayList<>(playerTeam);
+                }
+                applyPokemonUpdate(playerTeam, update);
+            }
+        }
+        next.setPlayerTeam(playerTeam);
+        next.setEnemyTeam(enemyTeam);
+
+        if (playerActivePokemonIndex != null) {
+            next.setPlayerActivePokemonIndex(playerActivePokemonIndex);
+        }
+        if (enemyActivePokemonIndex != null) {
+            next.setEnemyActivePokemonIndex(enemyActivePokemonIndex);
+        }
+        if (currentTurn != null) {
+            next.setCurrentTurn(currentTurn);
+        }
+        if (phase != null) {
+            next.setPhase(phase);
+        }
+        if (lastActionMessage != null) {
+            next.setLastActionMessage(lastActionMessage);
+        }
+        if (battleEnded) {
+            next.setBattleEnded(true);
+        }
+        if (winner != null) {
+            next.setWinner(winner);
+        }
+        return next;
+    }
+
+    private static void applyPokemonUpdate(List<PokemonDTO> team, PokemonUpdate update) {
+        int index = update.getIndex();
+        if (index < 0 || index >= team.size()) {
+            throw new IllegalArgumentException("Invalid Pokemon index in delta: " + index);
+        }
+        PokemonDTO pokemon = new PokemonDTO(team.get(index));
+        pokemon.setCurrentHp(update.getCurrentHp());
+        pokemon.setFainted(update.isFainted());
+        team.set(index, pokemon);
+    }
+
+    public boolean isEmpty() {
+        return pokemonUpdates.isEmpty() && playerActivePokemonIndex == null && enemyActivePokemonIndex == null
+            && currentTurn == null && phase == null && lastActionMessage == null && !battleEnded && winner == null;
+    }
+
+    // Getters and Setters
+    public int getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(int sequence) {
+        this.sequence = sequence;
+    }
+
+    public List<PokemonUpdate> getPokemonUpdates() {
+        return pokemonUpdates;
+    }
+
+    public void addPokemonUpdate(PokemonUpdate update) {
+        pokemonUpdates.add(update);
+    }
+
+    public Integer getPlayerActivePokemonIndex() {
+        return playerActivePokemonIndex;
+    }
+
+    public void setPlayerActivePokemonIndex(Integer playerActivePokemonIndex) {
+        this.playerActivePokemonIndex = playerActivePokemonIndex;
+    }
+
+    public Integer getEnemyActivePokemonIndex() {
+        return enemyActivePokemonIndex;
+    }
+
+    public void setEnemyActivePokemonIndex(Integer enemyActivePokemonIndex) {
+        this.enemyActivePokemonIndex = enemyActivePokemonIndex;
+    }
+
+    public String getCurrentTurn() {
+        return currentTurn;
+    }
+
+    public void setCurrentTurn(String currentTurn) {
+        this.currentTurn = currentTurn;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public String getLastActionMessage() {
+        return lastActionMessage;
+    }
+
+    public void setLastActionMessage(String lastActionMessage) {
+        this.lastActionMessage = lastActionMessage;
+    }
+
+    public boolean isBattleEnded() {
+        return battleEnded;
+    }
+
+    public void setBattleEnded(boolean battleEnded) {
+        this.battleEnded = battleEnded;
+    }
+
+    public String getWinner() {
+        return winner;
+    }
+
+    public void setWinner(String winner) {
+        this.winner = winner;
+    }
+
+    /**
+     * New HP / fainted status for one Pokemon slot
+     */
+    public static class PokemonUpdate implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean enemyTeam;
+        private final int index;
+        private final int currentHp;
+        private final boolean fainted;
+
+        public PokemonUpdate(boolean enemyTeam, int index, int currentHp, boolean fainted) {
+            this.enemyTeam = enemyTeam;
+            this.index = index;
+            this.currentHp = currentHp;
+            this.fainted = fainted;
+        }
+
+        public boolean isEnemyTeam() {
+            return enemyTeam;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getCurrentHp() {
+            return currentHp;
+        }
+
+        public boolean isFainted() {
+            return fainted;
+        }
+    }
+}
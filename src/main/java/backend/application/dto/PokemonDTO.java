@@ -50,6 +50,18 @@ public class PokemonDTO implements Serializable {
         this.generation = generation;
     }
 
+    /**
+     * Copy constructor - the move list is shared with the source
+     */
+    public PokemonDTO(PokemonDTO other) {
+        this(other.id, other.name, other.form, other.type1, other.type2, other.total, other.hp,
+            other.attack, other.defense, other.spAtk, other.spDef, other.speed, other.generation);
+        this.currentHp = other.currentHp;
+        this.maxHp = other.maxHp;
+        this.fainted = other.fainted;
+        this.availableMoves = other.availableMoves;
+    }
+
     // Getters and Setters
     public int getId() {
         return id;
@@ -0,0 +1,241 @@
+package backend.application.service;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import shared.util.LatencyHistogram;
+
+/**
+ * Authentication service - runs logins on a small dedicated pool instead of the caller's thread
+ *
+ * A BCrypt check costs a few hundred milliseconds of CPU, so a burst of logins could take
+ * every core from battles. Logins run on a fixed number of hashing threads (half the cores
+ * by default) behind a bounded queue; when the queue is full the attempt fails at once with
+ * BusyException so the client can ask the user to try again. Identical attempts (same user
+ * and password) made while one is already queued or running share its result.
+ * A successful login returns the session token from UserService.login; logging in again
+ * with that token and the same password is answered at once without BCrypt.
+ */
+public class AuthenticationService implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(AuthenticationService.class.getName());
+    public static final int DEFAULT_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    // About four seconds of BCrypt work per thread; waiting longer is worse than retrying
+    public static final int DEFAULT_QUEUE_PER_THREAD = 16;
+
+    private final UserService userService;
+    private final ThreadPoolExecutor hashers;
+    private final Map<Attempt, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram queueWaits = new LatencyHistogram();
+    private final LatencyHistogram hashTimes = new LatencyHistogram();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder resumed = new LongAdder();
+
+    public AuthenticationService(UserService userService) {
+        this(userService, DEFAULT_THREADS, DEFAULT_THREADS * DEFAULT_QUEUE_PER_THREAD);
+    }
+
+    /**
+     * @param threads Logins hashed at once, i.e. the cores authentication may use
+     * @param queueCapacity Logins allowed to wait for a thread before new ones are turned away
+     */
+    public AuthenticationService(UserService userService, int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Threads and queue capacity must be positive");
+        }
+        this.userService = userService;
+        AtomicInteger count = new AtomicInteger();
+        this.hashers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), r -> {
+                Thread thread = new Thread(r, "auth-hasher-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Check a login without blocking the caller
+     *
+     * @return Completes with true if the credentials are valid, false if not, or exceptionally
+     *         with BusyException (queue full) or SQLException (database failure)
+     */
+    public CompletableFuture<Boolean> authenticateAsync(String username, String password) {
+        return loginAsync(username, password).thenApply(Objects::nonNull);
+    }
+
+    /**
+     * Log in without blocking the caller
+     *
+     * @return Completes with a session token, null if the credentials are wrong, or exceptionally
+     *         as authenticateAsync does
+     */
+    public CompletableFuture<String> loginAsync(String username, String password) {
+        return loginAsync(username, password, null);
+    }
+
+    /**
+     * Log in again, presenting the token of an earlier login on this client
+     * A valid token is checked on the caller's thread in microseconds and returned as is;
+     * otherwise, or without a token, the password goes through BCrypt like loginAsync.
+     */
+    public CompletableFuture<String> loginAsync(String username, String password, String token) {
+        if (token != null) {
+            try {
+                if (userService.authenticateToken(username, password, token)) {
+                    resumed.increment();
+                    return CompletableFuture.completedFuture(token);
+                }
+            } catch (SQLException | RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        Attempt attempt = new Attempt(username, password);
+        CompletableFuture<String> result = new CompletableFuture<>();
+        CompletableFuture<String> running = inFlight.putIfAbsent(attempt, result);
+        if (running != null) {
+            coalesced.increment();
+            // A copy, so one caller cancelling doesn't cancel the others
+            return running.copy();
+        }
+
+        long queuedAt = System.nanoTime();
+        try {
+            hashers.execute(() -> run(attempt, result, queuedAt));
+            submitted.increment();
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            inFlight.remove(attempt, result);
+            result.completeExceptionally(new BusyException(hashers.isShutdown()
+                ? "Authentication service is shut down"
+                : "Too many logins in progress, try again shortly"));
+        }
+        return result.copy();
+    }
+
+    private void run(Attempt attempt, CompletableFuture<String> result, long queuedAt) {
+        long start = System.nanoTime();
+        queueWaits.record(TimeUnit.NANOSECONDS.toMillis(start - queuedAt));
+        String token = null;
+        Exception failure = null;
+        try {
+            token = userService.login(attempt.username, attempt.password);
+        } catch (SQLException | RuntimeException e) {
+            failure = e;
+        } finally {
+            hashTimes.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            // Later attempts start fresh rather than reuse a finished result
+            inFlight.remove(attempt, result);
+        }
+        if (failure != null) {
+            result.completeExceptionally(failure);
+        } else {
+            result.complete(token);
+        }
+    }
+
+    /**
+     * Time logins waited for a hashing thread
+     */
+    public LatencyHistogram getQueueWaitTimes() {
+        return queueWaits;
+    }
+
+    /**
+     * Time logins spent on a hashing thread, almost all of it BCrypt
+     */
+    public LatencyHistogram getHashTimes() {
+        return hashTimes;
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    /**
+     * Attempts answered by an identical attempt already in progress
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Attempts turned away because the queue was full
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Logins answered from a session token instead of BCrypt
+     */
+    public long getResumed() {
+        return resumed.sum();
+    }
+
+    public int getQueueLength() {
+        return hashers.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        hashers.shutdown();
+        try {
+            if (!hashers.awaitTermination(1, TimeUnit.SECONDS)) {
+                hashers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            hashers.shutdownNow();
+        }
+        LOGGER.log(Level.INFO, "Authentication: {0} logins, {1} coalesced, {2} rejected, {3} resumed from a token, "
+                + "queue wait {4}, hash {5}",
+            new Object[]{getSubmitted(), getCoalesced(), getRejected(), getResumed(), queueWaits, hashTimes});
+    }
+
+    /**
+     * The login could not be queued; the user should try again in a moment
+     */
+    public static class BusyException extends RuntimeException {
+        public BusyException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Coalescing key; deliberately has no toString so the password never reaches a log
+     */
+    private static final class Attempt {
+        private final String username;
+        private final String password;
+
+        Attempt(String username, String password) {
+            this.username = username;
+            this.password = password;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Attempt other
+                && Objects.equals(username, other.username) && Objects.equals(password, other.password);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(username, password);
+        }
+    }
+}
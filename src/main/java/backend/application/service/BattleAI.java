@@ -0,0 +1,15 @@
+package backend.application.service;
+
+import backend.domain.model.BattleState;
+
+/**
+ * Opponent AI - picks the action for the side whose turn it is
+ * May take up to its time budget, so call it off the Swing EDT.
+ */
+public interface BattleAI {
+    /**
+     * Choose a move or switch for battle.getActiveTeam()
+     * If the active Pokemon has fainted the decision is always a switch.
+     */
+    BattleDecision decide(BattleState battle);
+}
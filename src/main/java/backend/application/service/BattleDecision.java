@@ -0,0 +1,58 @@
+package backend.application.service;
+
+/**
+ * Action chosen by a BattleAI, with what it cost to find
+ */
+public class BattleDecision {
+    public enum Type {
+        MOVE, SWITCH
+    }
+
+    private final Type type;
+    private final int index;
+    private final long nodesSearched;
+    private final long elapsedNanos;
+
+    public BattleDecision(Type type, int index, long nodesSearched, long elapsedNanos) {
+        this.type = type;
+        this.index = index;
+        this.nodesSearched = nodesSearched;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public static BattleDecision move(int moveIndex) {
+        return new BattleDecision(Type.MOVE, moveIndex, 0, 0);
+    }
+
+    public static BattleDecision switchTo(int pokemonIndex) {
+        return new BattleDecision(Type.SWITCH, pokemonIndex, 0, 0);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isSwitch() {
+        return type == Type.SWITCH;
+    }
+
+    /**
+     * Move index for MOVE, team index for SWITCH
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public long getNodesSearched() {
+        return nodesSearched;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + index + " (" + nodesSearched + " nodes, " + elapsedNanos / 1000 + " µs)";
+    }
+}
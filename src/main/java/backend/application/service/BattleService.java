@@ -1,18 +1,11 @@
 package backend.application.service;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.json.JSONException;
-import org.json.JSONObject;
-
+import backend.domain.model.BattleRandom;
 import backend.domain.model.BattleState;
 import backend.domain.model.Move;
 import backend.domain.model.Pokemon;
@@ -27,15 +20,9 @@ import shared.util.I18n;
  */
 public class BattleService {
     private static final Logger LOGGER = Logger.getLogger(BattleService.class.getName());
-    private static final Random random = new Random();
-    private static final List<Move> allMoves = new ArrayList<>();
-    private static JSONObject pokemonMovesData = new JSONObject();
-    private static JSONObject movesStatsData = new JSONObject();
-
-    static {
-        loadMovesFromJSON();
-        loadPokemonMovesFromJSON();
-    }
+    private static final MoveCatalog moveCatalog = MoveCatalog.load();
+
+    private volatile BattleAI enemyAI = new RandomBattleAI(this);
 
     /**
      * Start a new battle
@@ -44,6 +31,13 @@ public class BattleService {
         return new BattleState(playerTeam, enemyTeam);
     }
 
+    /**
+     * Start a new battle whose rolls all come from the given seed, so it can be replayed
+     */
+    public BattleState startBattle(Team playerTeam, Team enemyTeam, long seed) {
+        return new BattleState(playerTeam, enemyTeam, new BattleRandom(seed));
+    }
+
     /**
      * Execute a move in battle
      */
@@ -52,20 +46,20 @@ public class BattleService {
         PokemonBattleStats defender = battle.getOpponentTeam().getActivePokemon();
 
         // Check if move hits
-        if (!move.hits()) {
+        if (!move.hits(battle.getRandom())) {
             String message = I18n.get("battle.backend.missed", attacker.getPokemon().getName(), move.getLocalizedName());
             return new BattleResult(false, 0, message, 1.0);
         }
 
         // Calculate damage
-        int damage = attacker.calculateDamage(move, defender);
+        int damage = attacker.calculateDamage(move, defender, battle.getRandom());
         int actualDamage = defender.takeDamage(damage);
 
         // Get effectiveness
         double effectiveness = TypeEffectiveness.getTotalEffectiveness(
-            move.getType(),
-            defender.getPokemon().getType1(),
-            defender.getPokemon().getType2()
+            move.getPokemonType(),
+            defender.getPokemon().getPrimaryType(),
+            defender.getPokemon().getSecondaryType()
         );
 
         // Build message (without fainted - frontend will handle that)
@@ -86,17 +80,31 @@ public class BattleService {
 
     /**
      * Execute enemy turn (AI)
+     * Blocks for as long as the enemy AI thinks, so keep it off the Swing EDT.
      */
     public BattleResult executeEnemyTurn(BattleState battle) {
-        PokemonBattleStats enemyPokemon = battle.getEnemyTeam().getActivePokemon();
+        BattleDecision decision = enemyAI.decide(battle);
+
+        if (decision.isSwitch()) {
+            switchEnemyPokemon(battle, decision.getIndex());
+            String name = battle.getEnemyTeam().getActivePokemon().getPokemon().getName();
+            return new BattleResult(false, 0, I18n.get("battle.message.sentOut", name), 1.0);
+        }
 
-        // Generate available moves for enemy Pokemon
+        PokemonBattleStats enemyPokemon = battle.getEnemyTeam().getActivePokemon();
         List<Move> enemyMoves = generateMovesForPokemon(enemyPokemon.getPokemon());
+        return executeMove(battle, enemyMoves.get(decision.getIndex()));
+    }
 
-        // Simple AI: choose random move
-        Move chosenMove = enemyMoves.get(random.nextInt(enemyMoves.size()));
+    public BattleAI getEnemyAI() {
+        return enemyAI;
+    }
 
-        return executeMove(battle, chosenMove);
+    /**
+     * Replace the opponent AI, e.g. with a MonteCarloBattleAI
+     */
+    public void setEnemyAI(BattleAI enemyAI) {
+        this.enemyAI = enemyAI;
     }
 
     /**
@@ -121,219 +129,12 @@ public class BattleService {
     }
 
     /**
-     * Generate moves for a Pokemon
-     * First tries to load from movesPokemon.json, then falls back to type-based moves
+     * Get the moves for a Pokemon
+     * Its moveset from movesPokemon.json, or type-based moves if it has none.
+     * The returned list is immutable and shared, so this is safe on every turn.
      */
     public List<Move> generateMovesForPokemon(Pokemon pokemon) {
-        List<Move> pokemonMoves = new ArrayList<>();
-
-        // Try to get Pokemon-specific moves from movesPokemon.json
-        try {
-            if (pokemonMovesData.has(pokemon.getName())) {
-                org.json.JSONArray moveNames = pokemonMovesData.getJSONArray(pokemon.getName());
-
-                // Extract all moves from the JSON array (up to 4)
-                for (int i = 0; i < Math.min(4, moveNames.length()); i++) {
-                    String moveName = moveNames.getString(i);
-                    Move move = createMoveFromName(moveName);
-                    pokemonMoves.add(move);
-                }
-
-                // If we got moves from JSON, return them
-                if (!pokemonMoves.isEmpty()) {
-                    LOGGER.log(Level.INFO, "Loaded {0} moves for {1} from movesPokemon.json",
-                              new Object[]{pokemonMoves.size(), pokemon.getName()});
-                    return pokemonMoves;
-                }
-            }
-        } catch (JSONException e) {
-            LOGGER.log(Level.WARNING, "Error loading moves for {0}, using type-based moves", pokemon.getName());
-        }
-
-        // Fallback: Generate moves based on Pokemon's types
-        LOGGER.log(Level.INFO, "Generating type-based moves for {0}", pokemon.getName());
-
-        // Add 2 moves of primary type
-        List<Move> type1Moves = getMovesOfType(pokemon.getType1());
-        for (int i = 0; i < Math.min(2, type1Moves.size()); i++) {
-            pokemonMoves.add(type1Moves.get(random.nextInt(type1Moves.size())));
-        }
-
-        // Add 1 move of secondary type if exists
-        if (pokemon.getType2() != null && !pokemon.getType2().isEmpty()) {
-            List<Move> type2Moves = getMovesOfType(pokemon.getType2());
-            if (!type2Moves.isEmpty()) {
-                pokemonMoves.add(type2Moves.get(random.nextInt(type2Moves.size())));
-            }
-        }
-
-        // Add 1 random Normal type move if space available
-        if (pokemonMoves.size() < 4) {
-            List<Move> normalMoves = getMovesOfType("Normal");
-            if (!normalMoves.isEmpty()) {
-                pokemonMoves.add(normalMoves.get(random.nextInt(normalMoves.size())));
-            }
-        }
-
-        // Final fallback: if still no moves, add default moves
-        if (pokemonMoves.isEmpty()) {
-            LOGGER.log(Level.WARNING, "No moves found for {0}, using default Tackle", pokemon.getName());
-            pokemonMoves.add(new Move("Tackle", "Normal", 40, 100));
-        }
-
-        return pokemonMoves;
-    }
-
-    /**
-     * Get all moves of a specific type
-     */
-    private List<Move> getMovesOfType(String type) {
-        List<Move> typeMoves = new ArrayList<>();
-        for (Move move : allMoves) {
-            if (move.getType().equalsIgnoreCase(type)) {
-                typeMoves.add(move);
-            }
-        }
-        return typeMoves;
-    }
-
-    /**
-     * Create a Move object from move name, looking up stats from movesStatsData
-     * Falls back to default values if move not found
-     */
-    private static Move createMoveFromName(String moveName) {
-        try {
-            if (movesStatsData.has(moveName)) {
-                JSONObject moveData = movesStatsData.getJSONObject(moveName);
-                String type = moveData.optString("type", "Normal");
-                int power = moveData.optInt("power", 50);
-                int accuracy = moveData.optInt("accuracy", 100);
-                return new Move(moveName, type, power, accuracy);
-            } else {
-                // Move not found in JSON, use default values
-                LOGGER.log(Level.WARNING, "Move ''{0}'' not found in movesData.json, using defaults", moveName);
-                return new Move(moveName, "Normal", 50, 100);
-            }
-        } catch (JSONException e) {
-            LOGGER.log(Level.WARNING, "Error parsing move data for ''{0}'', using defaults", moveName);
-            return new Move(moveName, "Normal", 50, 100);
-        }
-    }
-
-    /**
-     * Load moves from JSON file
-     * JSON format is an object with move names as keys
-     */
-    private static void loadMovesFromJSON() {
-        // Try classpath resource first (works when packaged)
-        try (InputStream is = BattleService.class.getResourceAsStream("/movesData.json")) {
-            if (is != null) {
-                String content = new String(is.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
-                movesStatsData = new JSONObject(content);
-
-                // Iterate through all move names in the JSON object
-                for (String moveName : movesStatsData.keySet()) {
-                    JSONObject moveData = movesStatsData.getJSONObject(moveName);
-
-                    String type = moveData.getString("type");
-                    int power = moveData.optInt("power", 50);
-                    int accuracy = moveData.optInt("accuracy", 100);
-
-                    allMoves.add(new Move(moveName, type, power, accuracy));
-                }
-
-                LOGGER.log(Level.INFO, "Loaded {0} moves from classpath resource", new Object[]{allMoves.size()});
-                return;
-            }
-        } catch (IOException e) {
-            LOGGER.log(Level.WARNING, "Failed to load from classpath: {0}", e.getMessage());
-        } catch (JSONException e) {
-            LOGGER.log(Level.WARNING, "Failed to parse movesData.json: {0}", e.getMessage());
-        }
-        
-        // Try file system paths (development mode)
-        String[] possiblePaths = {
-            "movesData.json",
-            "./movesData.json",
-            "../movesData.json",
-            "../../movesData.json"
-        };
-        
-        for (String path : possiblePaths) {
-            try {
-                String content = new String(Files.readAllBytes(Paths.get(path)));
-                movesStatsData = new JSONObject(content);
-
-                // Iterate through all move names in the JSON object
-                for (String moveName : movesStatsData.keySet()) {
-                    JSONObject moveData = movesStatsData.getJSONObject(moveName);
-
-                    String type = moveData.getString("type");
-                    int power = moveData.optInt("power", 50);
-                    int accuracy = moveData.optInt("accuracy", 100);
-
-                    allMoves.add(new Move(moveName, type, power, accuracy));
-                }
-
-                LOGGER.log(Level.INFO, "Loaded {0} moves from {1}", new Object[]{allMoves.size(), path});
-                return;
-            } catch (IOException | JSONException e) {
-                // Try next path
-            }
-        }
-        
-        // FAIL FAST - don't silently fall back to defaults in production
-        LOGGER.log(Level.SEVERE, "CRITICAL: Failed to load movesData.json from classpath or filesystem. Multiplayer battles will be broken!");
-        addDefaultMoves();
-    }
-
-    /**
-     * Load Pokemon-specific moves from movesPokemon.json
-     * JSON format: { "PokemonName": ["Move1", "Move2", "Move3", "Move4"] }
-     */
-    private static void loadPokemonMovesFromJSON() {
-        // Try classpath resource first (works when packaged)
-        try (InputStream is = BattleService.class.getResourceAsStream("/movesPokemon.json")) {
-            if (is != null) {
-                String content = new String(is.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
-                pokemonMovesData = new JSONObject(content);
-                LOGGER.log(Level.INFO, "Loaded moves for {0} Pokemon from classpath resource", new Object[]{pokemonMovesData.length()});
-                return;
-            }
-        } catch (IOException e) {
-            LOGGER.log(Level.WARNING, "Failed to load from classpath: {0}", e.getMessage());
-        } catch (JSONException e) {
-            LOGGER.log(Level.WARNING, "Failed to parse movesPokemon.json: {0}", e.getMessage());
-        }
-        
-        // Try file system paths (development mode)
-        String[] possiblePaths = {
-            "movesPokemon.json",
-            "./movesPokemon.json",
-            "../movesPokemon.json",
-            "../../movesPokemon.json"
-        };
-        
-        for (String path : possiblePaths) {
-            try {
-                String content = new String(Files.readAllBytes(Paths.get(path)));
-                pokemonMovesData = new JSONObject(content);
-                LOGGER.log(Level.INFO, "Loaded moves for {0} Pokemon from {1}", new Object[]{pokemonMovesData.length(), path});
-                return;
-            } catch (IOException | JSONException e) {
-                // Try next path
-            }
-        }
-        
-        LOGGER.log(Level.SEVERE, "CRITICAL: Failed to load movesPokemon.json from classpath or filesystem. Will use type-based moves as fallback.");
-    }
-
-    private static void addDefaultMoves() {
-        allMoves.add(new Move("Tackle", "Normal", 40, 100));
-        allMoves.add(new Move("Scratch", "Normal", 40, 100));
-        allMoves.add(new Move("Ember", "Fire", 40, 100));
-        allMoves.add(new Move("Water Gun", "Water", 40, 100));
-        allMoves.add(new Move("Vine Whip", "Grass", 45, 100));
+        return moveCatalog.movesFor(pokemon);
     }
 
     // ========== MULTIPLAYER SUPPORT METHODS ==========
@@ -373,6 +174,73 @@ public class BattleService {
         return dto;
     }
 
+    /**
+     * Bring a previously built DTO up to date with the battle, in place,
+     * and return only what changed. Avoids rebuilding teams and move lists every turn.
+     */
+    public backend.application.dto.BattleStateDelta refreshBattleStateDTO(
+            backend.application.dto.BattleStateDTO dto, BattleState battle) {
+        backend.application.dto.BattleStateDelta delta = new backend.application.dto.BattleStateDelta();
+
+        refreshTeamDTO(dto.getPlayerTeam(), battle.getPlayerTeam(), false, delta);
+        refreshTeamDTO(dto.getEnemyTeam(), battle.getEnemyTeam(), true, delta);
+
+        int playerActive = battle.getPlayerTeam().getActivePokemonIndex();
+        if (playerActive != dto.getPlayerActivePokemonIndex()) {
+            dto.setPlayerActivePokemonIndex(playerActive);
+            delta.setPlayerActivePokemonIndex(playerActive);
+        }
+        int enemyActive = battle.getEnemyTeam().getActivePokemonIndex();
+        if (enemyActive != dto.getEnemyActivePokemonIndex()) {
+            dto.setEnemyActivePokemonIndex(enemyActive);
+            delta.setEnemyActivePokemonIndex(enemyActive);
+        }
+
+        String turn = battle.getCurrentTurn().toString();
+        if (!turn.equals(dto.getCurrentTurn())) {
+            dto.setCurrentTurn(turn);
+            delta.setCurrentTurn(turn);
+        }
+        String phase = battle.getPhase().toString();
+        if (!phase.equals(dto.getPhase())) {
+            dto.setPhase(phase);
+            delta.setPhase(phase);
+        }
+        String lastAction = battle.getLastActionMessage();
+        if (lastAction != null && !lastAction.equals(dto.getLastActionMessage())) {
+            dto.setLastActionMessage(lastAction);
+            delta.setLastActionMessage(lastAction);
+        }
+
+        if (battle.isBattleEnded() && !dto.isBattleEnded()) {
+            dto.setBattleEnded(true);
+            delta.setBattleEnded(true);
+        }
+        if (battle.getWinner() != null) {
+            String winner = battle.getWinner().getTrainerName();
+            if (!winner.equals(dto.getWinner())) {
+                dto.setWinner(winner);
+                delta.setWinner(winner);
+            }
+        }
+        return delta;
+    }
+
+    private void refreshTeamDTO(List<backend.application.dto.PokemonDTO> dtoTeam, Team team, boolean enemyTeam,
+                                backend.application.dto.BattleStateDelta delta) {
+        List<PokemonBattleStats> pokemon = team.getAllPokemon();
+        for (int i = 0; i < pokemon.size(); i++) {
+            PokemonBattleStats stats = pokemon.get(i);
+            backend.application.dto.PokemonDTO dto = dtoTeam.get(i);
+            if (stats.getCurrentHp() != dto.getCurrentHp() || stats.isFainted() != dto.isFainted()) {
+                dto.setCurrentHp(stats.getCurrentHp());
+                dto.setFainted(stats.isFainted());
+                delta.addPokemonUpdate(new backend.application.dto.BattleStateDelta.PokemonUpdate(
+                    enemyTeam, i, stats.getCurrentHp(), stats.isFainted()));
+            }
+        }
+    }
+
     /**
      * Convert Team to PokemonDTO list
      */
@@ -420,10 +288,12 @@ public class BattleService {
         }
         dto.setAvailableMoves(moveDTOs);
         
-        LOGGER.log(Level.INFO, "Generated {0} moves for {1}: {2}", 
-            new Object[]{moveDTOs.size(), p.getName(), 
-                moveDTOs.stream().map(m -> m.getName()).reduce((a,b) -> a + ", " + b).orElse("none")});
-        
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Generated {0} moves for {1}: {2}",
+                new Object[]{moveDTOs.size(), p.getName(),
+                    moveDTOs.stream().map(m -> m.getName()).reduce((a,b) -> a + ", " + b).orElse("none")});
+        }
+
         return dto;
     }
 
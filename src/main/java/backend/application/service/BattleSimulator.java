@@ -0,0 +1,147 @@
+package backend.application.service;
+
+import java.util.stream.IntStream;
+
+import backend.domain.model.BattleRandom;
+import backend.domain.model.Team;
+
+/**
+ * Battle simulator - headless Monte Carlo battles between two teams
+ *
+ * Plays by the multiplayer rules: turns alternate starting with the faster lead, each turn
+ * is one random move from the Pokemon's moveset, and replacing a fainted Pokemon (next alive
+ * in team order) uses up that side's turn. BattleTables holds the damage for every
+ * attacker/move/target up front, so a battle is only HP arithmetic and random rolls on a
+ * couple of int arrays; batches run in parallel on the common fork/join pool.
+ */
+public class BattleSimulator {
+    // Battles longer than this count as draws (long miss streaks, 0-power moves)
+    private static final int MAX_TURNS = 1000;
+    private static final int BATTLES_PER_TASK = 4096;
+    private static final double Z_95 = 1.959964;
+
+    private final BattleService battleService;
+
+    public BattleSimulator(BattleService battleService) {
+        this.battleService = battleService;
+    }
+
+    /**
+     * Simulate battles between two teams at full HP
+     *
+     * @param seed Same seed, teams and battle count give the same result
+     */
+    public SimulationResult simulate(Team first, Team second, int battles, long seed) {
+        if (battles < 1) {
+            throw new IllegalArgumentException("At least one battle is required");
+        }
+        BattleTables tables = new BattleTables(first, second, battleService);
+
+        int tasks = (battles + BATTLES_PER_TASK - 1) / BATTLES_PER_TASK;
+        // Split sequentially so each task's stream depends only on the seed, not on scheduling
+        BattleRandom root = new BattleRandom(seed);
+        BattleRandom[] streams = new BattleRandom[tasks];
+        for (int i = 0; i < tasks; i++) {
+            streams[i] = root.split();
+        }
+
+        long start = System.nanoTime();
+        long[] totals = IntStream.range(0, tasks).parallel()
+            .mapToObj(task -> {
+                int count = Math.min(BATTLES_PER_TASK, battles - task * BATTLES_PER_TASK);
+                return run(tables, count, streams[task]);
+            })
+            .reduce(new long[3], (a, b) -> new long[]{a[0] + b[0], a[1] + b[1], a[2] + b[2]});
+        return new SimulationResult(battles, totals[0], totals[1], totals[2], System.nanoTime() - start);
+    }
+
+    /**
+     * @return {first side wins, second side wins, draws}
+     */
+    private static long[] run(BattleTables tables, int battles, BattleRandom random) {
+        int[][] hp = {new int[tables.size(0)], new int[tables.size(1)]};
+        int[] active = new int[2];
+        int[] alive = new int[2];
+        long[] results = new long[3];
+
+        for (int b = 0; b < battles; b++) {
+            tables.reset(hp, active, alive);
+            results[tables.playout(hp, active, alive, tables.firstTurn(), random, MAX_TURNS)]++;
+        }
+        return results;
+    }
+
+    /**
+     * Outcome counts with a 95% Wilson score interval on the first team's win rate
+     */
+    public static class SimulationResult {
+        private final int battles;
+        private final long firstWins;
+        private final long secondWins;
+        private final long draws;
+        private final long elapsedNanos;
+
+        SimulationResult(int battles, long firstWins, long secondWins, long draws, long elapsedNanos) {
+            this.battles = battles;
+            this.firstWins = firstWins;
+            this.secondWins = secondWins;
+            this.draws = draws;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getBattles() {
+            return battles;
+        }
+
+        public long getFirstWins() {
+            return firstWins;
+        }
+
+        public long getSecondWins() {
+            return secondWins;
+        }
+
+        public long getDraws() {
+            return draws;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getFirstWinRate() {
+            return (double) firstWins / battles;
+        }
+
+        public double getSecondWinRate() {
+            return (double) secondWins / battles;
+        }
+
+        public double getConfidenceLow() {
+            return wilsonCenter() - wilsonMargin();
+        }
+
+        public double getConfidenceHigh() {
+            return wilsonCenter() + wilsonMargin();
+        }
+
+        private double wilsonCenter() {
+            double p = getFirstWinRate();
+            double z2 = Z_95 * Z_95;
+            return (p + z2 / (2.0 * battles)) / (1 + z2 / battles);
+        }
+
+        private double wilsonMargin() {
+            double p = getFirstWinRate();
+            double z2 = Z_95 * Z_95;
+            return Z_95 * Math.sqrt(p * (1 - p) / battles + z2 / (4.0 * battles * battles)) / (1 + z2 / battles);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d battles: first %.2f%% [%.2f%%, %.2f%%], second %.2f%%, draws %d",
+                battles, getFirstWinRate() * 100, getConfidenceLow() * 100, getConfidenceHigh() * 100,
+                getSecondWinRate() * 100, draws);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package backend.application.service;
+
+import java.util.List;
+
+import backend.domain.model.BattleRandom;
+import backend.domain.model.Move;
+import backend.domain.model.Pokemon;
+import backend.domain.model.PokemonBattleStats;
+import backend.domain.model.Team;
+
+/**
+ * Everything fixed about a battle between two teams, flattened into arrays
+ *
+ * The changing part of a battle is just HP per Pokemon, the active index and the count
+ * still standing per side, so simulations and AI search copy a few ints instead of
+ * cloning BattleState. Follows the multiplayer rules: one action per turn, and
+ * replacing a fainted Pokemon uses up that side's turn.
+ *
+ * Actions are encoded as ints: 0 .. maxMoves - 1 is a move, maxMoves + i switches to Pokemon i.
+ */
+final class BattleTables {
+    static final int NO_WINNER = -1;
+    static final int DRAW = 2;
+
+    private final int[] size = new int[2];
+    private final int[][] maxHp = new int[2][];
+    private final int[][] moveCount = new int[2][];
+    private final int maxMoves;
+    // [side][attacker * maxMoves + move]
+    private final double[][] accuracy = new double[2][];
+    // [side][(attacker * opponentSize + defender) * maxMoves + move]
+    private final double[][] damage = new double[2][];
+    private final int firstTurn;
+
+    /**
+     * @param first Side 0
+     * @param second Side 1
+     */
+    BattleTables(Team first, Team second, BattleService battleService) {
+        Pokemon[][] pokemon = {members(first), members(second)};
+        Move[][][] moves = new Move[2][][];
+        int most = 1;
+        for (int s = 0; s < 2; s++) {
+            moves[s] = new Move[pokemon[s].length][];
+            for (int i = 0; i < pokemon[s].length; i++) {
+                moves[s][i] = battleService.generateMovesForPokemon(pokemon[s][i]).toArray(new Move[0]);
+                most = Math.max(most, moves[s][i].length);
+            }
+        }
+        maxMoves = most;
+
+        for (int s = 0; s < 2; s++) {
+            Pokemon[] own = pokemon[s];
+            Pokemon[] opponent = pokemon[1 - s];
+            int n = own.length;
+            size[s] = n;
+            maxHp[s] = new int[n];
+            moveCount[s] = new int[n];
+            accuracy[s] = new double[n * maxMoves];
+            damage[s] = new double[n * opponent.length * maxMoves];
+            for (int i = 0; i < n; i++) {
+                maxHp[s][i] = own[i].getHp();
+                moveCount[s][i] = moves[s][i].length;
+                for (int m = 0; m < moves[s][i].length; m++) {
+                    Move move = moves[s][i][m];
+                    accuracy[s][i * maxMoves + m] = move.getAccuracy();
+                    for (int j = 0; j < opponent.length; j++) {
+                        damage[s][(i * opponent.length + j) * maxMoves + m] =
+                            PokemonBattleStats.baseDamage(own[i], move, opponent[j]);
+                    }
+                }
+            }
+        }
+        // Same rule as BattleState: the faster lead moves first, ties go to the first team
+        firstTurn = pokemon[0][0].getSpeed() >= pokemon[1][0].getSpeed() ? 0 : 1;
+    }
+
+    private static Pokemon[] members(Team team) {
+        List<PokemonBattleStats> members = team.getAllPokemon();
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("Team " + team.getTrainerName() + " is empty");
+        }
+        Pokemon[] pokemon = new Pokemon[members.size()];
+        for (int i = 0; i < pokemon.length; i++) {
+            pokemon[i] = members.get(i).getPokemon();
+        }
+        return pokemon;
+    }
+
+    int size(int side) {
+        return size[side];
+    }
+
+    int maxMoves() {
+        return maxMoves;
+    }
+
+    int moveCount(int side, int pokemon) {
+        return moveCount[side][pokemon];
+    }
+
+    int firstTurn() {
+        return firstTurn;
+    }
+
+    /**
+     * Reset a state to both teams at full HP with their leads out
+     */
+    void reset(int[][] hp, int[] active, int[] alive) {
+        for (int s = 0; s < 2; s++) {
+            System.arraycopy(maxHp[s], 0, hp[s], 0, size[s]);
+            active[s] = 0;
+            alive[s] = size[s];
+        }
+    }
+
+    /**
+     * Apply one action for the side whose turn it is
+     *
+     * @return The winning side if this action ended the battle, else NO_WINNER
+     */
+    int step(int[][] hp, int[] active, int[] alive, int turn, int action, BattleRandom random) {
+        if (action >= maxMoves) {
+            active[turn] = action - maxMoves;
+            return NO_WINNER;
+        }
+        int attacker = active[turn];
+        if (random.nextDouble() * 100 >= accuracy[turn][attacker * maxMoves + action]) {
+            return NO_WINNER;
+        }
+        int defender = 1 - turn;
+        int target = active[defender];
+        double base = damage[turn][(attacker * size[defender] + target) * maxMoves + action];
+        int remaining = hp[defender][target] - PokemonBattleStats.rollDamage(base, random.nextDouble());
+        if (remaining > 0) {
+            hp[defender][target] = remaining;
+            return NO_WINNER;
+        }
+        hp[defender][target] = 0;
+        return --alive[defender] == 0 ? turn : NO_WINNER;
+    }
+
+    /**
+     * Play on from a state with random moves and forced switches to the next Pokemon standing
+     *
+     * @param turn Side to act first
+     * @return Winning side, or DRAW after maxTurns
+     */
+    int playout(int[][] hp, int[] active, int[] alive, int turn, BattleRandom random, int maxTurns) {
+        for (int t = 0; t < maxTurns; t++) {
+            int attacker = active[turn];
+            if (hp[turn][attacker] == 0) {
+                int next = 0;
+                while (hp[turn][next] == 0) {
+                    next++;
+                }
+                active[turn] = next;
+            } else if (moveCount[turn][attacker] > 0) {
+                int winner = step(hp, active, alive, turn, random.nextInt(moveCount[turn][attacker]), random);
+                if (winner != NO_WINNER) {
+                    return winner;
+                }
+            }
+            turn = 1 - turn;
+        }
+        return DRAW;
+    }
+}
@@ -0,0 +1,276 @@
+package backend.application.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import backend.domain.model.Move;
+import backend.domain.model.Pokemon;
+import backend.domain.model.PokemonBattleStats;
+import backend.domain.model.Team;
+
+/**
+ * Matchup Matrix - every species against every other, precomputed and memory-mapped
+ *
+ * For each ordered pair (attacker, defender) it stores the expected damage per turn with
+ * the attacker's moveset, the expected turns to knock the defender out, and the attacker's
+ * one-on-one win probability from BattleSimulator. The file is rebuilt only when the
+ * Pokemon stats or movesets it was computed from change (SHA-256 over the inputs).
+ *
+ * File layout (big-endian): magic, version, 32-byte source hash, count, IDs,
+ * then three count x count float matrices, row = attacker, column = defender.
+ */
+public class MatchupMatrix {
+    private static final Logger LOGGER = Logger.getLogger(MatchupMatrix.class.getName());
+    private static final int MAGIC = 0x504B4D58; // "PKMX"
+    private static final int VERSION = 1;
+    private static final int HASH_BYTES = 32;
+    private static final int HEADER_BYTES = 4 + 4 + HASH_BYTES + 4;
+    // Samples of the 85-100% damage roll used to average the integer rounding
+    private static final int ROLL_SAMPLES = 16;
+
+    public static final String DEFAULT_FILE = "matchups.bin";
+    public static final int DEFAULT_BATTLES_PER_PAIR = 1000;
+    // Fixed so the same inputs always produce the same file
+    private static final long SIMULATION_SEED = 151L;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int[] rowById;
+    private final int damageOffset;
+    private final int turnsOffset;
+    private final int winOffset;
+
+    private MatchupMatrix(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = buffer.getInt(HEADER_BYTES - 4);
+        int maxId = 0;
+        for (int i = 0; i < count; i++) {
+            maxId = Math.max(maxId, buffer.getInt(HEADER_BYTES + i * 4));
+        }
+        this.rowById = new int[maxId + 1];
+        Arrays.fill(rowById, -1);
+        for (int i = 0; i < count; i++) {
+            rowById[buffer.getInt(HEADER_BYTES + i * 4)] = i;
+        }
+        int matrixBytes = count * count * 4;
+        this.damageOffset = HEADER_BYTES + count * 4;
+        this.turnsOffset = damageOffset + matrixBytes;
+        this.winOffset = turnsOffset + matrixBytes;
+    }
+
+    /**
+     * Map the matrix file, rebuilding it first if it is missing or was built from other data
+     */
+    public static MatchupMatrix loadOrBuild(Path file, List<Pokemon> pokemon, BattleService battleService)
+            throws IOException {
+        return loadOrBuild(file, pokemon, battleService, DEFAULT_BATTLES_PER_PAIR, false);
+    }
+
+    /**
+     * @param battlesPerPair Simulated battles behind each win probability
+     * @param force Rebuild even if the file is up to date
+     */
+    public static MatchupMatrix loadOrBuild(Path file, List<Pokemon> pokemon, BattleService battleService,
+                                            int battlesPerPair, boolean force) throws IOException {
+        List<Pokemon> sorted = new ArrayList<>(pokemon);
+        sorted.sort(Comparator.comparingInt(Pokemon::getId));
+        Move[][] movesets = new Move[sorted.size()][];
+        for (int i = 0; i < movesets.length; i++) {
+            movesets[i] = battleService.generateMovesForPokemon(sorted.get(i)).toArray(new Move[0]);
+        }
+        byte[] hash = sourceHash(sorted, movesets, battlesPerPair);
+
+        if (!force && Files.exists(file)) {
+            MappedByteBuffer mapped = map(file);
+            if (matches(mapped, hash)) {
+                LOGGER.log(Level.INFO, "Loaded matchup matrix from {0}", file);
+                return new MatchupMatrix(mapped);
+            }
+            LOGGER.log(Level.INFO, "Matchup matrix {0} is out of date, rebuilding", file);
+        }
+
+        long start = System.nanoTime();
+        write(file, hash, sorted, movesets, battleService, battlesPerPair);
+        LOGGER.log(Level.INFO, "Built matchup matrix for {0} Pokemon in {1} ms",
+            new Object[]{sorted.size(), (System.nanoTime() - start) / 1_000_000});
+        return new MatchupMatrix(map(file));
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean contains(int pokemonId) {
+        return row(pokemonId) >= 0;
+    }
+
+    /**
+     * Average damage per turn the attacker deals to the defender, misses included
+     */
+    public float getExpectedDamage(int attackerId, int defenderId) {
+        return buffer.getFloat(damageOffset + cell(attackerId, defenderId));
+    }
+
+    /**
+     * Expected turns for the attacker to knock out the defender from full HP
+     * @return Float.POSITIVE_INFINITY if the attacker cannot damage the defender
+     */
+    public float getTurnsToKo(int attackerId, int defenderId) {
+        return buffer.getFloat(turnsOffset + cell(attackerId, defenderId));
+    }
+
+    /**
+     * Probability that the attacker, moving first on a speed tie, wins one-on-one
+     */
+    public float getWinProbability(int attackerId, int defenderId) {
+        return buffer.getFloat(winOffset + cell(attackerId, defenderId));
+    }
+
+    private int row(int pokemonId) {
+        return pokemonId >= 0 && pokemonId < rowById.length ? rowById[pokemonId] : -1;
+    }
+
+    private int cell(int attackerId, int defenderId) {
+        int attacker = row(attackerId);
+        int defender = row(defenderId);
+        if (attacker < 0 || defender < 0) {
+            throw new IllegalArgumentException("No matchup for " + attackerId + " vs " + defenderId);
+        }
+        return (attacker * count + defender) * 4;
+    }
+
+    private static void write(Path file, byte[] hash, List<Pokemon> pokemon, Move[][] movesets,
+                              BattleService battleService, int battlesPerPair) throws IOException {
+        int n = pokemon.size();
+        float[] damage = new float[n * n];
+        float[] turns = new float[n * n];
+        float[] wins = new float[n * n];
+        BattleSimulator simulator = new BattleSimulator(battleService);
+        Team[] solo = new Team[n];
+        for (int i = 0; i < n; i++) {
+            solo[i] = new Team(pokemon.get(i).getName(), List.of(pokemon.get(i)));
+        }
+
+        // Rows are independent; each pair's simulation seed depends only on the pair
+        IntStream.range(0, n).parallel().forEach(a -> {
+            for (int d = 0; d < n; d++) {
+                int cell = a * n + d;
+                damage[cell] = (float) expectedDamage(pokemon.get(a), movesets[a], pokemon.get(d));
+                turns[cell] = damage[cell] > 0 ? pokemon.get(d).getHp() / damage[cell] : Float.POSITIVE_INFINITY;
+                wins[cell] = (float) simulator.simulate(solo[a], solo[d], battlesPerPair,
+                    SIMULATION_SEED * 31 + cell).getFirstWinRate();
+            }
+        });
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + n * 4 + 3 * n * n * 4).order(ByteOrder.BIG_ENDIAN);
+        out.putInt(MAGIC).putInt(VERSION).put(hash).putInt(n);
+        for (Pokemon p : pokemon) {
+            out.putInt(p.getId());
+        }
+        for (float[] matrix : new float[][]{damage, turns, wins}) {
+            for (float value : matrix) {
+                out.putFloat(value);
+            }
+        }
+        out.flip();
+
+        // Write beside the target and swap it in, so readers never see half a file
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "matchups", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // Don't leave a stray temp file next to the matrix
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Mean damage per turn with a uniformly random move, weighted by accuracy
+     */
+    private static double expectedDamage(Pokemon attacker, Move[] moves, Pokemon defender) {
+        if (moves.length == 0) {
+            return 0.0;
+        }
+        double total = 0.0;
+        for (Move move : moves) {
+            double base = PokemonBattleStats.baseDamage(attacker, move, defender);
+            double rolled = 0.0;
+            for (int k = 0; k < ROLL_SAMPLES; k++) {
+                rolled += PokemonBattleStats.rollDamage(base, (k + 0.5) / ROLL_SAMPLES);
+            }
+            total += Math.min(100, Math.max(0, move.getAccuracy())) / 100.0 * rolled / ROLL_SAMPLES;
+        }
+        return total / moves.length;
+    }
+
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static boolean matches(MappedByteBuffer mapped, byte[] hash) {
+        if (mapped.capacity() < HEADER_BYTES || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+            return false;
+        }
+        for (int i = 0; i < HASH_BYTES; i++) {
+            if (mapped.get(8 + i) != hash[i]) {
+                return false;
+            }
+        }
+        long n = mapped.getInt(HEADER_BYTES - 4);
+        return n >= 0 && mapped.capacity() == HEADER_BYTES + n * 4 + 3 * n * n * 4;
+    }
+
+    /**
+     * Hash of everything the matrix is computed from
+     */
+    private static byte[] sourceHash(List<Pokemon> pokemon, Move[][] movesets, int battlesPerPair) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder source = new StringBuilder().append(VERSION).append(';').append(battlesPerPair);
+            for (int i = 0; i < pokemon.size(); i++) {
+                Pokemon p = pokemon.get(i);
+                source.append('\n').append(p.getId()).append(',').append(p.getName()).append(',')
+                    .append(p.getType1()).append(',').append(p.getType2()).append(',')
+                    .append(p.getHp()).append(',').append(p.getAttack()).append(',')
+                    .append(p.getDefense()).append(',').append(p.getSpeed());
+                for (Move move : movesets[i]) {
+                    source.append(';').append(move.getName()).append(',').append(move.getType()).append(',')
+                        .append(move.getPower()).append(',').append(move.getAccuracy());
+                }
+            }
+            return digest.digest(source.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
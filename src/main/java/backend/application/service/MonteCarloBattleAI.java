@@ -0,0 +1,247 @@
+package backend.application.service;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import backend.domain.model.BattleRandom;
+import backend.domain.model.BattleState;
+import backend.domain.model.Team;
+
+/**
+ * Monte Carlo tree search opponent with a strict time budget per decision
+ *
+ * The tree is one level deep: every legal move and switch is a child of the current state,
+ * chosen by UCB1 and scored with random playouts to the end of the battle on BattleTables.
+ * One worker per core searches its own copy of the tree until the deadline, then the visit
+ * counts are summed and the most visited action wins (root parallelization).
+ *
+ * Playouts draw from their own random sources, never the battle's, so asking the AI for a
+ * decision does not change the rolls of a seeded battle.
+ */
+public class MonteCarloBattleAI implements BattleAI {
+    public static final long DEFAULT_BUDGET_MILLIS = 50;
+    // Playouts longer than this count as draws
+    private static final int MAX_TURNS = 1000;
+    private static final double EXPLORATION = Math.sqrt(2.0);
+    // Playouts between clock reads
+    private static final int CHECK_INTERVAL = 16;
+
+    private final BattleService battleService;
+    private final long budgetNanos;
+    private final int workers;
+
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder nodesSearched = new LongAdder();
+    private final LongAdder decisionNanos = new LongAdder();
+
+    public MonteCarloBattleAI(BattleService battleService) {
+        this(battleService, DEFAULT_BUDGET_MILLIS);
+    }
+
+    public MonteCarloBattleAI(BattleService battleService, long budgetMillis) {
+        this(battleService, budgetMillis, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param budgetMillis Wall-clock limit for one decision
+     * @param workers Parallel searches per decision
+     */
+    public MonteCarloBattleAI(BattleService battleService, long budgetMillis, int workers) {
+        if (budgetMillis < 1 || workers < 1) {
+            throw new IllegalArgumentException("Budget and workers must be positive");
+        }
+        this.battleService = battleService;
+        this.budgetNanos = budgetMillis * 1_000_000;
+        this.workers = workers;
+    }
+
+    @Override
+    public BattleDecision decide(BattleState battle) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+
+        Team own = battle.getActiveTeam();
+        Team opponent = battle.getOpponentTeam();
+        // Side 0 is always the side deciding
+        BattleTables tables = new BattleTables(own, opponent, battleService);
+        Snapshot root = new Snapshot(own, opponent);
+        int[] actions = legalActions(tables, root);
+        if (actions.length == 0) {
+            throw new IllegalStateException("No Pokemon left to act for " + own.getTrainerName());
+        }
+
+        long[][] totals;
+        if (actions.length == 1) {
+            totals = new long[][]{{0}, {0}};
+        } else {
+            totals = IntStream.range(0, workers).parallel()
+                .mapToObj(w -> search(tables, root, actions, deadline, new BattleRandom()))
+                .reduce(new long[2][actions.length], MonteCarloBattleAI::sum);
+        }
+
+        int best = 0;
+        for (int a = 1; a < actions.length; a++) {
+            if (totals[0][a] > totals[0][best]
+                    || (totals[0][a] == totals[0][best] && totals[1][a] > totals[1][best])) {
+                best = a;
+            }
+        }
+        long nodes = 0;
+        for (long visits : totals[0]) {
+            nodes += visits;
+        }
+        long elapsed = System.nanoTime() - start;
+        decisions.increment();
+        nodesSearched.add(nodes);
+        decisionNanos.add(elapsed);
+
+        int action = actions[best];
+        return action >= tables.maxMoves()
+            ? new BattleDecision(BattleDecision.Type.SWITCH, action - tables.maxMoves(), nodes, elapsed)
+            : new BattleDecision(BattleDecision.Type.MOVE, action, nodes, elapsed);
+    }
+
+    /**
+     * Moves of the active Pokemon and switches to the others still standing; only switches if it fainted
+     */
+    private static int[] legalActions(BattleTables tables, Snapshot root) {
+        int active = root.active[0];
+        boolean fainted = root.hp[0][active] == 0;
+        int moves = fainted ? 0 : tables.moveCount(0, active);
+        int[] actions = new int[moves + tables.size(0)];
+        int count = 0;
+        for (int m = 0; m < moves; m++) {
+            actions[count++] = m;
+        }
+        for (int i = 0; i < tables.size(0); i++) {
+            if (i != active && root.hp[0][i] > 0) {
+                actions[count++] = tables.maxMoves() + i;
+            }
+        }
+        int[] legal = new int[count];
+        System.arraycopy(actions, 0, legal, 0, count);
+        return legal;
+    }
+
+    /**
+     * One worker's UCB1 search until the deadline
+     *
+     * @return {visits per action, wins per action}, wins counted in half points so draws score 1
+     */
+    private static long[][] search(BattleTables tables, Snapshot root, int[] actions, long deadline,
+                                   BattleRandom random) {
+        int n = actions.length;
+        long[] visits = new long[n];
+        long[] wins = new long[n];
+        int[][] hp = {new int[tables.size(0)], new int[tables.size(1)]};
+        int[] active = new int[2];
+        int[] alive = new int[2];
+
+        long total = 0;
+        while (true) {
+            if (total % CHECK_INTERVAL == 0 && System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            int pick = total < n ? (int) total : select(visits, wins, total);
+            root.copyTo(hp, active, alive);
+            int winner = tables.step(hp, active, alive, 0, actions[pick], random);
+            if (winner == BattleTables.NO_WINNER) {
+                winner = tables.playout(hp, active, alive, 1, random, MAX_TURNS);
+            }
+            visits[pick]++;
+            wins[pick] += winner == 0 ? 2 : winner == BattleTables.DRAW ? 1 : 0;
+            total++;
+        }
+        return new long[][]{visits, wins};
+    }
+
+    private static int select(long[] visits, long[] wins, long total) {
+        double logTotal = Math.log(total);
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int a = 0; a < visits.length; a++) {
+            double score = wins[a] / (2.0 * visits[a]) + EXPLORATION * Math.sqrt(logTotal / visits[a]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = a;
+            }
+        }
+        return best;
+    }
+
+    private static long[][] sum(long[][] a, long[][] b) {
+        long[][] result = new long[2][a[0].length];
+        for (int r = 0; r < 2; r++) {
+            for (int i = 0; i < a[r].length; i++) {
+                result[r][i] = a[r][i] + b[r][i];
+            }
+        }
+        return result;
+    }
+
+    public long getBudgetMillis() {
+        return budgetNanos / 1_000_000;
+    }
+
+    public long getDecisions() {
+        return decisions.sum();
+    }
+
+    /**
+     * Playouts run across all decisions so far, one per visit of a root action
+     */
+    public long getNodesSearched() {
+        return nodesSearched.sum();
+    }
+
+    public double getDecisionsPerSecond() {
+        long nanos = decisionNanos.sum();
+        return nanos == 0 ? 0.0 : decisions.sum() / (nanos / 1e9);
+    }
+
+    public double getNodesPerSecond() {
+        long nanos = decisionNanos.sum();
+        return nanos == 0 ? 0.0 : nodesSearched.sum() / (nanos / 1e9);
+    }
+
+    /**
+     * HP, active index and Pokemon standing per side, copied out of the live teams
+     */
+    private static final class Snapshot {
+        private final int[][] hp;
+        private final int[] active = new int[2];
+        private final int[] alive = new int[2];
+
+        Snapshot(Team own, Team opponent) {
+            Team[] teams = {own, opponent};
+            hp = new int[2][];
+            for (int s = 0; s < 2; s++) {
+                Team team = teams[s];
+                hp[s] = new int[team.getSize()];
+                for (int i = 0; i < hp[s].length; i++) {
+                    hp[s][i] = team.getPokemon(i).getCurrentHp();
+                    if (hp[s][i] > 0) {
+                        alive[s]++;
+                    }
+                }
+                active[s] = team.getActivePokemonIndex();
+            }
+            // An opponent still to replace a fainted Pokemon sends out the next one standing
+            if (hp[1][active[1]] == 0 && alive[1] > 0) {
+                int next = 0;
+                while (hp[1][next] == 0) {
+                    next++;
+                }
+                active[1] = next;
+            }
+        }
+
+        void copyTo(int[][] hpCopy, int[] activeCopy, int[] aliveCopy) {
+            for (int s = 0; s < 2; s++) {
+                System.arraycopy(hp[s], 0, hpCopy[s], 0, hp[s].length);
+            }
+            System.arraycopy(active, 0, activeCopy, 0, 2);
+            System.arraycopy(alive, 0, aliveCopy, 0, 2);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package backend.application.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import backend.domain.model.Move;
+import backend.domain.model.Pokemon;
+import backend.domain.model.PokemonType;
+
+/**
+ * Move Catalog - movesData.json and movesPokemon.json compiled once into immutable tables
+ *
+ * Every move is a single shared Move instance keyed by name, every species has a fixed
+ * moveset, and the type-based fallback is precomputed per type pair, so looking up a
+ * Pokemon's moves on the turn path allocates nothing.
+ */
+final class MoveCatalog {
+    private static final Logger LOGGER = Logger.getLogger(MoveCatalog.class.getName());
+    private static final int MAX_MOVES = 4;
+    // Type slot for "no type" (missing second type, unknown type name)
+    private static final int NO_TYPE = PokemonType.COUNT;
+    private static final Move DEFAULT_MOVE = new Move("Tackle", "Normal", 40, 100);
+
+    private final Map<String, Move> movesByName;
+    private final Map<String, List<Move>> movesetsBySpecies;
+    private final List<List<Move>> fallbackByTypePair;
+
+    private MoveCatalog(Map<String, Move> movesByName, Map<String, List<Move>> movesetsBySpecies) {
+        this.movesByName = Map.copyOf(movesByName);
+        this.movesetsBySpecies = Map.copyOf(movesetsBySpecies);
+        this.fallbackByTypePair = buildFallbacks(this.movesByName);
+    }
+
+    /**
+     * Load and compile both JSON files (classpath first, then the working directory)
+     */
+    static MoveCatalog load() {
+        Map<String, Move> moves = new HashMap<>();
+        JSONObject movesData = readJson("movesData.json");
+        if (movesData != null) {
+            for (String moveName : movesData.keySet()) {
+                try {
+                    JSONObject moveData = movesData.getJSONObject(moveName);
+                    moves.put(moveName, new Move(moveName, moveData.getString("type"),
+                        moveData.optInt("power", 50), moveData.optInt("accuracy", 100)));
+                } catch (JSONException e) {
+                    LOGGER.log(Level.WARNING, "Error parsing move data for ''{0}'', skipping", moveName);
+                }
+            }
+            LOGGER.log(Level.INFO, "Loaded {0} moves", moves.size());
+        } else {
+            // FAIL FAST - don't silently fall back to defaults in production
+            LOGGER.log(Level.SEVERE, "CRITICAL: Failed to load movesData.json from classpath or filesystem. Multiplayer battles will be broken!");
+            for (Move move : List.of(DEFAULT_MOVE, new Move("Scratch", "Normal", 40, 100),
+                    new Move("Ember", "Fire", 40, 100), new Move("Water Gun", "Water", 40, 100),
+                    new Move("Vine Whip", "Grass", 45, 100))) {
+                moves.put(move.getName(), move);
+            }
+        }
+
+        Map<String, List<Move>> movesets = new HashMap<>();
+        JSONObject pokemonMoves = readJson("movesPokemon.json");
+        if (pokemonMoves != null) {
+            for (String species : pokemonMoves.keySet()) {
+                try {
+                    JSONArray moveNames = pokemonMoves.getJSONArray(species);
+                    List<Move> moveset = new ArrayList<>();
+                    for (int i = 0; i < Math.min(MAX_MOVES, moveNames.length()); i++) {
+                        moveset.add(moves.computeIfAbsent(moveNames.getString(i), MoveCatalog::unknownMove));
+                    }
+                    if (!moveset.isEmpty()) {
+                        movesets.put(species, List.copyOf(moveset));
+                    }
+                } catch (JSONException e) {
+                    LOGGER.log(Level.WARNING, "Error loading moves for {0}, using type-based moves", species);
+                }
+            }
+            LOGGER.log(Level.INFO, "Loaded moves for {0} Pokemon", movesets.size());
+        } else {
+            LOGGER.log(Level.SEVERE, "CRITICAL: Failed to load movesPokemon.json from classpath or filesystem. Will use type-based moves as fallback.");
+        }
+        return new MoveCatalog(moves, movesets);
+    }
+
+    /**
+     * The moves a Pokemon battles with: its species moveset, or the fallback for its types
+     *
+     * Resolved from the Pokemon's own name and types on every call and never remembered per ID,
+     * since Pokemon built from client data may pair any ID with any name.
+     * @return Immutable, shared list
+     */
+    List<Move> movesFor(Pokemon pokemon) {
+        List<Move> moves = movesetsBySpecies.get(pokemon.getName());
+        if (moves != null) {
+            return moves;
+        }
+        LOGGER.log(Level.FINE, "Using type-based moves for {0}", pokemon.getName());
+        return fallbackByTypePair.get(slot(pokemon.getPrimaryType()) * (NO_TYPE + 1) + slot(pokemon.getSecondaryType()));
+    }
+
+    Move getMove(String name) {
+        return movesByName.get(name);
+    }
+
+    int size() {
+        return movesByName.size();
+    }
+
+    private static int slot(PokemonType type) {
+        return type == null ? NO_TYPE : type.ordinal();
+    }
+
+    private static Move unknownMove(String moveName) {
+        // Logged once here instead of on every lookup
+        LOGGER.log(Level.WARNING, "Move ''{0}'' not found in movesData.json, using defaults", moveName);
+        return new Move(moveName, "Normal", 50, 100);
+    }
+
+    /**
+     * Two moves of the primary type, one of the secondary type, then Normal moves up to four
+     * Picks are random but seeded by the type pair, so every Pokemon of the same types
+     * gets the same moves and the moves shown to a player are the moves executed.
+     */
+    private static List<List<Move>> buildFallbacks(Map<String, Move> moves) {
+        Map<PokemonType, List<Move>> byType = new HashMap<>();
+        moves.values().stream()
+            .sorted(Comparator.comparing(Move::getName))
+            .filter(move -> move.getPokemonType() != null)
+            .forEach(move -> byType.computeIfAbsent(move.getPokemonType(), t -> new ArrayList<>()).add(move));
+
+        PokemonType[] types = PokemonType.values();
+        List<List<Move>> fallbacks = new ArrayList<>((NO_TYPE + 1) * (NO_TYPE + 1));
+        for (int first = 0; first <= NO_TYPE; first++) {
+            for (int second = 0; second <= NO_TYPE; second++) {
+                Random random = new Random(first * 31L + second);
+                Set<Move> picked = new LinkedHashSet<>();
+                if (first < NO_TYPE) {
+                    pick(byType.get(types[first]), 2, picked, random);
+                }
+                if (second < NO_TYPE) {
+                    pick(byType.get(types[second]), 1, picked, random);
+                }
+                pick(byType.get(PokemonType.NORMAL), MAX_MOVES - picked.size(), picked, random);
+                if (picked.isEmpty()) {
+                    picked.add(DEFAULT_MOVE);
+                }
+                fallbacks.add(List.copyOf(picked));
+            }
+        }
+        return List.copyOf(fallbacks);
+    }
+
+    private static void pick(List<Move> candidates, int count, Set<Move> picked, Random random) {
+        if (candidates == null) {
+            return;
+        }
+        int target = Math.min(MAX_MOVES, picked.size() + Math.min(count, candidates.size()));
+        // Bounded so a small list of already-picked moves cannot loop forever
+        for (int attempts = 0; picked.size() < target && attempts < candidates.size() * 4; attempts++) {
+            picked.add(candidates.get(random.nextInt(candidates.size())));
+        }
+    }
+
+    private static JSONObject readJson(String fileName) {
+        // Try classpath resource first (works when packaged)
+        try (InputStream is = MoveCatalog.class.getResourceAsStream("/" + fileName)) {
+            if (is != null) {
+                return new JSONObject(new String(is.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to load from classpath: {0}", e.getMessage());
+        } catch (JSONException e) {
+            LOGGER.log(Level.WARNING, "Failed to parse {0}: {1}", new Object[]{fileName, e.getMessage()});
+        }
+
+        // Try file system paths (development mode)
+        for (String path : new String[]{fileName, "./" + fileName, "../" + fileName, "../../" + fileName}) {
+            try {
+                return new JSONObject(new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8));
+            } catch (IOException | JSONException e) {
+                // Try next path
+            }
+        }
+        return null;
+    }
+}
@@ -1,12 +1,16 @@
 package backend.application.service;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 import backend.domain.model.Pokemon;
 import backend.domain.service.IPokemonRepository;
 import backend.domain.service.IPokemonRepository.AttributeMaxValues;
+import backend.domain.service.IPokemonRepository.PokemonFilter;
 
 /**
  * Pokemon service - handles Pokemon data operations
@@ -14,9 +18,22 @@ import backend.domain.service.IPokemonRepository.AttributeMaxValues;
  */
 public class PokemonService {
     private final IPokemonRepository pokemonRepository;
+    private final BattleService battleService;
+    private final Path matchupFile;
+    private final ReentrantLock matchupLock = new ReentrantLock();
+    private volatile MatchupMatrix matchupMatrix;
 
     public PokemonService(IPokemonRepository pokemonRepository) {
+        this(pokemonRepository, new BattleService(), Paths.get(MatchupMatrix.DEFAULT_FILE));
+    }
+
+    /**
+     * @param matchupFile Where the matchup matrix is cached between runs
+     */
+    public PokemonService(IPokemonRepository pokemonRepository, BattleService battleService, Path matchupFile) {
         this.pokemonRepository = pokemonRepository;
+        this.battleService = battleService;
+        this.matchupFile = matchupFile;
     }
 
     /**
@@ -42,7 +59,7 @@ public class PokemonService {
 
     /**
      * Find Pokemon with filters
-     * Builds SQL WHERE clause based on provided filters
+     * Null bounds are not filtered on; "Todos" means any type
      */
     public List<Pokemon> findWithFilters(Integer searchId, String selectedType,
                                          Integer minHP, Integer maxHP,
@@ -51,33 +68,10 @@ public class PokemonService {
                                          Integer minSpAtk, Integer maxSpAtk,
                                          Integer minSpDef, Integer maxSpDef,
                                          Integer minSpeed, Integer maxSpeed) throws SQLException {
-
-        List<String> conditions = new ArrayList<>();
-        List<Object> params = new ArrayList<>();
-
-        // ID search
-        if (searchId != null) {
-            conditions.add("id = ?");
-            params.add(searchId);
-        }
-
-        // Type filter
-        if (selectedType != null && !selectedType.equals("Todos")) {
-            conditions.add("(type1 = ? OR type2 = ?)");
-            params.add(selectedType);
-            params.add(selectedType);
-        }
-
-        // Stat range filters
-        addRangeFilter(conditions, params, "HP", minHP, maxHP);
-        addRangeFilter(conditions, params, "Attack", minAttack, maxAttack);
-        addRangeFilter(conditions, params, "Defense", minDefense, maxDefense);
-        addRangeFilter(conditions, params, "SpAtk", minSpAtk, maxSpAtk);
-        addRangeFilter(conditions, params, "SpDef", minSpDef, maxSpDef);
-        addRangeFilter(conditions, params, "Speed", minSpeed, maxSpeed);
-
-        String whereClause = conditions.isEmpty() ? "" : String.join(" AND ", conditions);
-        return pokemonRepository.findWithFilters(whereClause, params);
+        String type = selectedType != null && !selectedType.equals("Todos") ? selectedType : null;
+        return pokemonRepository.findMatching(new PokemonFilter(searchId, type,
+            minHP, maxHP, minAttack, maxAttack, minDefense, maxDefense,
+            minSpAtk, maxSpAtk, minSpDef, maxSpDef, minSpeed, maxSpeed));
     }
 
     /**
@@ -113,24 +107,50 @@ public class PokemonService {
     }
 
     /**
-     * Validate Pokemon ID (Generation 1: 1-151)
+     * Species-vs-species matchup table, mapped from disk on first use
+     * Rebuilt (which takes a while) only if the Pokedex or movesets changed since it was written.
      */
-    public static boolean isValidPokemonId(int id) {
-        return id >= 1 && id <= 151;
+    public MatchupMatrix getMatchupMatrix() throws SQLException, IOException {
+        MatchupMatrix matrix = matchupMatrix;
+        if (matrix != null) {
+            return matrix;
+        }
+        matchupLock.lock();
+        try {
+            if (matchupMatrix == null) {
+                matchupMatrix = MatchupMatrix.loadOrBuild(matchupFile, getAllPokemon(), battleService);
+            }
+            return matchupMatrix;
+        } finally {
+            matchupLock.unlock();
+        }
     }
 
     /**
-     * Helper method to add range filters to SQL query
+     * Expected damage per turn from one species to another
      */
-    private void addRangeFilter(List<String> conditions, List<Object> params,
-                               String column, Integer min, Integer max) {
-        if (min != null) {
-            conditions.add(column + " >= ?");
-            params.add(min);
-        }
-        if (max != null) {
-            conditions.add(column + " <= ?");
-            params.add(max);
-        }
+    public float getExpectedDamage(int attackerId, int defenderId) throws SQLException, IOException {
+        return getMatchupMatrix().getExpectedDamage(attackerId, defenderId);
+    }
+
+    /**
+     * Expected turns for one species to knock out another
+     */
+    public float getTurnsToKo(int attackerId, int defenderId) throws SQLException, IOException {
+        return getMatchupMatrix().getTurnsToKo(attackerId, defenderId);
+    }
+
+    /**
+     * Head-to-head win probability of one species against another
+     */
+    public float getWinProbability(int attackerId, int defenderId) throws SQLException, IOException {
+        return getMatchupMatrix().getWinProbability(attackerId, defenderId);
+    }
+
+    /**
+     * Validate Pokemon ID (Generation 1: 1-151)
+     */
+    public static boolean isValidPokemonId(int id) {
+        return id >= 1 && id <= 151;
     }
 }
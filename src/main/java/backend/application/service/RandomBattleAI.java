@@ -0,0 +1,30 @@
+package backend.application.service;
+
+import backend.domain.model.BattleState;
+import backend.domain.model.Team;
+
+/**
+ * The original opponent: a random move, or the next Pokemon standing when forced to switch
+ * Draws from the battle's own random source, so seeded battles stay reproducible.
+ */
+public class RandomBattleAI implements BattleAI {
+    private final BattleService battleService;
+
+    public RandomBattleAI(BattleService battleService) {
+        this.battleService = battleService;
+    }
+
+    @Override
+    public BattleDecision decide(BattleState battle) {
+        Team team = battle.getActiveTeam();
+        if (team.getActivePokemon().isFainted()) {
+            for (int i = 0; i < team.getSize(); i++) {
+                if (!team.getPokemon(i).isFainted()) {
+                    return BattleDecision.switchTo(i);
+                }
+            }
+        }
+        int moves = battleService.generateMovesForPokemon(team.getActivePokemon().getPokemon()).size();
+        return BattleDecision.move(battle.getRandom().nextInt(moves));
+    }
+}
@@ -0,0 +1,367 @@
+package backend.application.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import backend.domain.model.BattleRandom;
+import backend.domain.model.Pokemon;
+import backend.domain.model.Team;
+import backend.domain.service.IPokemonRepository;
+
+/**
+ * Team optimizer - evolves teams that beat an opponent pool with a genetic algorithm
+ *
+ * A team is an ordered list of distinct species (the lead matters), and its fitness is the
+ * average score against every opponent team in BattleSimulator, a draw counting half a win.
+ * All teams are simulated with the same seed per opponent, so fitness differences come from
+ * the teams rather than the dice, and a team's fitness never changes within a run: it is
+ * cached and only new teams are simulated, in parallel across the population.
+ */
+public class TeamOptimizer {
+    // Pool indices are packed into a long as the fitness cache key
+    private static final int KEY_BITS = 12;
+
+    private final IPokemonRepository pokemonRepository;
+    private final BattleSimulator simulator;
+
+    public TeamOptimizer(IPokemonRepository pokemonRepository, BattleService battleService) {
+        this.pokemonRepository = pokemonRepository;
+        this.simulator = new BattleSimulator(battleService);
+    }
+
+    /**
+     * Random opponent teams drawn from the Pokedex, reproducible from the seed
+     */
+    public List<Team> randomOpponents(int count, int teamSize, long seed) throws SQLException {
+        List<Pokemon> pool = pool();
+        BattleRandom random = new BattleRandom(seed);
+        List<Team> opponents = new ArrayList<>();
+        for (int t = 0; t < count; t++) {
+            opponents.add(toTeam("Opponent " + (t + 1), pool, randomTeam(pool.size(), teamSize, random)));
+        }
+        return opponents;
+    }
+
+    /**
+     * Evolve a team against the opponents
+     *
+     * @param progress Called after every generation with the best team so far
+     * @return Progress after the last generation
+     */
+    public Progress optimize(List<Team> opponents, Settings settings, Consumer<Progress> progress)
+            throws SQLException {
+        if (opponents.isEmpty()) {
+            throw new IllegalArgumentException("At least one opponent team is required");
+        }
+        List<Pokemon> pool = pool();
+        if (pool.size() < settings.teamSize || pool.size() >= 1 << KEY_BITS) {
+            throw new IllegalArgumentException("Pokedex size " + pool.size() + " not supported");
+        }
+
+        long start = System.nanoTime();
+        BattleRandom random = new BattleRandom(settings.seed);
+        Map<Long, Double> fitnessCache = new ConcurrentHashMap<>();
+        long evaluations = 0;
+
+        int[][] population = new int[settings.populationSize][];
+        for (int i = 0; i < population.length; i++) {
+            population[i] = randomTeam(pool.size(), settings.teamSize, random);
+        }
+
+        Progress best = null;
+        int stalled = 0;
+        for (int generation = 1; generation <= settings.generations && stalled < settings.stallGenerations;
+                generation++) {
+            int[][] current = population;
+            // Only simulate teams never seen before, each once even if it appears several times
+            Map<Long, int[]> unseen = new LinkedHashMap<>();
+            for (int[] team : current) {
+                long key = key(team);
+                if (!fitnessCache.containsKey(key)) {
+                    unseen.putIfAbsent(key, team);
+                }
+            }
+            unseen.entrySet().parallelStream().forEach(entry -> fitnessCache.put(entry.getKey(),
+                evaluate(toTeam("Candidate", pool, entry.getValue()), opponents,
+                    settings.battlesPerOpponent, settings.seed)));
+            evaluations += unseen.size();
+
+            double[] fitness = new double[current.length];
+            for (int i = 0; i < current.length; i++) {
+                fitness[i] = fitnessCache.get(key(current[i]));
+            }
+
+            Integer[] ranked = new Integer[current.length];
+            for (int i = 0; i < ranked.length; i++) {
+                ranked[i] = i;
+            }
+            Arrays.sort(ranked, Comparator.comparingDouble((Integer i) -> fitness[i]).reversed());
+
+            double mean = Arrays.stream(fitness).average().orElse(0.0);
+            if (best == null || fitness[ranked[0]] > best.bestFitness) {
+                best = new Progress(generation, members(pool, current[ranked[0]]), fitness[ranked[0]], mean,
+                    evaluations, System.nanoTime() - start);
+                stalled = 0;
+            } else {
+                best = new Progress(generation, best.bestTeam, best.bestFitness, mean,
+                    evaluations, System.nanoTime() - start);
+                stalled++;
+            }
+            if (progress != null) {
+                progress.accept(best);
+            }
+
+            population = new int[current.length][];
+            int elites = Math.min(settings.elites, current.length);
+            for (int i = 0; i < elites; i++) {
+                population[i] = current[ranked[i]];
+            }
+            for (int i = elites; i < population.length; i++) {
+                int[] child = crossover(select(current, fitness, settings.tournamentSize, random),
+                    select(current, fitness, settings.tournamentSize, random), random);
+                mutate(child, pool.size(), settings.mutationRate, random);
+                population[i] = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Average score of a team against the opponents, uncached
+     *
+     * @return 0.0 (loses every battle) to 1.0 (wins every battle)
+     */
+    public double evaluate(Team team, List<Team> opponents, int battlesPerOpponent, long seed) {
+        double total = 0.0;
+        for (int o = 0; o < opponents.size(); o++) {
+            BattleSimulator.SimulationResult result =
+                simulator.simulate(team, opponents.get(o), battlesPerOpponent, seed * 31 + o);
+            total += (result.getFirstWins() + 0.5 * result.getDraws()) / result.getBattles();
+        }
+        return total / opponents.size();
+    }
+
+    private List<Pokemon> pool() throws SQLException {
+        List<Pokemon> pool = new ArrayList<>(pokemonRepository.findAll());
+        pool.sort(Comparator.comparingInt(Pokemon::getId));
+        return pool;
+    }
+
+    private static int[] randomTeam(int poolSize, int teamSize, BattleRandom random) {
+        int[] team = new int[teamSize];
+        for (int i = 0; i < teamSize; i++) {
+            team[i] = unused(team, i, poolSize, random);
+        }
+        return team;
+    }
+
+    /**
+     * Random pool index not among the first length members of the team
+     */
+    private static int unused(int[] team, int length, int poolSize, BattleRandom random) {
+        while (true) {
+            int candidate = random.nextInt(poolSize);
+            if (indexOf(team, length, candidate) < 0) {
+                return candidate;
+            }
+        }
+    }
+
+    private static int indexOf(int[] team, int length, int member) {
+        for (int i = 0; i < length; i++) {
+            if (team[i] == member) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] select(int[][] population, double[] fitness, int tournamentSize, BattleRandom random) {
+        int best = random.nextInt(population.length);
+        for (int i = 1; i < tournamentSize; i++) {
+            int challenger = random.nextInt(population.length);
+            if (fitness[challenger] > fitness[best]) {
+                best = challenger;
+            }
+        }
+        return population[best];
+    }
+
+    /**
+     * Leading members of the first parent, then the second parent's members in order, skipping repeats
+     */
+    private static int[] crossover(int[] first, int[] second, BattleRandom random) {
+        int[] child = new int[first.length];
+        int length = 1 + random.nextInt(first.length);
+        System.arraycopy(first, 0, child, 0, length);
+        for (int i = 0; i < second.length && length < child.length; i++) {
+            if (indexOf(child, length, second[i]) < 0) {
+                child[length++] = second[i];
+            }
+        }
+        return child;
+    }
+
+    /**
+     * Replace members with random species, and sometimes swap two slots to change the lead
+     */
+    private static void mutate(int[] team, int poolSize, double rate, BattleRandom random) {
+        for (int i = 0; i < team.length; i++) {
+            if (random.nextDouble() < rate) {
+                int replacement = unused(team, team.length, poolSize, random);
+                team[i] = replacement;
+            }
+        }
+        if (team.length > 1 && random.nextDouble() < rate) {
+            int a = random.nextInt(team.length);
+            int b = random.nextInt(team.length);
+            int swap = team[a];
+            team[a] = team[b];
+            team[b] = swap;
+        }
+    }
+
+    private static long key(int[] team) {
+        long key = 0;
+        for (int member : team) {
+            key = (key << KEY_BITS) | member;
+        }
+        return key;
+    }
+
+    private static List<Pokemon> members(List<Pokemon> pool, int[] team) {
+        List<Pokemon> members = new ArrayList<>(team.length);
+        for (int index : team) {
+            members.add(pool.get(index));
+        }
+        return List.copyOf(members);
+    }
+
+    private static Team toTeam(String name, List<Pokemon> pool, int[] team) {
+        return new Team(name, members(pool, team));
+    }
+
+    /**
+     * Search parameters; the defaults converge in a few seconds against 16 opponents
+     */
+    public static class Settings {
+        private int teamSize = TeamService.getMaxTeamSize();
+        private int populationSize = 48;
+        private int generations = 60;
+        private int stallGenerations = 12;
+        private int elites = 2;
+        private int tournamentSize = 3;
+        private double mutationRate = 0.15;
+        private int battlesPerOpponent = 200;
+        private long seed = BattleRandom.newSeed();
+
+        public Settings populationSize(int populationSize) {
+            this.populationSize = populationSize;
+            return this;
+        }
+
+        /**
+         * Most generations to run
+         */
+        public Settings generations(int generations) {
+            this.generations = generations;
+            return this;
+        }
+
+        /**
+         * Stop after this many generations without a better team
+         */
+        public Settings stallGenerations(int stallGenerations) {
+            this.stallGenerations = stallGenerations;
+            return this;
+        }
+
+        public Settings mutationRate(double mutationRate) {
+            this.mutationRate = mutationRate;
+            return this;
+        }
+
+        public Settings battlesPerOpponent(int battlesPerOpponent) {
+            this.battlesPerOpponent = battlesPerOpponent;
+            return this;
+        }
+
+        /**
+         * Same seed, opponents and settings give the same run
+         */
+        public Settings seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+    }
+
+    /**
+     * State of a run after a generation
+     */
+    public static class Progress {
+        private final int generation;
+        private final List<Pokemon> bestTeam;
+        private final double bestFitness;
+        private final double meanFitness;
+        private final long evaluations;
+        private final long elapsedNanos;
+
+        Progress(int generation, List<Pokemon> bestTeam, double bestFitness, double meanFitness,
+                 long evaluations, long elapsedNanos) {
+            this.generation = generation;
+            this.bestTeam = bestTeam;
+            this.bestFitness = bestFitness;
+            this.meanFitness = meanFitness;
+            this.evaluations = evaluations;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getGeneration() {
+            return generation;
+        }
+
+        /**
+         * Best team so far, lead first
+         */
+        public List<Pokemon> getBestTeam() {
+            return bestTeam;
+        }
+
+        public double getBestFitness() {
+            return bestFitness;
+        }
+
+        /**
+         * Mean fitness of this generation's population
+         */
+        public double getMeanFitness() {
+            return meanFitness;
+        }
+
+        /**
+         * Teams simulated so far; cached teams are not counted again
+         */
+        public long getEvaluations() {
+            return evaluations;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getEvaluationsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : evaluations / (elapsedNanos / 1e9);
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package backend.application.service;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.locks.ReentrantLock;
 
 import backend.domain.model.Pokemon;
 import backend.domain.model.Team;
 import backend.domain.service.IPokemonRepository;
+import backend.domain.service.PokemonSampler;
 
 /**
  * Team service - handles team generation and validation
@@ -15,9 +15,10 @@ import backend.domain.service.IPokemonRepository;
  */
 public class TeamService {
     private static final int MAX_TEAM_SIZE = 5;
-    private static final Random random = new Random();
 
     private final IPokemonRepository pokemonRepository;
+    private final ReentrantLock samplerLock = new ReentrantLock();
+    private volatile PokemonSampler sampler;
 
     public TeamService(IPokemonRepository pokemonRepository) {
         this.pokemonRepository = pokemonRepository;
@@ -25,24 +26,37 @@ public class TeamService {
 
     /**
      * Generate a random enemy team
-     * Uses the same algorithm from TeamSelectionPanel
+     * Five distinct Pokemon, drawn without reading the Pokedex again
      */
     public Team generateRandomTeam(String trainerName) throws SQLException {
-        List<Pokemon> allPokemon = pokemonRepository.findAll();
-        List<Pokemon> selectedPokemon = new ArrayList<>();
-        List<Integer> usedIndices = new ArrayList<>();
+        return new Team(trainerName, getSampler().sample(MAX_TEAM_SIZE));
+    }
 
-        // Select 5 random Pokemon
-        while (selectedPokemon.size() < MAX_TEAM_SIZE && usedIndices.size() < allPokemon.size()) {
-            int randomIndex = random.nextInt(allPokemon.size());
+    /**
+     * Generate a random team within constraints (type, generation, stat total budget)
+     * @throws IllegalArgumentException If no team meets them
+     */
+    public Team generateRandomTeam(String trainerName, PokemonSampler.Constraints constraints) throws SQLException {
+        return new Team(trainerName, getSampler().sample(MAX_TEAM_SIZE, constraints));
+    }
 
-            if (!usedIndices.contains(randomIndex)) {
-                usedIndices.add(randomIndex);
-                selectedPokemon.add(allPokemon.get(randomIndex));
+    /**
+     * Sampler over the Pokedex, loaded on first use
+     */
+    private PokemonSampler getSampler() throws SQLException {
+        PokemonSampler current = sampler;
+        if (current != null) {
+            return current;
+        }
+        samplerLock.lock();
+        try {
+            if (sampler == null) {
+                sampler = new PokemonSampler(pokemonRepository.findAll());
             }
+            return sampler;
+        } finally {
+            samplerLock.unlock();
         }
-
-        return new Team(trainerName, selectedPokemon);
     }
 
     /**
@@ -1,6 +1,5 @@
 package backend.application.service;
 
-import java.io.File;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.logging.Level;
@@ -9,6 +8,7 @@ import java.util.logging.Logger;
 import backend.domain.model.User;
 import backend.domain.service.IUserRepository;
 import backend.infrastructure.security.PasswordHasher;
+import backend.infrastructure.security.SessionTokens;
 
 /**
  * User service - handles all user-related business logic
@@ -17,65 +17,66 @@ import backend.infrastructure.security.PasswordHasher;
 public class UserService {
     private static final Logger LOGGER = Logger.getLogger(UserService.class.getName());
     private final IUserRepository userRepository;
+    private final SessionTokens sessionTokens;
 
     public UserService(IUserRepository userRepository) {
+        this(userRepository, new SessionTokens());
+    }
+
+    public UserService(IUserRepository userRepository, SessionTokens sessionTokens) {
         this.userRepository = userRepository;
+        this.sessionTokens = sessionTokens;
+    }
+
+    /**
+     * Authenticate with a password and open a session
+     * @return Session token, valid until it expires or the password changes, or null if the
+     *         credentials are wrong
+     */
+    public String login(String username, String password) throws SQLException {
+        return authenticate(username, password) ? sessionTokens.issue(username, password) : null;
+    }
+
+    /**
+     * Authenticate again with the token of an earlier login, skipping BCrypt
+     * The password must still match the one the token was issued for.
+     * @return False if the token expired or was revoked, or the password differs; the caller
+     *         then falls back to login()
+     */
+    public boolean authenticateToken(String username, String password, String token) throws SQLException {
+        if (!sessionTokens.validate(username, password, token)) {
+            return false;
+        }
+        userRepository.updateLastLogin(username);
+        return true;
     }
 
     /**
      * Authenticate a user
-     * Handles both legacy (CryptoDummy) and new (BCrypt) password formats
+     * Every stored password is a BCrypt hash; legacy formats are converted offline by
+     * PasswordMigration (app.MigratePasswords) rather than on login.
      */
     public boolean authenticate(String username, String password) throws SQLException {
         if (!validateUsername(username) || password.isEmpty()) {
             return false;
         }
 
-        // Get stored password
         byte[] storedPasswordBytes = userRepository.getEncryptedPassword(username);
         if (storedPasswordBytes == null) {
             return false;
         }
 
-        // Try as BCrypt hash first (new format)
         String storedPasswordStr = new String(storedPasswordBytes);
-        if (PasswordHasher.isBCryptHash(storedPasswordStr)) {
-            boolean authenticated = PasswordHasher.verifyPassword(password, storedPasswordStr);
-            if (authenticated) {
-                userRepository.updateLastLogin(username);
-            }
-            return authenticated;
-        }
-
-        // Legacy support: Try CryptoDummy format
-        File keyFile = getLegacyCryptoKeyFile(username);
-        if (keyFile.exists()) {
-            try {
-                shared.util.CryptoDummy crypto = new shared.util.CryptoDummy();
-                crypto.geraDecifra(storedPasswordBytes, keyFile);
-                byte[] decryptedPassword = crypto.getTextoDecifrado();
-                String decryptedPasswordStr = new String(decryptedPassword);
-
-                boolean authenticated = decryptedPasswordStr.equals(password);
-                if (authenticated) {
-                    // Migrate to BCrypt
-                    migrateToBCrypt(username, password);
-                    userRepository.updateLastLogin(username);
-                }
-                return authenticated;
-            } catch (Exception ex) {
-                LOGGER.log(Level.WARNING, "Erro ao decifrar senha legada", ex);
-            }
-        }
-
-        // Fallback: plain text (oldest format)
-        if (storedPasswordStr.equals(password)) {
-            migrateToBCrypt(username, password);
-            userRepository.updateLastLogin(username);
-            return true;
+        if (!PasswordHasher.isBCryptHash(storedPasswordStr)) {
+            LOGGER.log(Level.WARNING, "Password of {0} is in a legacy format; run MigratePasswords", username);
+            return false;
         }
 
-        return false;
+        boolean authenticated = PasswordHasher.verifyPassword(password, storedPasswordStr);
+        if (authenticated) {
+            userRepository.updateLastLogin(username);
+        }
+        return authenticated;
     }
 
     /**
@@ -131,9 +132,9 @@ public class UserService {
 
         userRepository.update(currentUsername, newUsername, hashedPassword, isAdmin);
 
-        // Clean up legacy key file if username changed
-        if (!currentUsername.equals(newUsername)) {
-            cleanupLegacyKeyFile(currentUsername);
+        // Sessions were opened with the old password, or name a user that no longer exists
+        if (hashedPassword != null || !currentUsername.equals(newUsername)) {
+            sessionTokens.revokeAll(currentUsername);
         }
     }
 
@@ -142,7 +143,7 @@ public class UserService {
      */
     public void deleteUser(String username) throws SQLException {
         userRepository.delete(username);
-        cleanupLegacyKeyFile(username);
+        sessionTokens.revokeAll(username);
     }
 
     /**
@@ -179,42 +180,4 @@ public class UserService {
         }
         return password.trim().isEmpty() || password.trim().length() >= 6;
     }
-
-    /**
-     * Migrate legacy password to BCrypt
-     */
-    private void migrateToBCrypt(String username, String password) {
-        try {
-            String hashedPassword = PasswordHasher.hashPassword(password);
-            userRepository.update(username, username, hashedPassword.getBytes(), false);
-            cleanupLegacyKeyFile(username);
-            LOGGER.log(Level.INFO, "Migrated password to BCrypt for user: " + username);
-        } catch (Exception ex) {
-            LOGGER.log(Level.WARNING, "Failed to migrate password to BCrypt", ex);
-        }
-    }
-
-    /**
-     * Get legacy CryptoDummy key file
-     */
-    private File getLegacyCryptoKeyFile(String username) {
-        File keysDir = new File("keys");
-        if (!keysDir.exists()) {
-            keysDir.mkdirs();
-        }
-        return new File(keysDir, username + ".key");
-    }
-
-    /**
-     * Clean up legacy key file
-     */
-    private void cleanupLegacyKeyFile(String username) {
-        File keyFile = getLegacyCryptoKeyFile(username);
-        if (keyFile.exists()) {
-            boolean deleted = keyFile.delete();
-            if (deleted) {
-                LOGGER.log(Level.INFO, "Deleted legacy key file: " + keyFile.getName());
-            }
-        }
-    }
 }
@@ -0,0 +1,66 @@
+package backend.domain.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Battle-scoped random source
+ * Each battle owns one, so battles never contend on shared random state, and the same
+ * seed with the same actions replays the same battle (hits, damage rolls, AI picks).
+ *
+ * Not thread-safe: a battle is only ever advanced by one thread at a time.
+ * Use split() to hand an independent stream to another thread.
+ */
+public class BattleRandom {
+    private final long seed;
+    private final SplittableRandom random;
+
+    /**
+     * New random source with a fresh seed
+     */
+    public BattleRandom() {
+        this(newSeed());
+    }
+
+    public BattleRandom(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    private BattleRandom(SplittableRandom random, long seed) {
+        this.seed = seed;
+        this.random = random;
+    }
+
+    /**
+     * Seed this source was created with; log it to reproduce the battle
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return Uniform value in [0, 1)
+     */
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    /**
+     * @return Uniform value in [0, bound)
+     */
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /**
+     * Independent stream derived from this one, deterministic for a given seed
+     */
+    public BattleRandom split() {
+        return new BattleRandom(random.split(), seed);
+    }
+
+    public static long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+}
@@ -11,6 +11,7 @@ public class BattleState {
     private String lastActionMessage;
     private boolean battleEnded;
     private Team winner;
+    private final BattleRandom random;
 
     public enum Turn {
         PLAYER, ENEMY
@@ -26,7 +27,15 @@ public class BattleState {
     }
 
     public BattleState(Team playerTeam, Team enemyTeam) {
+        this(playerTeam, enemyTeam, new BattleRandom());
+    }
+
+    /**
+     * @param random Source for every roll in this battle; reuse a seed to replay it
+     */
+    public BattleState(Team playerTeam, Team enemyTeam, BattleRandom random) {
         this.playerTeam = playerTeam;
+        this.random = random;
         this.enemyTeam = enemyTeam;
         
         // FIXED: Determine first turn based on Speed (like Pokemon games)
@@ -48,6 +57,10 @@ public class BattleState {
         return enemyTeam;
     }
 
+    public BattleRandom getRandom() {
+        return random;
+    }
+
     public Turn getCurrentTurn() {
         return currentTurn;
     }
@@ -1,5 +1,7 @@
 package backend.domain.model;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import shared.util.MoveTranslator;
 
 /**
@@ -10,12 +12,14 @@ public class Move {
     private final String type;
     private final int power;
     private final int accuracy;
+    private final PokemonType pokemonType;
 
     public Move(String name, String type, int power, int accuracy) {
         this.name = name;
         this.type = type;
         this.power = power;
         this.accuracy = accuracy;
+        this.pokemonType = PokemonType.fromName(type);
     }
 
     /**
@@ -38,6 +42,14 @@ public class Move {
         return type;
     }
 
+    /**
+     * Gets the move type resolved for effectiveness lookups
+     * @return The type, or null if the type name is unknown
+     */
+    public PokemonType getPokemonType() {
+        return pokemonType;
+    }
+
     public int getPower() {
         return power;
     }
@@ -49,8 +61,15 @@ public class Move {
     /**
      * Determines if the move hits based on accuracy
      */
+    public boolean hits(BattleRandom random) {
+        return random.nextDouble() * 100 < accuracy;
+    }
+
+    /**
+     * Determines if the move hits, outside of any battle's random source
+     */
     public boolean hits() {
-        return Math.random() * 100 < accuracy;
+        return ThreadLocalRandom.current().nextDouble() * 100 < accuracy;
     }
 
     @Override
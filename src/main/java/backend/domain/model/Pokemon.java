@@ -14,6 +14,9 @@ public class Pokemon {
     private int spDef;
     private int speed;
     private int generation;
+    // Resolved once so battle code never compares type strings
+    private final PokemonType primaryType;
+    private final PokemonType secondaryType;
 
     public Pokemon(int id, String name, String form, String type1, String type2,
                    int total, int hp, int attack, int defense, int spAtk, int spDef, int speed, int generation) {
@@ -30,6 +33,8 @@ public class Pokemon {
         this.spDef = spDef;
         this.speed = speed;
         this.generation = generation;
+        this.primaryType = PokemonType.fromName(type1);
+        this.secondaryType = PokemonType.fromName(type2);
     }
 
     // Getters
@@ -72,4 +77,13 @@ public class Pokemon {
     public int getGeneration() {
         return generation;
     }
+    public PokemonType getPrimaryType() {
+        return primaryType;
+    }
+    /**
+     * @return null for single-typed Pokemon
+     */
+    public PokemonType getSecondaryType() {
+        return secondaryType;
+    }
 }
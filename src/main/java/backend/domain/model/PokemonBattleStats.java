@@ -1,5 +1,7 @@
 package backend.domain.model;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * Pokemon model within the battle
  */
@@ -70,40 +72,63 @@ public class PokemonBattleStats {
     }
 
     /**
-     * Calculate damage this Pokemon would deal with a move against a target
+     * Calculate damage this Pokemon would deal with a move against a target,
+     * outside of any battle's random source
      */
     public int calculateDamage(Move move, PokemonBattleStats target) {
+        return calculateDamage(move, target, ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * Calculate damage this Pokemon would deal with a move against a target
+     */
+    public int calculateDamage(Move move, PokemonBattleStats target, BattleRandom random) {
+        return calculateDamage(move, target, random.nextDouble());
+    }
+
+    private int calculateDamage(Move move, PokemonBattleStats target, double roll) {
         if (move == null || target == null) {
             return 0;
         }
+        return rollDamage(baseDamage(pokemon, move, target.getPokemon()), roll);
+    }
 
+    /**
+     * Damage before the random factor; everything about an attack that does not change
+     * during a battle, so simulations can compute it once per attacker/move/target
+     */
+    public static double baseDamage(Pokemon attacker, Move move, Pokemon target) {
         // Base damage calculation
         double baseDamage = move.getPower();
 
         // Attack/Defense ratio (simplified formula)
-        double attackStat = pokemon.getAttack();
-        double defenseStat = target.getPokemon().getDefense();
+        double attackStat = attacker.getAttack();
+        double defenseStat = target.getDefense();
 
         // Type effectiveness
+        PokemonType moveType = move.getPokemonType();
         double effectiveness = TypeEffectiveness.getTotalEffectiveness(
-            move.getType(),
-            target.getPokemon().getType1(),
-            target.getPokemon().getType2()
+            moveType,
+            target.getPrimaryType(),
+            target.getSecondaryType()
         );
 
         // STAB (Same Type Attack Bonus)
-        boolean stab = move.getType().equals(pokemon.getType1()) ||
-                      move.getType().equals(pokemon.getType2());
+        boolean stab = moveType != null &&
+                      (moveType == attacker.getPrimaryType() || moveType == attacker.getSecondaryType());
         double stabMultiplier = stab ? 1.5 : 1.0;
 
-        // Random factor (85-100%)
-        double randomFactor = 0.85 + (Math.random() * 0.15);
-
-        // Final damage calculation
-        double damage = ((2.0 * 50.0 / 5.0 + 2.0) * baseDamage * (attackStat / defenseStat) / 50.0 + 2.0)
-                       * effectiveness * stabMultiplier * randomFactor;
+        return ((2.0 * 50.0 / 5.0 + 2.0) * baseDamage * (attackStat / defenseStat) / 50.0 + 2.0)
+               * effectiveness * stabMultiplier;
+    }
 
-        return Math.max(1, (int) damage);
+    /**
+     * Apply the random factor (85-100%) to a base damage
+     * @param roll Uniform value in [0, 1)
+     */
+    public static int rollDamage(double baseDamage, double roll) {
+        double randomFactor = 0.85 + (roll * 0.15);
+        return Math.max(1, (int) (baseDamage * randomFactor));
     }
 
     /**
@@ -0,0 +1,66 @@
+package backend.domain.model;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The 18 Pokemon types with dense ordinals, used to index the effectiveness tables
+ * Resolved once when a Pokemon or Move is built instead of comparing strings every attack.
+ */
+public enum PokemonType {
+    NORMAL("Normal"),
+    FIRE("Fire"),
+    WATER("Water"),
+    ELECTRIC("Electric"),
+    GRASS("Grass"),
+    ICE("Ice"),
+    FIGHTING("Fighting"),
+    POISON("Poison"),
+    GROUND("Ground"),
+    FLYING("Flying"),
+    PSYCHIC("Psychic"),
+    BUG("Bug"),
+    ROCK("Rock"),
+    GHOST("Ghost"),
+    DRAGON("Dragon"),
+    DARK("Dark"),
+    STEEL("Steel"),
+    FAIRY("Fairy");
+
+    public static final int COUNT = values().length;
+
+    private static final Map<String, PokemonType> BY_NAME = new HashMap<>();
+
+    static {
+        for (PokemonType type : values()) {
+            BY_NAME.put(type.displayName, type);
+            BY_NAME.put(type.displayName.toLowerCase(Locale.ROOT), type);
+        }
+    }
+
+    private final String displayName;
+
+    PokemonType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Name as stored in pokedex.db ("Fire", "Water"...)
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Resolve a type name, ignoring case (pokedex.db capitalises, movesData.json does not)
+     * @return The type, or null for null, empty or unknown names
+     */
+    public static PokemonType fromName(String name) {
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+        PokemonType type = BY_NAME.get(name);
+        return type != null ? type : BY_NAME.get(name.toLowerCase(Locale.ROOT));
+    }
+}
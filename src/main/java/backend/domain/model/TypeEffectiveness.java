@@ -1,213 +1,244 @@
 package backend.domain.model;
 
-import java.util.HashMap;
-import java.util.Map;
+import static backend.domain.model.PokemonType.*;
+
+import java.util.Arrays;
 
 import shared.util.I18n;
 
 /**
  * Encapsulates Pokemon type effectiveness chart
  * Handles damage multipliers based on attacking type vs defending type
+ *
+ * The chart is a dense array indexed by PokemonType ordinal, and every attack/defender
+ * combination is precomputed, so a lookup is a single array read.
  */
 public class TypeEffectiveness {
-    private static final Map<String, Map<String, Double>> EFFECTIVENESS_CHART = new HashMap<>();
+    private static final int TYPES = PokemonType.COUNT;
+    // Slot used in the dual-type table when the defender has no second type
+    private static final int NO_TYPE = TYPES;
+
+    // [attack * TYPES + defend]
+    private static final float[] CHART = new float[TYPES * TYPES];
+    // [(attack * TYPES + defend1) * (TYPES + 1) + defend2], defend2 may be NO_TYPE
+    private static final float[] DUAL_CHART = new float[TYPES * TYPES * (TYPES + 1)];
 
     static {
+        Arrays.fill(CHART, 1.0f);
         initializeChart();
+        for (int attack = 0; attack < TYPES; attack++) {
+            for (int defend1 = 0; defend1 < TYPES; defend1++) {
+                float single = CHART[attack * TYPES + defend1];
+                int base = (attack * TYPES + defend1) * (TYPES + 1);
+                for (int defend2 = 0; defend2 < TYPES; defend2++) {
+                    DUAL_CHART[base + defend2] = single * CHART[attack * TYPES + defend2];
+                }
+                DUAL_CHART[base + NO_TYPE] = single;
+            }
+        }
     }
 
     private static void initializeChart() {
         // Normal
-        addEffectiveness("Normal", "Rock", 0.5);
-        addEffectiveness("Normal", "Ghost", 0.0);
-        addEffectiveness("Normal", "Steel", 0.5);
+        addEffectiveness(NORMAL, ROCK, 0.5f);
+        addEffectiveness(NORMAL, GHOST, 0.0f);
+        addEffectiveness(NORMAL, STEEL, 0.5f);
 
         // Fire
-        addEffectiveness("Fire", "Fire", 0.5);
-        addEffectiveness("Fire", "Water", 0.5);
-        addEffectiveness("Fire", "Grass", 2.0);
-        addEffectiveness("Fire", "Ice", 2.0);
-        addEffectiveness("Fire", "Bug", 2.0);
-        addEffectiveness("Fire", "Rock", 0.5);
-        addEffectiveness("Fire", "Dragon", 0.5);
-        addEffectiveness("Fire", "Steel", 2.0);
+        addEffectiveness(FIRE, FIRE, 0.5f);
+        addEffectiveness(FIRE, WATER, 0.5f);
+        addEffectiveness(FIRE, GRASS, 2.0f);
+        addEffectiveness(FIRE, ICE, 2.0f);
+        addEffectiveness(FIRE, BUG, 2.0f);
+        addEffectiveness(FIRE, ROCK, 0.5f);
+        addEffectiveness(FIRE, DRAGON, 0.5f);
+        addEffectiveness(FIRE, STEEL, 2.0f);
 
         // Water
-        addEffectiveness("Water", "Fire", 2.0);
-        addEffectiveness("Water", "Water", 0.5);
-        addEffectiveness("Water", "Grass", 0.5);
-        addEffectiveness("Water", "Ground", 2.0);
-        addEffectiveness("Water", "Rock", 2.0);
-        addEffectiveness("Water", "Dragon", 0.5);
+        addEffectiveness(WATER, FIRE, 2.0f);
+        addEffectiveness(WATER, WATER, 0.5f);
+        addEffectiveness(WATER, GRASS, 0.5f);
+        addEffectiveness(WATER, GROUND, 2.0f);
+        addEffectiveness(WATER, ROCK, 2.0f);
+        addEffectiveness(WATER, DRAGON, 0.5f);
 
         // Electric
-        addEffectiveness("Electric", "Water", 2.0);
-        addEffectiveness("Electric", "Electric", 0.5);
-        addEffectiveness("Electric", "Grass", 0.5);
-        addEffectiveness("Electric", "Ground", 0.0);
-        addEffectiveness("Electric", "Flying", 2.0);
-        addEffectiveness("Electric", "Dragon", 0.5);
+        addEffectiveness(ELECTRIC, WATER, 2.0f);
+        addEffectiveness(ELECTRIC, ELECTRIC, 0.5f);
+        addEffectiveness(ELECTRIC, GRASS, 0.5f);
+        addEffectiveness(ELECTRIC, GROUND, 0.0f);
+        addEffectiveness(ELECTRIC, FLYING, 2.0f);
+        addEffectiveness(ELECTRIC, DRAGON, 0.5f);
 
         // Grass
-        addEffectiveness("Grass", "Fire", 0.5);
-        addEffectiveness("Grass", "Water", 2.0);
-        addEffectiveness("Grass", "Grass", 0.5);
-        addEffectiveness("Grass", "Poison", 0.5);
-        addEffectiveness("Grass", "Ground", 2.0);
-        addEffectiveness("Grass", "Flying", 0.5);
-        addEffectiveness("Grass", "Bug", 0.5);
-        addEffectiveness("Grass", "Rock", 2.0);
-        addEffectiveness("Grass", "Dragon", 0.5);
-        addEffectiveness("Grass", "Steel", 0.5);
+        addEffectiveness(GRASS, FIRE, 0.5f);
+        addEffectiveness(GRASS, WATER, 2.0f);
+        addEffectiveness(GRASS, GRASS, 0.5f);
+        addEffectiveness(GRASS, POISON, 0.5f);
+        addEffectiveness(GRASS, GROUND, 2.0f);
+        addEffectiveness(GRASS, FLYING, 0.5f);
+        addEffectiveness(GRASS, BUG, 0.5f);
+        addEffectiveness(GRASS, ROCK, 2.0f);
+        addEffectiveness(GRASS, DRAGON, 0.5f);
+        addEffectiveness(GRASS, STEEL, 0.5f);
 
         // Ice
-        addEffectiveness("Ice", "Fire", 0.5);
-        addEffectiveness("Ice", "Water", 0.5);
-        addEffectiveness("Ice", "Grass", 2.0);
-        addEffectiveness("Ice", "Ice", 0.5);
-        addEffectiveness("Ice", "Ground", 2.0);
-        addEffectiveness("Ice", "Flying", 2.0);
-        addEffectiveness("Ice", "Dragon", 2.0);
-        addEffectiveness("Ice", "Steel", 0.5);
+        addEffectiveness(ICE, FIRE, 0.5f);
+        addEffectiveness(ICE, WATER, 0.5f);
+        addEffectiveness(ICE, GRASS, 2.0f);
+        addEffectiveness(ICE, ICE, 0.5f);
+        addEffectiveness(ICE, GROUND, 2.0f);
+        addEffectiveness(ICE, FLYING, 2.0f);
+        addEffectiveness(ICE, DRAGON, 2.0f);
+        addEffectiveness(ICE, STEEL, 0.5f);
 
         // Fighting
-        addEffectiveness("Fighting", "Normal", 2.0);
-        addEffectiveness("Fighting", "Ice", 2.0);
-        addEffectiveness("Fighting", "Poison", 0.5);
-        addEffectiveness("Fighting", "Flying", 0.5);
-        addEffectiveness("Fighting", "Psychic", 0.5);
-        addEffectiveness("Fighting", "Bug", 0.5);
-        addEffectiveness("Fighting", "Rock", 2.0);
-        addEffectiveness("Fighting", "Ghost", 0.0);
-        addEffectiveness("Fighting", "Dark", 2.0);
-        addEffectiveness("Fighting", "Steel", 2.0);
-        addEffectiveness("Fighting", "Fairy", 0.5);
+        addEffectiveness(FIGHTING, NORMAL, 2.0f);
+        addEffectiveness(FIGHTING, ICE, 2.0f);
+        addEffectiveness(FIGHTING, POISON, 0.5f);
+        addEffectiveness(FIGHTING, FLYING, 0.5f);
+        addEffectiveness(FIGHTING, PSYCHIC, 0.5f);
+        addEffectiveness(FIGHTING, BUG, 0.5f);
+        addEffectiveness(FIGHTING, ROCK, 2.0f);
+        addEffectiveness(FIGHTING, GHOST, 0.0f);
+        addEffectiveness(FIGHTING, DARK, 2.0f);
+        addEffectiveness(FIGHTING, STEEL, 2.0f);
+        addEffectiveness(FIGHTING, FAIRY, 0.5f);
 
         // Poison
-        addEffectiveness("Poison", "Grass", 2.0);
-        addEffectiveness("Poison", "Poison", 0.5);
-        addEffectiveness("Poison", "Ground", 0.5);
-        addEffectiveness("Poison", "Rock", 0.5);
-        addEffectiveness("Poison", "Ghost", 0.5);
-        addEffectiveness("Poison", "Steel", 0.0);
-        addEffectiveness("Poison", "Fairy", 2.0);
+        addEffectiveness(POISON, GRASS, 2.0f);
+        addEffectiveness(POISON, POISON, 0.5f);
+        addEffectiveness(POISON, GROUND, 0.5f);
+        addEffectiveness(POISON, ROCK, 0.5f);
+        addEffectiveness(POISON, GHOST, 0.5f);
+        addEffectiveness(POISON, STEEL, 0.0f);
+        addEffectiveness(POISON, FAIRY, 2.0f);
 
         // Ground
-        addEffectiveness("Ground", "Fire", 2.0);
-        addEffectiveness("Ground", "Electric", 2.0);
-        addEffectiveness("Ground", "Grass", 0.5);
-        addEffectiveness("Ground", "Poison", 2.0);
-        addEffectiveness("Ground", "Flying", 0.0);
-        addEffectiveness("Ground", "Bug", 0.5);
-        addEffectiveness("Ground", "Rock", 2.0);
-        addEffectiveness("Ground", "Steel", 2.0);
+        addEffectiveness(GROUND, FIRE, 2.0f);
+        addEffectiveness(GROUND, ELECTRIC, 2.0f);
+        addEffectiveness(GROUND, GRASS, 0.5f);
+        addEffectiveness(GROUND, POISON, 2.0f);
+        addEffectiveness(GROUND, FLYING, 0.0f);
+        addEffectiveness(GROUND, BUG, 0.5f);
+        addEffectiveness(GROUND, ROCK, 2.0f);
+        addEffectiveness(GROUND, STEEL, 2.0f);
 
         // Flying
-        addEffectiveness("Flying", "Electric", 0.5);
-        addEffectiveness("Flying", "Grass", 2.0);
-        addEffectiveness("Flying", "Fighting", 2.0);
-        addEffectiveness("Flying", "Bug", 2.0);
-        addEffectiveness("Flying", "Rock", 0.5);
-        addEffectiveness("Flying", "Steel", 0.5);
+        addEffectiveness(FLYING, ELECTRIC, 0.5f);
+        addEffectiveness(FLYING, GRASS, 2.0f);
+        addEffectiveness(FLYING, FIGHTING, 2.0f);
+        addEffectiveness(FLYING, BUG, 2.0f);
+        addEffectiveness(FLYING, ROCK, 0.5f);
+        addEffectiveness(FLYING, STEEL, 0.5f);
 
         // Psychic
-        addEffectiveness("Psychic", "Fighting", 2.0);
-        addEffectiveness("Psychic", "Poison", 2.0);
-        addEffectiveness("Psychic", "Psychic", 0.5);
-        addEffectiveness("Psychic", "Dark", 0.0);
-        addEffectiveness("Psychic", "Steel", 0.5);
+        addEffectiveness(PSYCHIC, FIGHTING, 2.0f);
+        addEffectiveness(PSYCHIC, POISON, 2.0f);
+        addEffectiveness(PSYCHIC, PSYCHIC, 0.5f);
+        addEffectiveness(PSYCHIC, DARK, 0.0f);
+        addEffectiveness(PSYCHIC, STEEL, 0.5f);
 
         // Bug
-        addEffectiveness("Bug", "Fire", 0.5);
-        addEffectiveness("Bug", "Grass", 2.0);
-        addEffectiveness("Bug", "Fighting", 0.5);
-        addEffectiveness("Bug", "Poison", 0.5);
-        addEffectiveness("Bug", "Flying", 0.5);
-        addEffectiveness("Bug", "Psychic", 2.0);
-        addEffectiveness("Bug", "Ghost", 0.5);
-        addEffectiveness("Bug", "Dark", 2.0);
-        addEffectiveness("Bug", "Steel", 0.5);
-        addEffectiveness("Bug", "Fairy", 0.5);
+        addEffectiveness(BUG, FIRE, 0.5f);
+        addEffectiveness(BUG, GRASS, 2.0f);
+        addEffectiveness(BUG, FIGHTING, 0.5f);
+        addEffectiveness(BUG, POISON, 0.5f);
+        addEffectiveness(BUG, FLYING, 0.5f);
+        addEffectiveness(BUG, PSYCHIC, 2.0f);
+        addEffectiveness(BUG, GHOST, 0.5f);
+        addEffectiveness(BUG, DARK, 2.0f);
+        addEffectiveness(BUG, STEEL, 0.5f);
+        addEffectiveness(BUG, FAIRY, 0.5f);
 
         // Rock
-        addEffectiveness("Rock", "Fire", 2.0);
-        addEffectiveness("Rock", "Ice", 2.0);
-        addEffectiveness("Rock", "Fighting", 0.5);
-        addEffectiveness("Rock", "Ground", 0.5);
-        addEffectiveness("Rock", "Flying", 2.0);
-        addEffectiveness("Rock", "Bug", 2.0);
-        addEffectiveness("Rock", "Steel", 0.5);
+        addEffectiveness(ROCK, FIRE, 2.0f);
+        addEffectiveness(ROCK, ICE, 2.0f);
+        addEffectiveness(ROCK, FIGHTING, 0.5f);
+        addEffectiveness(ROCK, GROUND, 0.5f);
+        addEffectiveness(ROCK, FLYING, 2.0f);
+        addEffectiveness(ROCK, BUG, 2.0f);
+        addEffectiveness(ROCK, STEEL, 0.5f);
 
         // Ghost
-        addEffectiveness("Ghost", "Normal", 0.0);
-        addEffectiveness("Ghost", "Psychic", 2.0);
-        addEffectiveness("Ghost", "Ghost", 2.0);
-        addEffectiveness("Ghost", "Dark", 0.5);
+        addEffectiveness(GHOST, NORMAL, 0.0f);
+        addEffectiveness(GHOST, PSYCHIC, 2.0f);
+        addEffectiveness(GHOST, GHOST, 2.0f);
+        addEffectiveness(GHOST, DARK, 0.5f);
 
         // Dragon
-        addEffectiveness("Dragon", "Dragon", 2.0);
-        addEffectiveness("Dragon", "Steel", 0.5);
-        addEffectiveness("Dragon", "Fairy", 0.0);
+        addEffectiveness(DRAGON, DRAGON, 2.0f);
+        addEffectiveness(DRAGON, STEEL, 0.5f);
+        addEffectiveness(DRAGON, FAIRY, 0.0f);
 
         // Dark
-        addEffectiveness("Dark", "Fighting", 0.5);
-        addEffectiveness("Dark", "Psychic", 2.0);
-        addEffectiveness("Dark", "Ghost", 2.0);
-        addEffectiveness("Dark", "Dark", 0.5);
-        addEffectiveness("Dark", "Fairy", 0.5);
+        addEffectiveness(DARK, FIGHTING, 0.5f);
+        addEffectiveness(DARK, PSYCHIC, 2.0f);
+        addEffectiveness(DARK, GHOST, 2.0f);
+        addEffectiveness(DARK, DARK, 0.5f);
+        addEffectiveness(DARK, FAIRY, 0.5f);
 
         // Steel
-        addEffectiveness("Steel", "Fire", 0.5);
-        addEffectiveness("Steel", "Water", 0.5);
-        addEffectiveness("Steel", "Electric", 0.5);
-        addEffectiveness("Steel", "Ice", 2.0);
-        addEffectiveness("Steel", "Rock", 2.0);
-        addEffectiveness("Steel", "Steel", 0.5);
-        addEffectiveness("Steel", "Fairy", 2.0);
+        addEffectiveness(STEEL, FIRE, 0.5f);
+        addEffectiveness(STEEL, WATER, 0.5f);
+        addEffectiveness(STEEL, ELECTRIC, 0.5f);
+        addEffectiveness(STEEL, ICE, 2.0f);
+        addEffectiveness(STEEL, ROCK, 2.0f);
+        addEffectiveness(STEEL, STEEL, 0.5f);
+        addEffectiveness(STEEL, FAIRY, 2.0f);
 
         // Fairy
-        addEffectiveness("Fairy", "Fire", 0.5);
-        addEffectiveness("Fairy", "Fighting", 2.0);
-        addEffectiveness("Fairy", "Poison", 0.5);
-        addEffectiveness("Fairy", "Dragon", 2.0);
-        addEffectiveness("Fairy", "Dark", 2.0);
-        addEffectiveness("Fairy", "Steel", 0.5);
+        addEffectiveness(FAIRY, FIRE, 0.5f);
+        addEffectiveness(FAIRY, FIGHTING, 2.0f);
+        addEffectiveness(FAIRY, POISON, 0.5f);
+        addEffectiveness(FAIRY, DRAGON, 2.0f);
+        addEffectiveness(FAIRY, DARK, 2.0f);
+        addEffectiveness(FAIRY, STEEL, 0.5f);
     }
 
-    private static void addEffectiveness(String attackType, String defendType, double multiplier) {
-        EFFECTIVENESS_CHART.computeIfAbsent(attackType, k -> new HashMap<>()).put(defendType, multiplier);
+    private static void addEffectiveness(PokemonType attackType, PokemonType defendType, float multiplier) {
+        CHART[attackType.ordinal() * TYPES + defendType.ordinal()] = multiplier;
     }
 
     /**
      * Gets the type effectiveness multiplier for an attack type against a defending type
-     * @param attackType The type of the attacking move
-     * @param defendType The type of the defending Pokemon
-     * @return Multiplier (0.0, 0.5, 1.0, or 2.0)
+     * @return Multiplier (0.0, 0.5, 1.0, or 2.0); 1.0 if either type is null
      */
-    public static double getMultiplier(String attackType, String defendType) {
+    public static double getMultiplier(PokemonType attackType, PokemonType defendType) {
         if (attackType == null || defendType == null) {
             return 1.0;
         }
+        return CHART[attackType.ordinal() * TYPES + defendType.ordinal()];
+    }
 
-        Map<String, Double> typeMap = EFFECTIVENESS_CHART.get(attackType);
-        if (typeMap == null) {
+    /**
+     * Gets total effectiveness against a Pokemon with one or two types
+     * @param defendType2 null for single-typed Pokemon
+     */
+    public static double getTotalEffectiveness(PokemonType attackType, PokemonType defendType1, PokemonType defendType2) {
+        if (attackType == null) {
             return 1.0;
         }
+        if (defendType1 == null) {
+            return getMultiplier(attackType, defendType2);
+        }
+        int defend2 = defendType2 == null ? NO_TYPE : defendType2.ordinal();
+        return DUAL_CHART[(attackType.ordinal() * TYPES + defendType1.ordinal()) * (TYPES + 1) + defend2];
+    }
 
-        return typeMap.getOrDefault(defendType, 1.0);
+    /**
+     * String adapter for getMultiplier; unknown type names count as neutral
+     */
+    public static double getMultiplier(String attackType, String defendType) {
+        return getMultiplier(PokemonType.fromName(attackType), PokemonType.fromName(defendType));
     }
 
     /**
-     * Gets total effectiveness against a Pokemon with one or two types
+     * String adapter for getTotalEffectiveness; prefer the PokemonType overload on hot paths
      */
     public static double getTotalEffectiveness(String attackType, String defendType1, String defendType2) {
-        double multiplier = getMultiplier(attackType, defendType1);
-
-        if (defendType2 != null && !defendType2.isEmpty()) {
-            multiplier *= getMultiplier(attackType, defendType2);
-        }
-
-        return multiplier;
+        return getTotalEffectiveness(PokemonType.fromName(attackType),
+            PokemonType.fromName(defendType1), PokemonType.fromName(defendType2));
     }
 
     /**
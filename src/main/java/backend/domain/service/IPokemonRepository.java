@@ -33,6 +33,11 @@ public interface IPokemonRepository {
      */
     List<Pokemon> findWithFilters(String filters, List<Object> params) throws SQLException;
 
+    /**
+     * Find Pokemon matching every criterion set in the filter, ordered by ID
+     */
+    List<Pokemon> findMatching(PokemonFilter filter) throws SQLException;
+
     /**
      * Get random Pokemon
      */
@@ -63,4 +68,16 @@ public interface IPokemonRepository {
      */
     record AttributeMaxValues(int maxHP, int maxAttack, int maxDefense,
                               int maxSpAtk, int maxSpDef, int maxSpeed) {}
+
+    /**
+     * Record to hold Pokedex search criteria; null means no limit
+     * Type matches either of a Pokemon's types, stat bounds are inclusive.
+     */
+    record PokemonFilter(Integer id, String type,
+                         Integer minHP, Integer maxHP,
+                         Integer minAttack, Integer maxAttack,
+                         Integer minDefense, Integer maxDefense,
+                         Integer minSpAtk, Integer maxSpAtk,
+                         Integer minSpDef, Integer maxSpDef,
+                         Integer minSpeed, Integer maxSpeed) {}
 }
@@ -0,0 +1,245 @@
+package backend.domain.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+import backend.domain.model.Pokemon;
+
+/**
+ * Pokemon sampler - random distinct Pokemon from a fixed Pokedex without rejection loops
+ *
+ * Draws use a partial Fisher-Yates shuffle that only touches the k positions it picks,
+ * so a team costs O(k) random numbers no matter how large the Pokedex is, and never
+ * retries a duplicate. Constrained draws sample from a pool pre-filtered by type and
+ * generation and sorted by base stat total; a stat budget narrows each pick to the
+ * cheapest prefix that still leaves room for the remaining slots.
+ *
+ * Thread-safe: pools are immutable once built and each thread draws from its own RNG.
+ */
+public class PokemonSampler {
+    private final Pokemon[] all;
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+    public PokemonSampler(List<Pokemon> pokemon) {
+        this.all = pokemon.toArray(new Pokemon[0]);
+    }
+
+    public int size() {
+        return all.length;
+    }
+
+    /**
+     * Up to count distinct Pokemon, uniformly at random
+     */
+    public List<Pokemon> sample(int count) {
+        int k = Math.min(count, all.length);
+        int[] picks = sampleIndices(all.length, k, ThreadLocalRandom.current());
+        List<Pokemon> result = new ArrayList<>(k);
+        for (int index : picks) {
+            result.add(all[index]);
+        }
+        return result;
+    }
+
+    /**
+     * Exactly count distinct Pokemon meeting the constraints, uniformly at random at each pick
+     *
+     * @throws IllegalArgumentException If no such team exists
+     */
+    public List<Pokemon> sample(int count, Constraints constraints) {
+        Pool pool = pools.computeIfAbsent(constraints.poolKey(), key -> new Pool(all, constraints));
+        if (pool.pokemon.length < count) {
+            throw new IllegalArgumentException("Only " + pool.pokemon.length + " Pokemon match " + constraints);
+        }
+        RandomGenerator random = ThreadLocalRandom.current();
+        if (constraints.maxTotal == null) {
+            List<Pokemon> result = new ArrayList<>(count);
+            for (int index : sampleIndices(pool.pokemon.length, count, random)) {
+                result.add(pool.pokemon[index]);
+            }
+            return result;
+        }
+        return sampleWithBudget(pool, count, constraints.maxTotal, random);
+    }
+
+    /**
+     * k distinct indices from [0, n) in random order - a Fisher-Yates shuffle stopped after k swaps
+     * Only swapped slots are stored (at most k of them), so nothing of size n is allocated.
+     */
+    public static int[] sampleIndices(int n, int k, RandomGenerator random) {
+        if (k < 0 || k > n) {
+            throw new IllegalArgumentException("Cannot pick " + k + " of " + n);
+        }
+        int[] result = new int[k];
+        // Slot j currently holds displacedValues[t] if displacedSlots[t] == j, else j
+        int[] displacedSlots = new int[k];
+        int[] displacedValues = new int[k];
+        int displaced = 0;
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(n - i);
+            int atJ = j;
+            int atI = i;
+            int slotJ = -1;
+            for (int t = 0; t < displaced; t++) {
+                if (displacedSlots[t] == j) {
+                    atJ = displacedValues[t];
+                    slotJ = t;
+                }
+                if (displacedSlots[t] == i) {
+                    atI = displacedValues[t];
+                }
+            }
+            result[i] = atJ;
+            // Slot i is never drawn from again, so only slot j needs to remember the swap
+            if (slotJ >= 0) {
+                displacedValues[slotJ] = atI;
+            } else {
+                displacedSlots[displaced] = j;
+                displacedValues[displaced++] = atI;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Each pick is uniform over the unpicked Pokemon that leave the rest of the team affordable
+     *
+     * Those form a prefix of the pool (sorted by total) that ends where a Pokemon's total plus
+     * the cheapest completion of the team would exceed the budget.
+     */
+    private static List<Pokemon> sampleWithBudget(Pool pool, int count, int budget, RandomGenerator random) {
+        int[] totals = pool.totals;
+        long minimum = 0;
+        for (int rank = 0; rank < count; rank++) {
+            minimum += totals[rank];
+        }
+        if (minimum > budget) {
+            throw new IllegalArgumentException("No team of " + count + " fits a stat total budget of " + budget);
+        }
+        // Ranks in the pool already picked, kept sorted
+        int[] picked = new int[count];
+        int remaining = budget;
+        List<Pokemon> result = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            // Cheapest way to fill the slots after this one
+            int rest = count - i - 1;
+            long cheapest = 0;
+            int taken = 0;
+            for (int rank = 0, p = 0; taken < rest; rank++) {
+                if (p < i && picked[p] == rank) {
+                    p++;
+                } else {
+                    cheapest += totals[rank];
+                    taken++;
+                }
+            }
+            long limit = remaining - cheapest;
+            int eligible = upperBound(totals, limit);
+            int pickedBelow = 0;
+            while (pickedBelow < i && picked[pickedBelow] < eligible) {
+                pickedBelow++;
+            }
+
+            // The n-th unpicked rank: step over picked ranks at or below it
+            int rank = random.nextInt(eligible - pickedBelow);
+            int insertAt = 0;
+            while (insertAt < i && picked[insertAt] <= rank) {
+                rank++;
+                insertAt++;
+            }
+            System.arraycopy(picked, insertAt, picked, insertAt + 1, i - insertAt);
+            picked[insertAt] = rank;
+
+            remaining -= totals[rank];
+            result.add(pool.pokemon[rank]);
+        }
+        return result;
+    }
+
+    /**
+     * Number of sorted values at most limit
+     */
+    private static int upperBound(int[] sorted, long limit) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= limit) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Pokemon matching a type and generation, sorted by base stat total
+     */
+    private static final class Pool {
+        private final Pokemon[] pokemon;
+        private final int[] totals;
+
+        Pool(Pokemon[] all, Constraints constraints) {
+            pokemon = Arrays.stream(all)
+                .filter(constraints::matches)
+                .sorted(Comparator.comparingInt(Pokemon::getTotal))
+                .toArray(Pokemon[]::new);
+            totals = new int[pokemon.length];
+            for (int i = 0; i < pokemon.length; i++) {
+                totals[i] = pokemon[i].getTotal();
+            }
+        }
+    }
+
+    /**
+     * What a sampled team must satisfy; unset means unconstrained. Members are always distinct.
+     */
+    public static class Constraints {
+        private String type;
+        private Integer generation;
+        private Integer maxTotal;
+
+        /**
+         * Every member has this type as Type1 or Type2
+         */
+        public Constraints type(String type) {
+            this.type = type;
+            return this;
+        }
+
+        public Constraints generation(int generation) {
+            this.generation = generation;
+            return this;
+        }
+
+        /**
+         * Base stat totals of the team add up to at most this
+         */
+        public Constraints maxTotal(int maxTotal) {
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        boolean matches(Pokemon pokemon) {
+            return (type == null || type.equals(pokemon.getType1()) || type.equals(pokemon.getType2()))
+                && (generation == null || generation == pokemon.getGeneration());
+        }
+
+        String poolKey() {
+            return type + "|" + generation;
+        }
+
+        @Override
+        public String toString() {
+            return "type=" + type + ", generation=" + generation + ", maxTotal=" + maxTotal;
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package backend.infrastructure;
 
-import java.sql.Connection;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import backend.application.service.AuthenticationService;
 import backend.application.service.BattleService;
+import backend.application.service.MatchupMatrix;
+import backend.application.service.MonteCarloBattleAI;
 import backend.application.service.PokemonService;
+import backend.application.service.TeamOptimizer;
 import backend.application.service.TeamService;
 import backend.application.service.UserService;
 import backend.domain.service.IPokemonRepository;
 import backend.domain.service.IUserRepository;
+import backend.infrastructure.database.CachingUserRepository;
+import backend.infrastructure.database.LastLoginBuffer;
+import backend.infrastructure.database.PokedexSnapshot;
 import backend.infrastructure.database.PokemonRepository;
 import backend.infrastructure.database.UserRepository;
 import backend.infrastructure.persistence.ConnectionManager;
@@ -26,16 +33,20 @@ public class ServiceLocator {
     // Database names
     private static final String USER_DB = "Usuarios.db";
     private static final String POKEDEX_DB = "pokedex.db";
+    private static final String MATCHUP_FILE = MatchupMatrix.DEFAULT_FILE;
 
     // Services
     private UserService userService;
+    private AuthenticationService authenticationService;
     private PokemonService pokemonService;
     private TeamService teamService;
+    private TeamOptimizer teamOptimizer;
     private BattleService battleService;
 
     // Repositories
     private IUserRepository userRepository;
     private IPokemonRepository pokemonRepository;
+    private LastLoginBuffer lastLoginBuffer;
 
     // Connection Manager
     private final ConnectionManager connectionManager;
@@ -59,17 +70,22 @@ public class ServiceLocator {
 
     private void initializeServices() throws SQLException {
         // Initialize repositories
-        Connection userConn = connectionManager.getConnection(USER_DB);
-        Connection pokedexConn = connectionManager.getConnection(POKEDEX_DB);
-
-        userRepository = new UserRepository(userConn);
-        pokemonRepository = new PokemonRepository(pokedexConn);
+        // Logins only note their timestamp; it reaches the database in batches
+        lastLoginBuffer = new LastLoginBuffer(connectionManager.getPool(USER_DB));
+        // Logins and admin checks look up the same few users over and over
+        userRepository = new CachingUserRepository(
+            new UserRepository(connectionManager.getPool(USER_DB), lastLoginBuffer));
+        // The Pokedex never changes at runtime, so filters and team generation read it from memory
+        pokemonRepository = new PokedexSnapshot(new PokemonRepository(connectionManager.getPool(POKEDEX_DB)));
 
         // Initialize services
+        battleService = new BattleService();
+        battleService.setEnemyAI(new MonteCarloBattleAI(battleService));
         userService = new UserService(userRepository);
-        pokemonService = new PokemonService(pokemonRepository);
+        authenticationService = new AuthenticationService(userService);
+        pokemonService = new PokemonService(pokemonRepository, battleService, Paths.get(MATCHUP_FILE));
         teamService = new TeamService(pokemonRepository);
-        battleService = new BattleService();
+        teamOptimizer = new TeamOptimizer(pokemonRepository, battleService);
 
         LOGGER.log(Level.INFO, "All services initialized successfully");
     }
@@ -78,6 +94,10 @@ public class ServiceLocator {
         return userService;
     }
 
+    public AuthenticationService getAuthenticationService() {
+        return authenticationService;
+    }
+
     public PokemonService getPokemonService() {
         return pokemonService;
     }
@@ -86,6 +106,10 @@ public class ServiceLocator {
         return teamService;
     }
 
+    public TeamOptimizer getTeamOptimizer() {
+        return teamOptimizer;
+    }
+
     public BattleService getBattleService() {
         return battleService;
     }
@@ -102,10 +126,18 @@ public class ServiceLocator {
         return pokemonRepository;
     }
 
+    public LastLoginBuffer getLastLoginBuffer() {
+        return lastLoginBuffer;
+    }
+
     /**
      * Cleanup all resources
      */
     public void shutdown() {
+        authenticationService.close();
+        // After logins stop and before the pools close, so every pending timestamp is written
+        lastLoginBuffer.close();
+        LOGGER.log(Level.INFO, "User cache: {0}", userRepository);
         connectionManager.closeAll();
         LOGGER.log(Level.INFO, "ServiceLocator shutdown complete");
     }
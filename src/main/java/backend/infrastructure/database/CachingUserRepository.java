@@ -0,0 +1,282 @@
+package backend.infrastructure.database;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import backend.domain.model.User;
+import backend.domain.service.IUserRepository;
+
+/**
+ * Caching user repository - read-through cache of user rows in front of UserRepository
+ *
+ * A miss loads the whole row (name, password, admin flag, dates) in one query, and every
+ * per-column lookup after it (exists, getEncryptedPassword, isAdmin, findByUsername) is
+ * answered from memory until the entry expires. Unknown names are cached too, so a
+ * registration checking a free name costs one query. Writes go straight to the database
+ * and drop the affected entries; a load that raced with a write is not cached.
+ * The least recently used entry is dropped when the cache is full.
+ *
+ * findAll is not cached. Changes made to the database by another process show up within
+ * one time-to-live.
+ */
+public class CachingUserRepository implements IUserRepository {
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final UserRepository source;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access order, eldest first; guarded by lock
+    private final LinkedHashMap<String, Entry> entries;
+    // Bumped on every write, so loads that started before it are not cached; guarded by lock
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public CachingUserRepository(UserRepository source) {
+        this(source, DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * @param maxEntries Users kept in memory at most
+     * @param ttlMillis How long a cached row is trusted after it was read
+     */
+    public CachingUserRepository(UserRepository source, int maxEntries, long ttlMillis) {
+        if (maxEntries < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Cache size and lifetime must be positive");
+        }
+        this.source = source;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                boolean full = size() > CachingUserRepository.this.maxEntries;
+                if (full) {
+                    evictions.increment();
+                }
+                return full;
+            }
+        };
+    }
+
+    @Override
+    public User findByUsername(String username) throws SQLException {
+        UserRepository.Account account = load(username);
+        return account != null ? account.getUser() : null;
+    }
+
+    @Override
+    public List<User> findAll(String searchTerm) throws SQLException {
+        return source.findAll(searchTerm);
+    }
+
+    @Override
+    public void create(String username, byte[] encryptedPassword, boolean isAdmin) throws SQLException {
+        try {
+            source.create(username, encryptedPassword, isAdmin);
+        } finally {
+            invalidate(username);
+        }
+    }
+
+    @Override
+    public void update(String currentUsername, String newUsername, byte[] encryptedPassword, boolean isAdmin) throws SQLException {
+        try {
+            source.update(currentUsername, newUsername, encryptedPassword, isAdmin);
+        } finally {
+            invalidate(currentUsername, newUsername);
+        }
+    }
+
+    @Override
+    public void delete(String username) throws SQLException {
+        try {
+            source.delete(username);
+        } finally {
+            invalidate(username);
+        }
+    }
+
+    @Override
+    public void updateLastLogin(String username) throws SQLException {
+        source.updateLastLogin(username);
+        // Keep the entry, only its login time changed
+        LocalDateTime now = LocalDateTime.now();
+        lock.lock();
+        try {
+            Entry entry = entries.get(username);
+            if (entry != null && entry.account != null) {
+                User user = entry.account.getUser();
+                User touched = new User(user.getUsername(), "", user.isAdmin(), now, user.getAccountCreated());
+                entries.put(username, new Entry(
+                    new UserRepository.Account(touched, entry.account.getEncryptedPassword()), entry.expiresAt));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean exists(String username) throws SQLException {
+        return load(username) != null;
+    }
+
+    @Override
+    public byte[] getEncryptedPassword(String username) throws SQLException {
+        UserRepository.Account account = load(username);
+        byte[] password = account != null ? account.getEncryptedPassword() : null;
+        // A copy, so callers can't change the cached password
+        return password != null ? Arrays.copyOf(password, password.length) : null;
+    }
+
+    @Override
+    public boolean isAdmin(String username) throws SQLException {
+        UserRepository.Account account = load(username);
+        return account != null && account.getUser().isAdmin();
+    }
+
+    /**
+     * Drop every cached row, e.g. after the database was changed by another tool
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            generation++;
+            invalidations.add(entries.size());
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private UserRepository.Account load(String username) throws SQLException {
+        if (username == null) {
+            return source.findAccount(null);
+        }
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        lock.lock();
+        try {
+            Entry entry = entries.get(username);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.increment();
+                    return entry.account;
+                }
+                entries.remove(username);
+                expirations.increment();
+            }
+            loadGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+
+        // Query outside the lock; two threads missing the same user both load it, which is harmless
+        misses.increment();
+        UserRepository.Account account = source.findAccount(username);
+        lock.lock();
+        try {
+            if (generation == loadGeneration) {
+                entries.put(username, new Entry(account, now + ttlMillis));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return account;
+    }
+
+    private void invalidate(String... usernames) {
+        lock.lock();
+        try {
+            generation++;
+            for (String username : usernames) {
+                if (entries.remove(username) != null) {
+                    invalidations.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lookups answered from memory, i.e. database queries saved
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Lookups that queried the database
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * Entries dropped because they outlived the time-to-live
+     */
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    /**
+     * Entries dropped to stay within the size limit
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Entries dropped because the user was written
+     */
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d users cached, %.1f%% hit rate (%d hits, %d misses), %d expired, %d evicted, "
+                + "%d invalidated", size(), getHitRate() * 100, getHits(), getMisses(), getExpirations(),
+            getEvictions(), getInvalidations());
+    }
+
+    private static final class Entry {
+        // Null when the user does not exist
+        private final UserRepository.Account account;
+        private final long expiresAt;
+
+        Entry(UserRepository.Account account, long expiresAt) {
+            this.account = account;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
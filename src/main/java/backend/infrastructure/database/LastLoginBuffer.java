@@ -0,0 +1,206 @@
+package backend.infrastructure.database;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import backend.infrastructure.persistence.ConnectionPool;
+
+/**
+ * Last login buffer - write-behind for last-login timestamps
+ *
+ * A login only records its timestamp in memory; a background thread writes everything pending
+ * in one transaction every flush interval, or sooner once enough logins are waiting. Repeated
+ * logins by the same user before a flush become one UPDATE. close() writes what is left, so
+ * no timestamp is lost on a clean shutdown; a crash loses at most one interval of them.
+ */
+public class LastLoginBuffer implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(LastLoginBuffer.class.getName());
+    public static final long DEFAULT_FLUSH_MILLIS = 1000;
+    public static final int DEFAULT_MAX_PENDING = 256;
+
+    private final ConnectionPool pool;
+    private final int maxPending;
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writer;
+    // One flush at a time, so an older batch never lands after a newer one
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public LastLoginBuffer(ConnectionPool pool) {
+        this(pool, DEFAULT_FLUSH_MILLIS, DEFAULT_MAX_PENDING);
+    }
+
+    /**
+     * @param flushMillis Longest a timestamp waits in memory
+     * @param maxPending Users waiting that trigger an early flush
+     */
+    public LastLoginBuffer(ConnectionPool pool, long flushMillis, int maxPending) {
+        if (flushMillis < 1 || maxPending < 1) {
+            throw new IllegalArgumentException("Flush interval and pending limit must be positive");
+        }
+        this.pool = pool;
+        this.maxPending = maxPending;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "last-login-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flushSafely, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Remember a login; returns without touching the database
+     */
+    public void record(String username, LocalDateTime time) {
+        pending.put(username, time);
+        recorded.increment();
+        if (pending.size() >= maxPending && flushQueued.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::flushSafely);
+            } catch (RejectedExecutionException e) {
+                // Closing; close() writes what is pending
+                flushQueued.set(false);
+            }
+        }
+    }
+
+    /**
+     * Timestamp recorded but not yet written, or null
+     */
+    public LocalDateTime getPending(String username) {
+        return pending.get(username);
+    }
+
+    /**
+     * Carry a pending timestamp over to a user's new name
+     */
+    public void rename(String oldUsername, String newUsername) {
+        LocalDateTime time = pending.remove(oldUsername);
+        if (time != null) {
+            pending.merge(newUsername, time, (a, b) -> a.isAfter(b) ? a : b);
+        }
+    }
+
+    /**
+     * Drop the pending timestamp of a deleted user
+     */
+    public void discard(String username) {
+        pending.remove(username);
+    }
+
+    /**
+     * Write every pending timestamp in one transaction
+     */
+    public void flush() throws SQLException {
+        flushLock.lock();
+        try {
+            flushQueued.set(false);
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Map.Entry<String, LocalDateTime>> batch = new ArrayList<>(pending.entrySet().size());
+            for (Map.Entry<String, LocalDateTime> entry : pending.entrySet()) {
+                batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+
+            pool.write(connection -> {
+                connection.setAutoCommit(false);
+                try (PreparedStatement ps = connection.prepareStatement(
+                        "UPDATE usuarios SET ultimo_login = ? WHERE nome = ?")) {
+                    for (Map.Entry<String, LocalDateTime> entry : batch) {
+                        ps.setString(1, entry.getValue().toString());
+                        ps.setString(2, entry.getKey());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+                connection.commit();
+                return null;
+            });
+
+            // Keep entries that a newer login replaced while this batch was written
+            for (Map.Entry<String, LocalDateTime> entry : batch) {
+                pending.remove(entry.getKey(), entry.getValue());
+            }
+            written.add(batch.size());
+            flushes.increment();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (SQLException | RuntimeException e) {
+            // Entries stay pending and go out with the next flush
+            failures.increment();
+            LOGGER.log(Level.WARNING, "Erro ao atualizar último login", e);
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Logins recorded
+     */
+    public long getRecorded() {
+        return recorded.sum();
+    }
+
+    /**
+     * Rows written; lower than recorded when users log in again before a flush
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getFlushes() {
+        return flushes.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Stop the background writer and write what is pending
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } catch (SQLException e) {
+            LOGGER.log(Level.SEVERE, pending.size() + " last-login timestamps could not be written", e);
+        }
+        LOGGER.log(Level.INFO, "Last logins: {0} recorded, {1} written in {2} flushes, {3} failed flushes",
+            new Object[]{getRecorded(), getWritten(), getFlushes(), getFailures()});
+    }
+}
@@ -0,0 +1,336 @@
+package backend.infrastructure.database;
+
+import java.io.File;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import backend.infrastructure.persistence.ConnectionPool;
+import backend.infrastructure.security.PasswordHasher;
+import shared.util.CryptoDummy;
+
+/**
+ * Password migration - re-hashes every legacy password in the users database with BCrypt
+ *
+ * Rows are read in ID order, one batch at a time. Legacy passwords are either CryptoDummy
+ * ciphertext with a readable key file in keys/, or plain text; as the old login did, a row
+ * whose key file is missing or unreadable counts as plain text. The batch is
+ * hashed in parallel and written in one transaction together with the last ID done, so an
+ * interrupted run resumes where it stopped. The checkpoint never passes a row that failed,
+ * so the next run retries it. A row changed since it was read is left alone. Key files are
+ * deleted only after their passwords are committed.
+ */
+public class PasswordMigration {
+    private static final Logger LOGGER = Logger.getLogger(PasswordMigration.class.getName());
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final String CHECKPOINT_TABLE = "CREATE TABLE IF NOT EXISTS migracao_senhas "
+        + "(id INTEGER PRIMARY KEY CHECK (id = 1), ultimo_id INTEGER NOT NULL)";
+
+    private final ConnectionPool pool;
+    private final File keysDir;
+
+    /**
+     * @param keysDir Directory holding the CryptoDummy key files (username.key)
+     */
+    public PasswordMigration(ConnectionPool pool, File keysDir) {
+        this.pool = pool;
+        this.keysDir = keysDir;
+    }
+
+    /**
+     * Count rows by password format without changing anything
+     */
+    public Report scan() throws SQLException {
+        Report report = new Report();
+        long start = System.nanoTime();
+        long lastId = 0;
+        List<Row> batch;
+        while (!(batch = readBatch(lastId, DEFAULT_BATCH_SIZE)).isEmpty()) {
+            for (Row row : batch) {
+                report.count(row.format);
+            }
+            lastId = batch.get(batch.size() - 1).id;
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /**
+     * Migrate every legacy row after the checkpoint
+     *
+     * @param threads Passwords hashed at once
+     * @param progress Called after every committed batch with the totals so far
+     */
+    public Report run(int batchSize, int threads, Consumer<Report> progress) throws SQLException {
+        if (batchSize < 1 || threads < 1) {
+            throw new IllegalArgumentException("Batch size and threads must be positive");
+        }
+        pool.write(connection -> {
+            try (Statement st = connection.createStatement()) {
+                return st.execute(CHECKPOINT_TABLE);
+            }
+        });
+
+        Report report = new Report();
+        long start = System.nanoTime();
+        ExecutorService hashers = Executors.newFixedThreadPool(threads);
+        try {
+            long lastId = getCheckpoint();
+            report.resumedAfter = lastId;
+            List<Row> batch;
+            while (!(batch = readBatch(lastId, batchSize)).isEmpty()) {
+                migrateBatch(batch, hashers, report);
+                lastId = batch.get(batch.size() - 1).id;
+                report.elapsedNanos = System.nanoTime() - start;
+                if (progress != null) {
+                    progress.accept(report);
+                }
+            }
+        } finally {
+            hashers.shutdownNow();
+        }
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /**
+     * Forget the checkpoint so the next run rescans every row
+     */
+    public void resetCheckpoint() throws SQLException {
+        pool.write(connection -> {
+            try (Statement st = connection.createStatement()) {
+                st.execute(CHECKPOINT_TABLE);
+                return st.executeUpdate("DELETE FROM migracao_senhas");
+            }
+        });
+    }
+
+    private long getCheckpoint() throws SQLException {
+        return pool.query("SELECT ultimo_id FROM migracao_senhas WHERE id = 1", ps -> {
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        });
+    }
+
+    private List<Row> readBatch(long afterId, int limit) throws SQLException {
+        return pool.query("SELECT id, nome, senha FROM usuarios WHERE id > ? ORDER BY id LIMIT ?", ps -> {
+            ps.setLong(1, afterId);
+            ps.setInt(2, limit);
+            List<Row> rows = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(readRow(rs.getLong("id"), rs.getString("nome"), rs.getBytes("senha")));
+                }
+            }
+            return rows;
+        });
+    }
+
+    private void migrateBatch(List<Row> batch, ExecutorService hashers, Report report) throws SQLException {
+        List<Row> legacy = new ArrayList<>();
+        List<Future<String>> hashes = new ArrayList<>();
+        for (Row row : batch) {
+            if (row.format == Format.BCRYPT) {
+                report.count(row.format);
+                continue;
+            }
+            legacy.add(row);
+            hashes.add(hashers.submit(() -> PasswordHasher.hashPassword(row.plainPassword)));
+        }
+
+        List<Row> hashedRows = new ArrayList<>(legacy.size());
+        List<String> hashed = new ArrayList<>(legacy.size());
+        for (int i = 0; i < legacy.size(); i++) {
+            Row row = legacy.get(i);
+            try {
+                hashed.add(hashes.get(i).get());
+                hashedRows.add(row);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while hashing passwords", e);
+            } catch (ExecutionException e) {
+                LOGGER.log(Level.WARNING, "Cannot hash the password of " + row.username, e.getCause());
+                report.failed++;
+                // The row stays legacy; stop the checkpoint before it so a rerun retries it
+                if (report.retryFrom == 0) {
+                    report.retryFrom = row.id;
+                }
+            }
+        }
+        long checkpoint = report.retryFrom != 0 ? report.retryFrom - 1 : batch.get(batch.size() - 1).id;
+        int[] updated = pool.write(connection -> {
+            connection.setAutoCommit(false);
+            int[] counts = new int[hashedRows.size()];
+            // Only replace the exact password read, in case the user changed it meanwhile;
+            // legacy rows may hold the password as TEXT, hence the cast
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "UPDATE usuarios SET senha = ? WHERE id = ? AND CAST(senha AS BLOB) = ?")) {
+                for (int i = 0; i < hashedRows.size(); i++) {
+                    ps.setBytes(1, hashed.get(i).getBytes());
+                    ps.setLong(2, hashedRows.get(i).id);
+                    ps.setBytes(3, hashedRows.get(i).password);
+                    counts[i] = ps.executeUpdate();
+                }
+            }
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT OR REPLACE INTO migracao_senhas (id, ultimo_id) VALUES (1, ?)")) {
+                ps.setLong(1, checkpoint);
+                ps.executeUpdate();
+            }
+            connection.commit();
+            return counts;
+        });
+
+        for (int i = 0; i < hashedRows.size(); i++) {
+            Row row = hashedRows.get(i);
+            if (updated[i] == 0) {
+                report.changed++;
+                continue;
+            }
+            report.count(row.format);
+            report.migrated++;
+            if (row.format == Format.CRYPTO_DUMMY && !keyFile(row.username).delete()) {
+                LOGGER.log(Level.WARNING, "Could not delete key file of {0}", row.username);
+            }
+        }
+    }
+
+    private Row readRow(long id, String username, byte[] password) {
+        if (PasswordHasher.isBCryptHash(new String(password))) {
+            return new Row(id, username, password, Format.BCRYPT, null);
+        }
+        File keyFile = keyFile(username);
+        if (keyFile.exists()) {
+            try {
+                CryptoDummy crypto = new CryptoDummy();
+                // geraDecifra decrypts in place
+                crypto.geraDecifra(Arrays.copyOf(password, password.length), keyFile);
+                return new Row(id, username, password, Format.CRYPTO_DUMMY, new String(crypto.getTextoDecifrado()));
+            } catch (Exception e) {
+                // The old login then compared the stored bytes as plain text
+                LOGGER.log(Level.WARNING, "Cannot decrypt the password of " + username + ", treating it as plain text", e);
+            }
+        }
+        return new Row(id, username, password, Format.PLAIN_TEXT, new String(password));
+    }
+
+    private File keyFile(String username) {
+        return new File(keysDir, username + ".key");
+    }
+
+    /**
+     * How a stored password is encoded
+     */
+    public enum Format {
+        BCRYPT,
+        CRYPTO_DUMMY,
+        PLAIN_TEXT
+    }
+
+    private static final class Row {
+        private final long id;
+        private final String username;
+        private final byte[] password;
+        private final Format format;
+        // Password to hash; null for BCrypt rows
+        private final String plainPassword;
+
+        Row(long id, String username, byte[] password, Format format, String plainPassword) {
+            this.id = id;
+            this.username = username;
+            this.password = password;
+            this.format = format;
+            this.plainPassword = plainPassword;
+        }
+    }
+
+    /**
+     * Counts for one scan or run
+     */
+    public static class Report {
+        private long bcrypt;
+        private long cryptoDummy;
+        private long plainText;
+        private long migrated;
+        private long changed;
+        private long failed;
+        private long resumedAfter;
+        // First row of this run that failed, 0 if none
+        private long retryFrom;
+        private long elapsedNanos;
+
+        private void count(Format format) {
+            switch (format) {
+                case BCRYPT -> bcrypt++;
+                case CRYPTO_DUMMY -> cryptoDummy++;
+                case PLAIN_TEXT -> plainText++;
+            }
+        }
+
+        /**
+         * Rows already hashed with BCrypt before this run
+         */
+        public long getBcrypt() {
+            return bcrypt;
+        }
+
+        public long getCryptoDummy() {
+            return cryptoDummy;
+        }
+
+        public long getPlainText() {
+            return plainText;
+        }
+
+        /**
+         * Legacy rows re-hashed and committed by this run
+         */
+        public long getMigrated() {
+            return migrated;
+        }
+
+        /**
+         * Legacy rows whose password changed between reading and writing, left as they were
+         */
+        public long getChanged() {
+            return changed;
+        }
+
+        /**
+         * Legacy rows that could not be hashed; the checkpoint stays before the first of them
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * Last ID done by an earlier, interrupted run; 0 if this run started from the beginning
+         */
+        public long getResumedAfter() {
+            return resumedAfter;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d BCrypt, %d CryptoDummy, %d plain text; %d migrated, %d changed meanwhile, "
+                    + "%d failed", bcrypt, cryptoDummy, plainText, migrated, changed, failed);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package backend.infrastructure.database;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+import backend.domain.model.Pokemon;
+import backend.domain.service.IPokemonRepository;
+import backend.domain.service.PokemonSampler;
+
+/**
+ * Pokedex snapshot - the whole Pokedex in memory, read once from the database
+ *
+ * Stats are kept as int columns with a sorted index per stat, types and generations as
+ * bitsets over the rows. A filter is a few binary searches and bitset intersections,
+ * and every query returns the same Pokemon instances instead of re-reading rows.
+ * The Pokedex is read-only at runtime, so the snapshot never goes stale.
+ *
+ * Only findWithFilters (raw SQL conditions) still goes to the source repository.
+ */
+public class PokedexSnapshot implements IPokemonRepository {
+    private static final int HP = 0;
+    private static final int ATTACK = 1;
+    private static final int DEFENSE = 2;
+    private static final int SP_ATK = 3;
+    private static final int SP_DEF = 4;
+    private static final int SPEED = 5;
+    private static final int STATS = 6;
+
+    private final IPokemonRepository source;
+    // Rows in ID order
+    private final Pokemon[] rows;
+    private final int[] rowById;
+    private final String[] lowerNames;
+    // [stat][row]
+    private final int[][] columns = new int[STATS][];
+    // [stat][rank] - rows and their values in ascending value order
+    private final int[][] sortedRows = new int[STATS][];
+    private final int[][] sortedValues = new int[STATS][];
+    // Rows with the type as Type1 or Type2
+    private final Map<String, BitSet> rowsByType = new HashMap<>();
+    private final Map<Integer, BitSet> rowsByGeneration = new HashMap<>();
+    private final List<String> types;
+    private final AttributeMaxValues maxValues;
+    private final PokemonSampler sampler;
+
+    public PokedexSnapshot(IPokemonRepository source) throws SQLException {
+        this.source = source;
+        List<Pokemon> all = source.findAll();
+        int n = all.size();
+        rows = all.toArray(new Pokemon[0]);
+        Arrays.sort(rows, (a, b) -> Integer.compare(a.getId(), b.getId()));
+
+        int maxId = n == 0 ? 0 : rows[n - 1].getId();
+        rowById = new int[maxId + 1];
+        Arrays.fill(rowById, -1);
+        lowerNames = new String[n];
+        for (int s = 0; s < STATS; s++) {
+            columns[s] = new int[n];
+        }
+        TreeSet<String> typeNames = new TreeSet<>();
+
+        for (int r = 0; r < n; r++) {
+            Pokemon p = rows[r];
+            if (p.getId() >= 0) {
+                rowById[p.getId()] = r;
+            }
+            lowerNames[r] = p.getName().toLowerCase(Locale.ROOT);
+            columns[HP][r] = p.getHp();
+            columns[ATTACK][r] = p.getAttack();
+            columns[DEFENSE][r] = p.getDefense();
+            columns[SP_ATK][r] = p.getSpAtk();
+            columns[SP_DEF][r] = p.getSpDef();
+            columns[SPEED][r] = p.getSpeed();
+
+            rowsByType.computeIfAbsent(p.getType1(), t -> new BitSet(n)).set(r);
+            typeNames.add(p.getType1());
+            if (p.getType2() != null) {
+                rowsByType.computeIfAbsent(p.getType2(), t -> new BitSet(n)).set(r);
+                typeNames.add(p.getType2());
+            }
+            rowsByGeneration.computeIfAbsent(p.getGeneration(), g -> new BitSet(n)).set(r);
+        }
+
+        int[] max = new int[STATS];
+        for (int s = 0; s < STATS; s++) {
+            int[] column = columns[s];
+            Integer[] order = new Integer[n];
+            for (int r = 0; r < n; r++) {
+                order[r] = r;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(column[a], column[b]));
+            sortedRows[s] = new int[n];
+            sortedValues[s] = new int[n];
+            for (int k = 0; k < n; k++) {
+                sortedRows[s][k] = order[k];
+                sortedValues[s][k] = column[order[k]];
+            }
+            max[s] = n == 0 ? 0 : sortedValues[s][n - 1];
+        }
+        types = List.copyOf(typeNames);
+        maxValues = new AttributeMaxValues(max[HP], max[ATTACK], max[DEFENSE], max[SP_ATK], max[SP_DEF], max[SPEED]);
+        sampler = new PokemonSampler(Arrays.asList(rows));
+    }
+
+    @Override
+    public List<Pokemon> findAll() {
+        return toList(all());
+    }
+
+    @Override
+    public Pokemon findById(int id) {
+        int row = row(id);
+        return row < 0 ? null : rows[row];
+    }
+
+    @Override
+    public List<Pokemon> findByName(String name) {
+        String needle = name.toLowerCase(Locale.ROOT);
+        List<Pokemon> result = new ArrayList<>();
+        for (int r = 0; r < rows.length; r++) {
+            if (lowerNames[r].contains(needle)) {
+                result.add(rows[r]);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Pokemon> findWithFilters(String filters, List<Object> params) throws SQLException {
+        return source.findWithFilters(filters, params);
+    }
+
+    @Override
+    public List<Pokemon> findMatching(PokemonFilter filter) {
+        BitSet matches = all();
+        if (filter.id() != null) {
+            int row = row(filter.id());
+            matches.clear();
+            if (row >= 0) {
+                matches.set(row);
+            }
+        }
+        if (filter.type() != null) {
+            BitSet typed = rowsByType.get(filter.type());
+            if (typed == null) {
+                return new ArrayList<>();
+            }
+            matches.and(typed);
+        }
+        restrict(matches, HP, filter.minHP(), filter.maxHP());
+        restrict(matches, ATTACK, filter.minAttack(), filter.maxAttack());
+        restrict(matches, DEFENSE, filter.minDefense(), filter.maxDefense());
+        restrict(matches, SP_ATK, filter.minSpAtk(), filter.maxSpAtk());
+        restrict(matches, SP_DEF, filter.minSpDef(), filter.maxSpDef());
+        restrict(matches, SPEED, filter.minSpeed(), filter.maxSpeed());
+        return toList(matches);
+    }
+
+    @Override
+    public List<Pokemon> findRandom(int count) {
+        return sampler.sample(count);
+    }
+
+    @Override
+    public List<Pokemon> findByGeneration(int generation) {
+        BitSet matches = rowsByGeneration.get(generation);
+        return matches == null ? new ArrayList<>() : toList(matches);
+    }
+
+    @Override
+    public List<Pokemon> findByType(String type) {
+        BitSet matches = rowsByType.get(type);
+        return matches == null ? new ArrayList<>() : toList(matches);
+    }
+
+    @Override
+    public AttributeMaxValues getMaxAttributeValues() {
+        return maxValues;
+    }
+
+    @Override
+    public List<String> getAllTypes() {
+        return new ArrayList<>(types);
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    private int row(int id) {
+        return id >= 0 && id < rowById.length ? rowById[id] : -1;
+    }
+
+    private BitSet all() {
+        BitSet all = new BitSet(rows.length);
+        all.set(0, rows.length);
+        return all;
+    }
+
+    /**
+     * Keep only rows whose stat lies in [min, max], found by binary search on the sorted index
+     */
+    private void restrict(BitSet matches, int stat, Integer min, Integer max) {
+        if (min == null && max == null) {
+            return;
+        }
+        int[] values = sortedValues[stat];
+        int from = min == null ? 0 : firstAtLeast(values, min);
+        int to = max == null ? values.length : firstAtLeast(values, max + 1L);
+        BitSet inRange = new BitSet(rows.length);
+        for (int k = from; k < to; k++) {
+            inRange.set(sortedRows[stat][k]);
+        }
+        matches.and(inRange);
+    }
+
+    private static int firstAtLeast(int[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<Pokemon> toList(BitSet matches) {
+        List<Pokemon> result = new ArrayList<>(matches.cardinality());
+        for (int r = matches.nextSetBit(0); r >= 0; r = matches.nextSetBit(r + 1)) {
+            result.add(rows[r]);
+        }
+        return result;
+    }
+}
@@ -1,25 +1,37 @@
 package backend.infrastructure.database;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 import backend.domain.model.Pokemon;
 import backend.domain.service.IPokemonRepository;
+import backend.domain.service.PokemonSampler;
+import backend.infrastructure.persistence.ConnectionPool;
 
 /**
  * Pokemon repository implementation using SQLite
  * Reuses existing database queries from the GUI layer
  */
 public class PokemonRepository implements IPokemonRepository {
-    private final Connection connection;
+    private static final int TYPE_FIELD = 1;
+    private static final String[] STAT_COLUMNS = {"HP", "Attack", "Defense", "SpAtk", "SpDef", "Speed"};
 
-    public PokemonRepository(Connection connection) {
-        this.connection = connection;
+    private final ConnectionPool pool;
+    // findMatching SQL by which filter fields are set
+    private final Map<Integer, String> filterQueries = new ConcurrentHashMap<>();
+    // Loaded on the first findRandom; a benign race at worst reads the IDs twice
+    private volatile int[] ids;
+
+    public PokemonRepository(ConnectionPool pool) {
+        this.pool = pool;
     }
 
     @Override
@@ -31,24 +43,18 @@ public class PokemonRepository implements IPokemonRepository {
     @Override
     public Pokemon findById(int id) throws SQLException {
         String sql = "SELECT * FROM pokedex WHERE id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        return pool.query(sql, ps -> {
             ps.setInt(1, id);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToPokemon(rs);
-                }
+                return rs.next() ? mapResultSetToPokemon(rs) : null;
             }
-        }
-        return null;
+        });
     }
 
     @Override
     public List<Pokemon> findByName(String name) throws SQLException {
         String sql = "SELECT * FROM pokedex WHERE LOWER(name) LIKE ? ORDER BY id";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, "%" + name.toLowerCase() + "%");
-            return executePreparedQuery(ps);
-        }
+        return executePreparedQuery(sql, ps -> ps.setString(1, "%" + name.toLowerCase() + "%"));
     }
 
     @Override
@@ -59,40 +65,139 @@ public class PokemonRepository implements IPokemonRepository {
         }
         sql += " ORDER BY id";
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        return executePreparedQuery(sql, ps -> {
             for (int i = 0; i < params.size(); i++) {
                 ps.setObject(i + 1, params.get(i));
             }
-            return executePreparedQuery(ps);
+        });
+    }
+
+    /**
+     * Filters with the same fields set share one SQL text, so they also share the prepared statement
+     */
+    @Override
+    public List<Pokemon> findMatching(PokemonFilter filter) throws SQLException {
+        Object[] values = {
+            filter.id(), filter.type(),
+            filter.minHP(), filter.maxHP(),
+            filter.minAttack(), filter.maxAttack(),
+            filter.minDefense(), filter.maxDefense(),
+            filter.minSpAtk(), filter.maxSpAtk(),
+            filter.minSpDef(), filter.maxSpDef(),
+            filter.minSpeed(), filter.maxSpeed()
+        };
+        int shape = 0;
+        List<Object> params = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                shape |= 1 << i;
+                params.add(values[i]);
+                if (i == TYPE_FIELD) {
+                    // Matched against type1 and type2
+                    params.add(values[i]);
+                }
+            }
         }
+        String sql = filterQueries.computeIfAbsent(shape, PokemonRepository::filterQuery);
+        return executePreparedQuery(sql, ps -> {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+        });
     }
 
+    /**
+     * SQL for a filter shape: bit 0 is the ID, bit 1 the type, then the min and max of each stat
+     */
+    private static String filterQuery(int shape) {
+        List<String> conditions = new ArrayList<>();
+        if ((shape & 1) != 0) {
+            conditions.add("id = ?");
+        }
+        if ((shape & 1 << TYPE_FIELD) != 0) {
+            conditions.add("(type1 = ? OR type2 = ?)");
+        }
+        for (int s = 0; s < STAT_COLUMNS.length; s++) {
+            int minField = TYPE_FIELD + 1 + 2 * s;
+            if ((shape & 1 << minField) != 0) {
+                conditions.add(STAT_COLUMNS[s] + " >= ?");
+            }
+            if ((shape & 1 << (minField + 1)) != 0) {
+                conditions.add(STAT_COLUMNS[s] + " <= ?");
+            }
+        }
+        return "SELECT * FROM pokedex"
+            + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+            + " ORDER BY id";
+    }
+
+    /**
+     * Random Pokemon without ORDER BY RANDOM(), which shuffles the whole table:
+     * IDs are sampled in memory and only the picked rows are read
+     */
     @Override
     public List<Pokemon> findRandom(int count) throws SQLException {
-        String sql = "SELECT * FROM pokedex ORDER BY RANDOM() LIMIT ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, count);
-            return executePreparedQuery(ps);
+        int[] allIds = getIds();
+        int[] picks = PokemonSampler.sampleIndices(allIds.length, Math.min(Math.max(count, 0), allIds.length),
+            ThreadLocalRandom.current());
+        if (picks.length == 0) {
+            return new ArrayList<>();
+        }
+
+        String sql = "SELECT * FROM pokedex WHERE id IN (" + String.join(",", Collections.nCopies(picks.length, "?")) + ")";
+        Map<Integer, Pokemon> byId = new HashMap<>();
+        List<Pokemon> rows = executePreparedQuery(sql, ps -> {
+            for (int i = 0; i < picks.length; i++) {
+                ps.setInt(i + 1, allIds[picks[i]]);
+            }
+        });
+        for (Pokemon pokemon : rows) {
+            byId.put(pokemon.getId(), pokemon);
         }
+        // Keep the sampled order, as ORDER BY RANDOM() did
+        List<Pokemon> result = new ArrayList<>(picks.length);
+        for (int pick : picks) {
+            Pokemon pokemon = byId.get(allIds[pick]);
+            if (pokemon != null) {
+                result.add(pokemon);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * All Pokedex IDs, read once
+     */
+    private int[] getIds() throws SQLException {
+        int[] current = ids;
+        if (current == null) {
+            current = pool.query("SELECT id FROM pokedex ORDER BY id", ps -> {
+                List<Integer> list = new ArrayList<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        list.add(rs.getInt(1));
+                    }
+                }
+                return list.stream().mapToInt(Integer::intValue).toArray();
+            });
+            ids = current;
+        }
+        return current;
     }
 
     @Override
     public List<Pokemon> findByGeneration(int generation) throws SQLException {
         String sql = "SELECT * FROM pokedex WHERE generation = ? ORDER BY id";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setInt(1, generation);
-            return executePreparedQuery(ps);
-        }
+        return executePreparedQuery(sql, ps -> ps.setInt(1, generation));
     }
 
     @Override
     public List<Pokemon> findByType(String type) throws SQLException {
         String sql = "SELECT * FROM pokedex WHERE type1 = ? OR type2 = ? ORDER BY id";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        return executePreparedQuery(sql, ps -> {
             ps.setString(1, type);
             ps.setString(2, type);
-            return executePreparedQuery(ps);
-        }
+        });
     }
 
     @Override
@@ -100,55 +205,61 @@ public class PokemonRepository implements IPokemonRepository {
         String sql = "SELECT MAX(HP) as maxHP, MAX(Attack) as maxAttack, MAX(Defense) as maxDefense, " +
                     "MAX(SpAtk) as maxSpAtk, MAX(SpDef) as maxSpDef, MAX(Speed) as maxSpeed FROM pokedex";
 
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            if (rs.next()) {
-                return new AttributeMaxValues(
-                    rs.getInt("maxHP"),
-                    rs.getInt("maxAttack"),
-                    rs.getInt("maxDefense"),
-                    rs.getInt("maxSpAtk"),
-                    rs.getInt("maxSpDef"),
-                    rs.getInt("maxSpeed")
-                );
+        return pool.query(sql, ps -> {
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new AttributeMaxValues(
+                        rs.getInt("maxHP"),
+                        rs.getInt("maxAttack"),
+                        rs.getInt("maxDefense"),
+                        rs.getInt("maxSpAtk"),
+                        rs.getInt("maxSpDef"),
+                        rs.getInt("maxSpeed")
+                    );
+                }
             }
-        }
-        return new AttributeMaxValues(0, 0, 0, 0, 0, 0);
+            return new AttributeMaxValues(0, 0, 0, 0, 0, 0);
+        });
     }
 
     @Override
     public List<String> getAllTypes() throws SQLException {
-        List<String> types = new ArrayList<>();
         String sql = "SELECT DISTINCT Type1 FROM pokedex UNION SELECT DISTINCT Type2 FROM pokedex WHERE Type2 IS NOT NULL ORDER BY 1";
 
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                types.add(rs.getString(1));
+        return pool.query(sql, ps -> {
+            List<String> types = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    types.add(rs.getString(1));
+                }
             }
-        }
-        return types;
+            return types;
+        });
     }
 
     private List<Pokemon> executePokemonQuery(String sql) throws SQLException {
-        List<Pokemon> pokemonList = new ArrayList<>();
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                pokemonList.add(mapResultSetToPokemon(rs));
-            }
-        }
-        return pokemonList;
+        return executePreparedQuery(sql, ps -> { });
     }
 
-    private List<Pokemon> executePreparedQuery(PreparedStatement ps) throws SQLException {
-        List<Pokemon> pokemonList = new ArrayList<>();
-        try (ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                pokemonList.add(mapResultSetToPokemon(rs));
+    /**
+     * Run a parameterized query with the read connection's cached statement for the SQL
+     */
+    private List<Pokemon> executePreparedQuery(String sql, Parameters parameters) throws SQLException {
+        return pool.query(sql, ps -> {
+            parameters.bind(ps);
+            List<Pokemon> pokemonList = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    pokemonList.add(mapResultSetToPokemon(rs));
+                }
             }
-        }
-        return pokemonList;
+            return pokemonList;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Parameters {
+        void bind(PreparedStatement ps) throws SQLException;
     }
 
     private Pokemon mapResultSetToPokemon(ResultSet rs) throws SQLException {
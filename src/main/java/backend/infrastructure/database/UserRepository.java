@@ -1,7 +1,5 @@
 package backend.infrastructure.database;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
@@ -12,6 +10,7 @@ import java.util.logging.Logger;
 
 import backend.domain.model.User;
 import backend.domain.service.IUserRepository;
+import backend.infrastructure.persistence.ConnectionPool;
 
 /**
  * User repository implementation using SQLite
@@ -19,106 +18,139 @@ import backend.domain.service.IUserRepository;
  */
 public class UserRepository implements IUserRepository {
     private static final Logger LOGGER = Logger.getLogger(UserRepository.class.getName());
-    private final Connection connection;
+    private final ConnectionPool pool;
+    private final LastLoginBuffer lastLogins;
+
+    /**
+     * Writes last-login timestamps as logins happen
+     */
+    public UserRepository(ConnectionPool pool) {
+        this(pool, null);
+    }
 
-    public UserRepository(Connection connection) {
-        this.connection = connection;
+    /**
+     * @param lastLogins Buffer last-login timestamps are written through; null writes them at once
+     */
+    public UserRepository(ConnectionPool pool, LastLoginBuffer lastLogins) {
+        this.pool = pool;
+        this.lastLogins = lastLogins;
     }
 
     @Override
     public User findByUsername(String username) throws SQLException {
         String sql = "SELECT nome, admin, ultimo_login, data_criacao FROM usuarios WHERE nome = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        return pool.query(sql, ps -> {
             ps.setString(1, username);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
                     return mapResultSetToUser(rs);
                 }
             }
-        }
-        return null;
+            return null;
+        });
+    }
+
+    /**
+     * Everything stored for one user, password included, in a single query
+     *
+     * @return null if the user does not exist
+     */
+    public Account findAccount(String username) throws SQLException {
+        String sql = "SELECT nome, senha, admin, ultimo_login, data_criacao FROM usuarios WHERE nome = ?";
+        return pool.query(sql, ps -> {
+            ps.setString(1, username);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new Account(mapResultSetToUser(rs), rs.getBytes("senha"));
+                }
+            }
+            return null;
+        });
     }
 
     @Override
     public List<User> findAll(String searchTerm) throws SQLException {
-        ArrayList<User> users = new ArrayList<>();
         String sql = "SELECT nome, admin, ultimo_login, data_criacao FROM usuarios" +
                      (searchTerm != null ? " WHERE nome LIKE ?" : "");
 
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        return pool.query(sql, ps -> {
             if (searchTerm != null) {
                 ps.setString(1, "%" + searchTerm + "%");
             }
+            ArrayList<User> users = new ArrayList<>();
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
                     users.add(mapResultSetToUser(rs));
                 }
             }
-        }
-        return users;
+            return users;
+        });
     }
 
     @Override
     public void create(String username, byte[] encryptedPassword, boolean isAdmin) throws SQLException {
         String sql = "INSERT INTO usuarios (nome, senha, admin, data_criacao) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        pool.update(sql, ps -> {
             ps.setString(1, username);
             ps.setBytes(2, encryptedPassword);
             ps.setInt(3, isAdmin ? 1 : 0);
             ps.setString(4, LocalDateTime.now().toString());
-            ps.executeUpdate();
-        }
+            return ps.executeUpdate();
+        });
     }
 
     @Override
     public void update(String currentUsername, String newUsername, byte[] encryptedPassword, boolean isAdmin) throws SQLException {
-        String sql;
-        PreparedStatement ps;
-
-        if (encryptedPassword != null) {
-            sql = "UPDATE usuarios SET nome = ?, senha = ?, admin = ? WHERE nome = ?";
-            ps = connection.prepareStatement(sql);
-            ps.setString(1, newUsername);
-            ps.setBytes(2, encryptedPassword);
-            ps.setInt(3, isAdmin ? 1 : 0);
-            ps.setString(4, currentUsername);
-        } else {
-            sql = "UPDATE usuarios SET nome = ?, admin = ? WHERE nome = ?";
-            ps = connection.prepareStatement(sql);
-            ps.setString(1, newUsername);
-            ps.setInt(2, isAdmin ? 1 : 0);
-            ps.setString(3, currentUsername);
-        }
-
-        try {
-            int rows = ps.executeUpdate();
-            if (rows == 0) {
-                throw new SQLException("Usuário não encontrado.");
+        String sql = encryptedPassword != null
+            ? "UPDATE usuarios SET nome = ?, senha = ?, admin = ? WHERE nome = ?"
+            : "UPDATE usuarios SET nome = ?, admin = ? WHERE nome = ?";
+
+        int rows = pool.update(sql, ps -> {
+            int index = 1;
+            ps.setString(index++, newUsername);
+            if (encryptedPassword != null) {
+                ps.setBytes(index++, encryptedPassword);
             }
-        } finally {
-            ps.close();
+            ps.setInt(index++, isAdmin ? 1 : 0);
+            ps.setString(index, currentUsername);
+            return ps.executeUpdate();
+        });
+        if (rows == 0) {
+            throw new SQLException("Usuário não encontrado.");
+        }
+        if (lastLogins != null && !currentUsername.equals(newUsername)) {
+            lastLogins.rename(currentUsername, newUsername);
         }
     }
 
     @Override
     public void delete(String username) throws SQLException {
         String sql = "DELETE FROM usuarios WHERE nome = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        int rows = pool.update(sql, ps -> {
             ps.setString(1, username);
-            int rows = ps.executeUpdate();
-            if (rows == 0) {
-                throw new SQLException("Usuário não encontrado.");
-            }
+            return ps.executeUpdate();
+        });
+        if (rows == 0) {
+            throw new SQLException("Usuário não encontrado.");
+        }
+        if (lastLogins != null) {
+            lastLogins.discard(username);
         }
     }
 
     @Override
     public void updateLastLogin(String username) throws SQLException {
+        if (lastLogins != null) {
+            lastLogins.record(username, LocalDateTime.now());
+            return;
+        }
         String sql = "UPDATE usuarios SET ultimo_login = ? WHERE nome = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
-            ps.setString(1, LocalDateTime.now().toString());
-            ps.setString(2, username);
-            ps.executeUpdate();
+        try {
+            pool.update(sql, ps -> {
+                ps.setString(1, LocalDateTime.now().toString());
+                ps.setString(2, username);
+                return ps.executeUpdate();
+            });
         } catch (SQLException ex) {
             LOGGER.log(Level.WARNING, "Erro ao atualizar último login", ex);
         }
@@ -127,40 +159,37 @@ public class UserRepository implements IUserRepository {
     @Override
     public boolean exists(String username) throws SQLException {
         String sql = "SELECT COUNT(*) FROM usuarios WHERE nome = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        return pool.query(sql, ps -> {
             ps.setString(1, username);
             try (ResultSet rs = ps.executeQuery()) {
                 return rs.next() && rs.getInt(1) > 0;
             }
-        }
+        });
     }
 
     @Override
     public byte[] getEncryptedPassword(String username) throws SQLException {
         String sql = "SELECT senha FROM usuarios WHERE nome = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        return pool.query(sql, ps -> {
             ps.setString(1, username);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
                     return rs.getBytes("senha");
                 }
             }
-        }
-        return null;
+            return null;
+        });
     }
 
     @Override
     public boolean isAdmin(String username) throws SQLException {
         String sql = "SELECT admin FROM usuarios WHERE nome = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        return pool.query(sql, ps -> {
             ps.setString(1, username);
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt("admin") == 1;
-                }
+                return rs.next() && rs.getInt("admin") == 1;
             }
-        }
-        return false;
+        });
     }
 
     private User mapResultSetToUser(ResultSet rs) throws SQLException {
@@ -178,6 +207,11 @@ public class UserRepository implements IUserRepository {
                 LOGGER.log(Level.WARNING, "Erro ao parsear data de último login", e);
             }
         }
+        // A login not yet flushed is newer than the stored one
+        LocalDateTime pendingLogin = lastLogins != null ? lastLogins.getPending(username) : null;
+        if (pendingLogin != null) {
+            lastLogin = pendingLogin;
+        }
 
         String accountCreatedStr = rs.getString("data_criacao");
         if (accountCreatedStr != null && !accountCreatedStr.isEmpty()) {
@@ -190,4 +224,25 @@ public class UserRepository implements IUserRepository {
 
         return new User(username, "", isAdmin, lastLogin, accountCreated);
     }
+
+    /**
+     * A user row with its encrypted password
+     */
+    public static final class Account {
+        private final User user;
+        private final byte[] encryptedPassword;
+
+        public Account(User user, byte[] encryptedPassword) {
+            this.user = user;
+            this.encryptedPassword = encryptedPassword;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public byte[] getEncryptedPassword() {
+            return encryptedPassword;
+        }
+    }
 }
@@ -1,8 +1,10 @@
 package backend.infrastructure.network;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.Socket;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
@@ -13,7 +15,9 @@ import java.util.logging.Logger;
 import backend.application.dto.BattleStateDTO;
 import backend.application.dto.PokemonDTO;
 import backend.infrastructure.network.NetworkProtocol.BattleEndMessage;
+import backend.infrastructure.network.NetworkProtocol.BattleStateDeltaMessage;
 import backend.infrastructure.network.NetworkProtocol.BattleStateUpdateMessage;
+import backend.infrastructure.network.NetworkProtocol.ConnectAckMessage;
 import backend.infrastructure.network.NetworkProtocol.ConnectMessage;
 import backend.infrastructure.network.NetworkProtocol.CreateGameMessage;
 import backend.infrastructure.network.NetworkProtocol.DisconnectMessage;
@@ -26,6 +30,7 @@ import backend.infrastructure.network.NetworkProtocol.GameStartedMessage;
 import backend.infrastructure.network.NetworkProtocol.JoinGameMessage;
 import backend.infrastructure.network.NetworkProtocol.Message;
 import backend.infrastructure.network.NetworkProtocol.PlayerMoveMessage;
+import backend.infrastructure.network.NetworkProtocol.ResyncRequestMessage;
 import backend.infrastructure.network.NetworkProtocol.SwitchPokemonMessage;
 import backend.infrastructure.network.NetworkProtocol.TurnCompleteMessage;
 
@@ -37,15 +42,22 @@ public class BattleClient {
     private static final Logger LOGGER = Logger.getLogger(BattleClient.class.getName());
     
     private Socket socket;
-    private ObjectOutputStream out;
-    private ObjectInputStream in;
+    private DataOutputStream out;
+    private DataInputStream in;
     private boolean connected;
+    // Switched to BINARY once the server acknowledges codec support
+    private volatile MessageFraming.Format outboundFormat = MessageFraming.Format.LEGACY;
     private Thread receiveThread;
     private final BlockingQueue<Message> messageQueue;
     private BattleClientListener listener;
     
     private String gameId;
     private boolean isPlayerOne;
+
+    // Local mirror of the server state, advanced by BATTLE_STATE_DELTA messages
+    private BattleStateDTO battleState;
+    private int lastSequence;
+    private boolean resyncPending;
     
     public BattleClient() {
         this.messageQueue = new LinkedBlockingQueue<>();
@@ -58,12 +70,13 @@ public class BattleClient {
     public boolean connect(String host, int port, String username) {
         try {
             socket = new Socket(host, port);
-            out = new ObjectOutputStream(socket.getOutputStream());
-            in = new ObjectInputStream(socket.getInputStream());
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
             connected = true;
+            outboundFormat = MessageFraming.Format.LEGACY;
             
-            // Send connection message
-            sendMessage(new ConnectMessage(username, NetworkProtocol.PROTOCOL_VERSION));
+            // Send connection message, offering the binary codec
+            sendMessage(new ConnectMessage(username, NetworkProtocol.PROTOCOL_VERSION, BinaryCodec.VERSION, true));
             
             // Start receiving messages
             startReceiving();
@@ -104,6 +117,27 @@ public class BattleClient {
         }
     }
     
+    /**
+     * Close the socket without saying goodbye, as a network failure would
+     */
+    public void dropConnection() {
+        if (!connected) {
+            return;
+        }
+        connected = false;
+
+        try {
+            if (socket != null && !socket.isClosed()) {
+                socket.close();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error dropping connection", e);
+        }
+        if (receiveThread != null) {
+            receiveThread.interrupt();
+        }
+    }
+
     /**
      * Create a new game
      */
@@ -167,10 +201,10 @@ public class BattleClient {
     /**
      * Send a message to the server
      */
-    private void sendMessage(Message message) {
+    private synchronized void sendMessage(Message message) {
         try {
             if (out != null && connected) {
-                out.writeObject(message);
+                MessageFraming.writeFrame(out, message, outboundFormat);
                 out.flush();
             }
         } catch (IOException e) {
@@ -186,7 +220,7 @@ public class BattleClient {
         receiveThread = new Thread(() -> {
             while (connected && !Thread.interrupted()) {
                 try {
-                    Message message = (Message) in.readObject();
+                    Message message = MessageFraming.readFrame(in);
                     handleMessage(message);
                     
                 } catch (IOException e) {
@@ -208,6 +242,15 @@ public class BattleClient {
      * Handle incoming message
      */
     private void handleMessage(Message message) {
+        if (message.getType() == NetworkProtocol.MessageType.CONNECT_ACK) {
+            handleConnectAck((ConnectAckMessage) message);
+            return;
+        }
+        if (message.getType() == NetworkProtocol.MessageType.BATTLE_STATE_DELTA) {
+            // Applied even without a listener so the mirror never falls behind
+            handleBattleStateDelta((BattleStateDeltaMessage) message);
+            return;
+        }
         if (listener == null) {
             return;
         }
@@ -242,6 +285,12 @@ public class BattleClient {
         }
     }
     
+    private void handleConnectAck(ConnectAckMessage message) {
+        if (message.getCodecVersion() == BinaryCodec.VERSION) {
+            outboundFormat = MessageFraming.Format.BINARY;
+        }
+    }
+    
     private void handleGameCreated(GameCreatedMessage message) {
         this.gameId = message.getGameId();
         this.isPlayerOne = message.isPlayerOne();
@@ -261,17 +310,45 @@ public class BattleClient {
     }
     
     private void handleGameStarted(GameStartedMessage message) {
+        battleState = message.getInitialState();
+        lastSequence = 0;
+        resyncPending = false;
+        
         if (listener != null) {
             listener.onBattleStarted(message.getInitialState());
         }
     }
     
     private void handleBattleStateUpdate(BattleStateUpdateMessage message) {
+        battleState = message.getState();
+        lastSequence = message.getSequence();
+        resyncPending = false;
+        
         if (listener != null) {
             listener.onBattleStateUpdate(message.getState(), message.getActionMessage());
         }
     }
     
+    private void handleBattleStateDelta(BattleStateDeltaMessage message) {
+        int sequence = message.getDelta().getSequence();
+        if (battleState == null || sequence != lastSequence + 1) {
+            // Missed an update - drop deltas until the full snapshot arrives
+            if (!resyncPending) {
+                LOGGER.warning("State sequence gap (have " + lastSequence + ", got " + sequence + "), resyncing");
+                resyncPending = true;
+                sendMessage(new ResyncRequestMessage(lastSequence));
+            }
+            return;
+        }
+        
+        battleState = message.getDelta().applyTo(battleState);
+        lastSequence = sequence;
+        
+        if (listener != null) {
+            listener.onBattleStateUpdate(battleState, message.getActionMessage());
+        }
+    }
+    
     private void handleTurnComplete(TurnCompleteMessage message) {
         if (listener != null) {
             listener.onTurnComplete();
@@ -339,6 +416,13 @@ public class BattleClient {
         return gameId;
     }
     
+    /**
+     * Latest battle state known to this client (null before the battle starts)
+     */
+    public BattleStateDTO getBattleState() {
+        return battleState;
+    }
+    
     /**
      * Check if this client is player one
      */
@@ -1,28 +1,38 @@
 package backend.infrastructure.network;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import backend.application.dto.BattleStateDTO;
+import backend.application.dto.BattleStateDelta;
 import backend.application.dto.PokemonDTO;
 import backend.application.service.BattleService;
+import backend.domain.model.BattleRandom;
 import backend.domain.model.BattleState;
 import backend.domain.model.Pokemon;
 import backend.domain.model.Team;
 import backend.infrastructure.ServiceLocator;
 import backend.infrastructure.network.NetworkProtocol.BattleEndMessage;
 import backend.infrastructure.network.NetworkProtocol.BattleOutcomeType;
+import backend.infrastructure.network.NetworkProtocol.BattleStateDeltaMessage;
 import backend.infrastructure.network.NetworkProtocol.BattleStateUpdateMessage;
+import backend.infrastructure.network.NetworkProtocol.ConnectAckMessage;
 import backend.infrastructure.network.NetworkProtocol.ConnectMessage;
 import backend.infrastructure.network.NetworkProtocol.CreateGameMessage;
 import static backend.infrastructure.network.NetworkProtocol.ERROR_INVALID_MOVE;
@@ -36,8 +46,10 @@ import backend.infrastructure.network.NetworkProtocol.GameStartedMessage;
 import backend.infrastructure.network.NetworkProtocol.JoinGameMessage;
 import backend.infrastructure.network.NetworkProtocol.Message;
 import backend.infrastructure.network.NetworkProtocol.PlayerMoveMessage;
+import backend.infrastructure.network.NetworkProtocol.ResyncRequestMessage;
 import backend.infrastructure.network.NetworkProtocol.SwitchPokemonMessage;
 import backend.infrastructure.network.NetworkProtocol.TurnCompleteMessage;
+import shared.util.LatencyHistogram;
 
 /**
  * Battle Server - Manages multiplayer game sessions
@@ -46,32 +58,145 @@ import backend.infrastructure.network.NetworkProtocol.TurnCompleteMessage;
 public class BattleServer {
     private static final Logger LOGGER = Logger.getLogger(BattleServer.class.getName());
     private static final int DEFAULT_PORT = 8888;
+
+    /**
+     * How client sockets are serviced
+     * BLOCKING: one platform thread per client (simple, limited to a few thousand players)
+     * NIO: a small fixed set of selector loops multiplexing every client
+     */
+    public enum TransportMode {
+        BLOCKING,
+        NIO
+    }
+
+    /**
+     * Which threads run blocking client handlers (and the GameSession work they trigger)
+     * PLATFORM: one OS thread per client
+     * VIRTUAL: one virtual thread per client, parked cheaply while waiting on the socket
+     */
+    public enum ExecutionMode {
+        PLATFORM,
+        VIRTUAL;
+
+        ExecutorService newClientExecutor() {
+            if (this == VIRTUAL) {
+                return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("battle-client-v", 0).factory());
+            }
+            return Executors.newThreadPerTaskExecutor(Thread.ofPlatform().name("battle-client-", 0).factory());
+        }
+    }
+    
+    /**
+     * What gives way when a client's outbound queue is full
+     * DROP_STALE_STATE: discard the oldest queued state update to make room
+     * KEEP_LATEST_SNAPSHOT: discard every queued state update, keeping only the newest
+     * DISCONNECT: close the connection
+     * A client that loses a delta this way sees a sequence gap and asks for a resync.
+     */
+    public enum OverflowPolicy {
+        DROP_STALE_STATE,
+        KEEP_LATEST_SNAPSHOT,
+        DISCONNECT
+    }
     
     private final int port;
+    private final TransportMode transportMode;
+    private final ExecutionMode executionMode;
+    private final int ioThreads;
+    private int outboundCapacity = OutboundQueue.DEFAULT_CAPACITY;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_STALE_STATE;
+    private final OutboundQueue.Metrics outboundMetrics = new OutboundQueue.Metrics();
     private ServerSocket serverSocket;
+    private ExecutorService clientExecutor;
+    private NioServerTransport nioTransport;
     private final Map<String, GameSession> gameSessions;
+    private final Map<String, GameSession> sessionsByClient; // clientId -> the battle that client is in
     private final Map<String, ClientHandler> connectedClients;
-    private ClientHandler waitingPlayer; // Player waiting for opponent
-    private boolean running;
+    private final MatchmakingService<Seeker> matchmaking;
+    private ExecutorService matchStartExecutor;
+    private volatile boolean running;
     
-    public BattleServer(int port) {
+    /**
+     * @param executionMode Thread type for blocking client handlers (ignored by the NIO transport)
+     * @param ioThreads Number of selector loops (only used by the NIO transport)
+     */
+    public BattleServer(int port, TransportMode transportMode, ExecutionMode executionMode, int ioThreads) {
         this.port = port;
+        this.transportMode = transportMode;
+        this.executionMode = executionMode;
+        this.ioThreads = ioThreads;
+        this.matchmaking = new MatchmakingService<>(this::startMatch);
         this.gameSessions = new ConcurrentHashMap<>();
+        this.sessionsByClient = new ConcurrentHashMap<>();
         this.connectedClients = new ConcurrentHashMap<>();
         this.running = false;
     }
+
+    public BattleServer(int port, TransportMode transportMode, int ioThreads) {
+        this(port, transportMode, ExecutionMode.PLATFORM, ioThreads);
+    }
+
+    public BattleServer(int port, TransportMode transportMode) {
+        this(port, transportMode, defaultIoThreads());
+    }
+
+    public BattleServer(int port, ExecutionMode executionMode) {
+        this(port, TransportMode.BLOCKING, executionMode, defaultIoThreads());
+    }
+
+    public BattleServer(int port) {
+        this(port, TransportMode.BLOCKING);
+    }
     
     public BattleServer() {
         this(DEFAULT_PORT);
     }
+
+    /**
+     * Default number of NIO loops: one per core, capped since loops mostly wait on I/O
+     */
+    public static int defaultIoThreads() {
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    }
+    
+    /**
+     * Configure the per-client outbound queue (call before start)
+     *
+     * @param capacity Frames a client may have pending before the overflow policy applies
+     */
+    public void configureOutboundQueue(int capacity, OverflowPolicy overflowPolicy) {
+        if (running) {
+            throw new IllegalStateException("Outbound queue must be configured before start()");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Outbound queue capacity must be positive");
+        }
+        this.outboundCapacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    private OutboundQueue newOutboundQueue() {
+        return new OutboundQueue(outboundCapacity, overflowPolicy, outboundMetrics);
+    }
     
     /**
      * Start the server
      */
     public void start() throws IOException {
+        matchStartExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        matchmaking.start();
+        if (transportMode == TransportMode.NIO) {
+            startNio();
+        } else {
+            startBlocking();
+        }
+    }
+
+    private void startBlocking() throws IOException {
         serverSocket = new ServerSocket(port);
+        clientExecutor = executionMode.newClientExecutor();
         running = true;
-        LOGGER.info("Battle Server started on port " + port);
+        LOGGER.info("Battle Server started on port " + port + " (blocking transport, " + executionMode + " threads)");
         
         // Accept client connections
         new Thread(() -> {
@@ -80,8 +205,8 @@ public class BattleServer {
                     Socket clientSocket = serverSocket.accept();
                     LOGGER.info("New client connected: " + clientSocket.getInetAddress());
                     
-                    ClientHandler handler = new ClientHandler(clientSocket);
-                    new Thread(handler).start();
+                    SocketClientHandler handler = new SocketClientHandler(clientSocket);
+                    clientExecutor.execute(handler);
                     
                 } catch (IOException e) {
                     if (running) {
@@ -91,6 +216,34 @@ public class BattleServer {
             }
         }).start();
     }
+
+    private void startNio() throws IOException {
+        nioTransport = new NioServerTransport(port, ioThreads, new NioServerTransport.Handler() {
+            @Override
+            public void onOpen(NioServerTransport.Connection connection) {
+                NioClientHandler handler = new NioClientHandler(connection);
+                connection.setAttachment(handler);
+                connectedClients.put(handler.getClientId(), handler);
+                LOGGER.fine(() -> "New client connected: " + connection.getRemoteAddress());
+            }
+
+            @Override
+            public void onMessage(NioServerTransport.Connection connection, Message message) {
+                ((NioClientHandler) connection.getAttachment()).handleMessage(message);
+            }
+
+            @Override
+            public void onClose(NioServerTransport.Connection connection) {
+                NioClientHandler handler = (NioClientHandler) connection.getAttachment();
+                if (handler != null && handler.isConnected()) {
+                    handler.disconnect();
+                }
+            }
+        }, this::newOutboundQueue);
+        nioTransport.start();
+        running = true;
+        LOGGER.info("Battle Server started on port " + port + " (NIO transport, " + ioThreads + " I/O threads)");
+    }
     
     /**
      * Stop the server
@@ -101,67 +254,171 @@ public class BattleServer {
             if (serverSocket != null && !serverSocket.isClosed()) {
                 serverSocket.close();
             }
+            if (nioTransport != null) {
+                nioTransport.stop();
+            }
+            if (clientExecutor != null) {
+                clientExecutor.shutdown();
+            }
+            matchmaking.stop();
+            if (matchStartExecutor != null) {
+                matchStartExecutor.shutdown();
+            }
             // Close all client connections
             connectedClients.values().forEach(ClientHandler::disconnect);
             connectedClients.clear();
             gameSessions.clear();
+            sessionsByClient.clear();
             LOGGER.info("Battle Server stopped");
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Error stopping server", e);
         }
     }
+
+    public TransportMode getTransportMode() {
+        return transportMode;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Number of clients currently connected
+     */
+    public int getConnectedClientCount() {
+        return connectedClients.size();
+    }
+
+    /**
+     * Number of battles currently in progress
+     */
+    public int getActiveGameCount() {
+        return gameSessions.size();
+    }
     
     /**
-     * Automatic matchmaking - add player to queue
-     * Thread-safe: synchronized to prevent race conditions
-     * 
-     * Flow:
-     * - 1st player: Added to waitingPlayer queue
-     * - 2nd player: Matched with waitingPlayer, game starts immediately
-     * - 3rd+ player: Replaces waitingPlayer (previous waiter is notified)
-     * 
-     * This ensures only 2 players are in a match at a time, and one player
-     * is always waiting for the next available opponent.
+     * Frames waiting in outbound queues across all clients
      */
-    private synchronized void matchmakePlayer(String playerName, List<PokemonDTO> team, ClientHandler handler) {
-        if (waitingPlayer == null) {
-            // First player or new player after match started - put in waiting queue
-            waitingPlayer = handler;
-            waitingPlayer.setTeam(team);
-            waitingPlayer.sendMessage(new GameCreatedMessage("WAITING", true));
-            LOGGER.info("Player " + playerName + " is waiting for opponent");
-        } else {
-            // Second player - start game immediately
-            if (waitingPlayer == handler) {
-                // Same player trying to join twice - should not happen
-                handler.sendMessage(new GameErrorMessage(
-                    "You are already in the matchmaking queue"));
-                return;
+    public long getOutboundQueueDepth() {
+        return outboundMetrics.getQueuedFrames();
+    }
+
+    /**
+     * Deepest single outbound queue seen since start
+     */
+    public int getPeakOutboundQueueDepth() {
+        return outboundMetrics.getPeakDepth();
+    }
+
+    /**
+     * State updates discarded because a client could not keep up
+     */
+    public long getDroppedOutboundFrames() {
+        return outboundMetrics.getDroppedFrames();
+    }
+
+    /**
+     * Clients disconnected because their outbound queue overflowed
+     */
+    public long getOverflowDisconnects() {
+        return outboundMetrics.getOverflowDisconnects();
+    }
+    
+    /**
+     * Players waiting in the matchmaking queues
+     */
+    public int getMatchmakingQueueSize() {
+        return matchmaking.getQueuedCount();
+    }
+
+    /**
+     * Time players spent in the matchmaking queues before being paired
+     */
+    public LatencyHistogram getMatchmakingWaitTimes() {
+        return matchmaking.getWaitTimes();
+    }
+    
+    /**
+     * Automatic matchmaking - add player to the queue for their team's strength
+     * Lock-free: the MatchmakingService pairs queued players on its own thread every tick
+     */
+    private void matchmakePlayer(String playerName, List<PokemonDTO> team, ClientHandler handler) {
+        if (findSession(handler) != null) {
+            handler.sendMessage(new GameErrorMessage("You are already in a battle"));
+            return;
+        }
+        handler.setTeam(team);
+        // Reply before queueing so WAITING always reaches the client ahead of GAME_JOINED
+        handler.sendMessage(new GameCreatedMessage("WAITING", true));
+        if (!matchmaking.join(handler.getClientId(), teamStrength(team), new Seeker(handler, playerName, team))) {
+            handler.sendMessage(new GameErrorMessage("You are already in the matchmaking queue"));
+            return;
+        }
+        LOGGER.info("Player " + playerName + " is waiting for opponent");
+    }
+
+    private static int teamStrength(List<PokemonDTO> team) {
+        int strength = 0;
+        if (team != null) {
+            for (PokemonDTO pokemon : team) {
+                strength += pokemon.getTotal();
             }
-            
-            String gameId = generateGameId();
-            GameSession session = new GameSession(
-                gameId, 
-                waitingPlayer.getUsername(), 
-                waitingPlayer.getTeam(), 
-                waitingPlayer,
-                playerName,
-                team,
-                handler
-            );
-            gameSessions.put(gameId, session);
-            
-            // Notify both players
-            waitingPlayer.sendMessage(new GameJoinedMessage(gameId, true, playerName));
-            handler.sendMessage(new GameJoinedMessage(gameId, false, waitingPlayer.getUsername()));
-            
-            LOGGER.info("Match created: " + gameId + " - " + waitingPlayer.getUsername() + " vs " + playerName);
-            
-            // Start battle
-            session.startBattle();
-            
-            // Clear waiting player
-            waitingPlayer = null;
+        }
+        return strength;
+    }
+
+    /**
+     * Pairing callback - builds the session on the pairing thread, starts the battle off it
+     */
+    private void startMatch(Seeker first, Seeker second) {
+        String gameId = generateGameId();
+        GameSession session = new GameSession(
+            gameId,
+            first.playerName,
+            first.team,
+            first.handler,
+            second.playerName,
+            second.team,
+            second.handler
+        );
+        gameSessions.put(gameId, session);
+        sessionsByClient.put(first.handler.getClientId(), session);
+        sessionsByClient.put(second.handler.getClientId(), session);
+
+        // Checked only once both are registered: a player who drops from here on finds the session
+        // in handleClientDisconnect, and one who dropped earlier is caught here. Either way
+        // handlePlayerDisconnect ends the session once and puts the other player back in line.
+        if (!first.handler.isConnected() || !second.handler.isConnected()) {
+            session.handlePlayerDisconnect(first.handler.isConnected() ? second.handler : first.handler);
+            return;
+        }
+
+        // Notify both players
+        first.handler.sendMessage(new GameJoinedMessage(gameId, true, second.playerName));
+        second.handler.sendMessage(new GameJoinedMessage(gameId, false, first.playerName));
+
+        LOGGER.info("Match created: " + gameId + " - " + first.playerName + " vs " + second.playerName);
+
+        matchStartExecutor.execute(session::startBattle);
+    }
+
+    /**
+     * A player queued for matchmaking
+     */
+    private static final class Seeker {
+        private final ClientHandler handler;
+        private final String playerName;
+        private final List<PokemonDTO> team;
+
+        private Seeker(ClientHandler handler, String playerName, List<PokemonDTO> team) {
+            this.handler = handler;
+            this.playerName = playerName;
+            this.team = team;
         }
     }
     
@@ -172,26 +429,41 @@ public class BattleServer {
         return UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
     
+    /**
+     * Game session a client is currently playing in, or null
+     */
+    private GameSession findSession(ClientHandler client) {
+        return sessionsByClient.get(client.getClientId());
+    }
+
+    /**
+     * Tear down a finished session and drop both players from the index
+     * Idempotent, so racing end/forfeit/disconnect paths are harmless
+     */
+    private void removeSession(GameSession session) {
+        gameSessions.remove(session.getGameId(), session);
+        sessionsByClient.remove(session.player1Handler.getClientId(), session);
+        sessionsByClient.remove(session.player2Handler.getClientId(), session);
+    }
+    
     /**
      * Handle client disconnection
+     * Constant time: the session index replaces a scan over every active game
      */
     private void handleClientDisconnect(ClientHandler client) {
         connectedClients.remove(client.getClientId());
         
-        // Check if this is the waiting player
-        if (waitingPlayer == client) {
-            waitingPlayer = null;
-            LOGGER.info("Waiting player disconnected");
+        GameSession session = sessionsByClient.remove(client.getClientId());
+        if (session != null) {
+            session.handlePlayerDisconnect(client);
+            removeSession(session);
             return;
         }
         
-        // Find and end any games this client was in
-        gameSessions.values().stream()
-            .filter(session -> session.hasClient(client))
-            .forEach(session -> {
-                session.handlePlayerDisconnect(client);
-                gameSessions.remove(session.getGameId());
-            });
+        // Check if this is a waiting player
+        if (matchmaking.cancel(client.getClientId())) {
+            LOGGER.info("Waiting player disconnected");
+        }
     }
     
     /**
@@ -207,9 +479,16 @@ public class BattleServer {
         private final ClientHandler player2Handler;
         private final BattleService battleService;
         private BattleState battleState; // Domain model
-        private BattleStateDTO currentState;
+        // Every roll in this battle derives from it; logged so a battle can be replayed
+        private final long battleSeed = BattleRandom.newSeed();
+        private BattleStateDTO currentState; // Server mirror, refreshed in place every turn
+        private int stateSequence;
         private boolean isPlayer1Turn;
         private boolean battleStarted;
+        // Set once by the first disconnect or forfeit; startBattle does nothing after it
+        private boolean sessionEnded;
+        // Guards the battle fields and flags above; explicit lock instead of synchronized so virtual threads unmount while waiting
+        private final ReentrantLock turnLock = new ReentrantLock();
         
         // Constructor for immediate matchmaking
         public GameSession(String gameId, String player1Name, List<PokemonDTO> team1, ClientHandler handler1,
@@ -238,7 +517,12 @@ public class BattleServer {
          * Start the battle
          */
         public void startBattle() {
+            turnLock.lock();
             try {
+                if (sessionEnded) {
+                    // A player left between matchmaking and the start
+                    return;
+                }
                 // Convert DTOs to Pokemon objects
                 List<Pokemon> team1 = player1Team.stream()
                     .map(this::convertDTOToPokemon)
@@ -252,102 +536,145 @@ public class BattleServer {
                 Team enemyTeamObj = battleService.createTeam(team2, player2Name);
                 
                 // Initialize battle
-                battleState = battleService.startBattle(playerTeamObj, enemyTeamObj);
+                battleState = battleService.startBattle(playerTeamObj, enemyTeamObj, battleSeed);
                 currentState = battleService.getBattleStateDTO(battleState);
+                // First turn goes to the faster Pokemon, exactly as clients see it in the state
+                isPlayer1Turn = battleState.getCurrentTurn() == BattleState.Turn.PLAYER;
                 battleStarted = true;
                 
                 // Notify both players
                 player1Handler.sendMessage(new GameStartedMessage(currentState));
                 player2Handler.sendMessage(new GameStartedMessage(currentState));
                 
-                LOGGER.info("Battle started: " + gameId);
+                LOGGER.info("Battle started: " + gameId + " (seed " + battleSeed + ")");
                 
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error starting battle", e);
                 player1Handler.sendMessage(new GameErrorMessage("Failed to start battle"));
                 player2Handler.sendMessage(new GameErrorMessage("Failed to start battle"));
+            } finally {
+                turnLock.unlock();
             }
         }
         
         /**
          * Process a player move
          */
-        public synchronized void processMove(ClientHandler client, int moveIndex) {
-            if (!battleStarted) {
-                client.sendMessage(new ErrorMessage(ERROR_INVALID_MOVE, "Battle not started"));
-                return;
-            }
+        public void processMove(ClientHandler client, int moveIndex) {
+            turnLock.lock();
+            try {
+                if (!battleStarted) {
+                    client.sendMessage(new ErrorMessage(ERROR_INVALID_MOVE, "Battle not started"));
+                    return;
+                }
             
-            // Validate it's the correct player's turn
-            boolean isPlayer1 = (client == player1Handler);
-            if (isPlayer1 != isPlayer1Turn) {
-                client.sendMessage(new ErrorMessage(ERROR_NOT_YOUR_TURN, "Not your turn"));
-                return;
-            }
+                // Validate it's the correct player's turn
+                boolean isPlayer1 = (client == player1Handler);
+                if (isPlayer1 != isPlayer1Turn) {
+                    client.sendMessage(new ErrorMessage(ERROR_NOT_YOUR_TURN, "Not your turn"));
+                    return;
+                }
             
-            try {
-                // Execute the move on server
-                String message = battleService.executePlayerMove(battleState, moveIndex);
+                try {
+                    // Execute the move on server
+                    String message = battleService.executePlayerMove(battleState, moveIndex);
                 
-                // Get updated state
-                currentState = battleService.getBattleStateDTO(battleState);
+                    // Send only what changed to both players
+                    broadcastState(message);
                 
-                // Send update to both players
-                BattleStateUpdateMessage update = new BattleStateUpdateMessage(currentState, message);
-                player1Handler.sendMessage(update);
-                player2Handler.sendMessage(update);
+                    // Check if battle ended
+                    if (currentState.isBattleEnded()) {
+                        handleBattleEnd();
+                    } else {
+                        // Switch turns
+                        isPlayer1Turn = !isPlayer1Turn;
+                        player1Handler.sendMessage(new TurnCompleteMessage());
+                        player2Handler.sendMessage(new TurnCompleteMessage());
+                    }
                 
-                // Check if battle ended
-                if (currentState.isBattleEnded()) {
-                    handleBattleEnd();
-                } else {
-                    // Switch turns
-                    isPlayer1Turn = !isPlayer1Turn;
-                    player1Handler.sendMessage(new TurnCompleteMessage());
-                    player2Handler.sendMessage(new TurnCompleteMessage());
+                } catch (Exception e) {
+                    LOGGER.log(Level.SEVERE, "Error processing move", e);
+                    client.sendMessage(new ErrorMessage(ERROR_INVALID_MOVE, e.getMessage()));
                 }
-                
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Error processing move", e);
-                client.sendMessage(new ErrorMessage(ERROR_INVALID_MOVE, e.getMessage()));
+            } finally {
+                turnLock.unlock();
             }
         }
         
         /**
          * Process a Pokemon switch
          */
-        public synchronized void processSwitchPokemon(ClientHandler client, int pokemonIndex) {
-            if (!battleStarted) {
-                client.sendMessage(new ErrorMessage(ERROR_INVALID_MOVE, "Battle not started"));
-                return;
-            }
+        public void processSwitchPokemon(ClientHandler client, int pokemonIndex) {
+            turnLock.lock();
+            try {
+                if (!battleStarted) {
+                    client.sendMessage(new ErrorMessage(ERROR_INVALID_MOVE, "Battle not started"));
+                    return;
+                }
             
-            boolean isPlayer1 = (client == player1Handler);
-            if (isPlayer1 != isPlayer1Turn) {
-                client.sendMessage(new ErrorMessage(ERROR_NOT_YOUR_TURN, "Not your turn"));
-                return;
-            }
+                boolean isPlayer1 = (client == player1Handler);
+                if (isPlayer1 != isPlayer1Turn) {
+                    client.sendMessage(new ErrorMessage(ERROR_NOT_YOUR_TURN, "Not your turn"));
+                    return;
+                }
             
-            try {
-                // Execute the switch on server
-                String message = battleService.switchPokemon(battleState, pokemonIndex);
-                
-                // Get updated state
-                currentState = battleService.getBattleStateDTO(battleState);
+                try {
+                    // Execute the switch on server
+                    String message = battleService.switchPokemon(battleState, pokemonIndex);
                 
-                // Send update to both players
-                BattleStateUpdateMessage update = new BattleStateUpdateMessage(currentState, message);
-                player1Handler.sendMessage(update);
-                player2Handler.sendMessage(update);
+                    // Send only what changed to both players
+                    broadcastState(message);
                 
-                // Switch turns
-                isPlayer1Turn = !isPlayer1Turn;
-                player1Handler.sendMessage(new TurnCompleteMessage());
-                player2Handler.sendMessage(new TurnCompleteMessage());
+                    // Switch turns
+                    isPlayer1Turn = !isPlayer1Turn;
+                    player1Handler.sendMessage(new TurnCompleteMessage());
+                    player2Handler.sendMessage(new TurnCompleteMessage());
                 
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Error switching Pokemon", e);
-                client.sendMessage(new ErrorMessage(ERROR_INVALID_MOVE, e.getMessage()));
+                } catch (Exception e) {
+                    LOGGER.log(Level.SEVERE, "Error switching Pokemon", e);
+                    client.sendMessage(new ErrorMessage(ERROR_INVALID_MOVE, e.getMessage()));
+                }
+            } finally {
+                turnLock.unlock();
+            }
+        }
+        
+        /**
+         * Refresh the server mirror and send the change to both players
+         * Delta-capable clients get a BattleStateDeltaMessage, others the full snapshot
+         */
+        private void broadcastState(String actionMessage) {
+            BattleStateDelta delta = battleService.refreshBattleStateDTO(currentState, battleState);
+            delta.setSequence(++stateSequence);
+
+            Message deltaMessage = null;
+            Message fullMessage = null;
+            for (ClientHandler handler : new ClientHandler[] {player1Handler, player2Handler}) {
+                if (handler.acceptsDeltaUpdates()) {
+                    if (deltaMessage == null) {
+                        deltaMessage = new BattleStateDeltaMessage(delta, actionMessage);
+                    }
+                    handler.sendStateUpdate(deltaMessage);
+                } else {
+                    if (fullMessage == null) {
+                        fullMessage = new BattleStateUpdateMessage(currentState, actionMessage, stateSequence);
+                    }
+                    handler.sendStateUpdate(fullMessage);
+                }
+            }
+        }
+
+        /**
+         * Send a full snapshot to a client that detected a sequence gap
+         */
+        public void resendState(ClientHandler client) {
+            turnLock.lock();
+            try {
+                if (currentState != null) {
+                    client.sendMessage(new BattleStateUpdateMessage(currentState, null, stateSequence));
+                }
+            } finally {
+                turnLock.unlock();
             }
         }
         
@@ -371,71 +698,93 @@ public class BattleServer {
             LOGGER.info("Battle ended: " + gameId + " - Winner: " + winnerName);
             
             // Remove session
-            gameSessions.remove(gameId);
+            sessionEnded = true;
+            removeSession(this);
         }
 
         /**
          * Handle an explicit forfeit from a player
          */
-        public synchronized void processForfeit(ClientHandler forfeitingClient, String reason) {
-            if (!battleStarted) {
-                handlePlayerDisconnect(forfeitingClient);
-                return;
-            }
+        public void processForfeit(ClientHandler forfeitingClient, String reason) {
+            turnLock.lock();
+            try {
+                if (sessionEnded) {
+                    return;
+                }
+                if (!battleStarted) {
+                    handlePlayerDisconnect(forfeitingClient);
+                    return;
+                }
 
-            boolean forfeitingIsPlayer1 = (forfeitingClient == player1Handler);
-            String forfeitingName = forfeitingIsPlayer1 ? player1Name : player2Name;
-            String winnerName = forfeitingIsPlayer1 ? player2Name : player1Name;
-            boolean didPlayer1Win = !forfeitingIsPlayer1;
+                boolean forfeitingIsPlayer1 = (forfeitingClient == player1Handler);
+                String forfeitingName = forfeitingIsPlayer1 ? player1Name : player2Name;
+                String winnerName = forfeitingIsPlayer1 ? player2Name : player1Name;
+                boolean didPlayer1Win = !forfeitingIsPlayer1;
 
-            if (currentState != null) {
-                currentState.setBattleEnded(true);
-                currentState.setWinner(winnerName);
-            }
+                if (currentState != null) {
+                    currentState.setBattleEnded(true);
+                    currentState.setWinner(winnerName);
+                }
 
-            BattleEndMessage endMessage = new BattleEndMessage(
-                didPlayer1Win,
-                winnerName,
-                forfeitingName,
-                BattleOutcomeType.FORFEIT
-            );
-            player1Handler.sendMessage(endMessage);
-            player2Handler.sendMessage(endMessage);
+                BattleEndMessage endMessage = new BattleEndMessage(
+                    didPlayer1Win,
+                    winnerName,
+                    forfeitingName,
+                    BattleOutcomeType.FORFEIT
+                );
+                player1Handler.sendMessage(endMessage);
+                player2Handler.sendMessage(endMessage);
 
-            String reasonSuffix = (reason != null && !reason.isBlank()) ? " (" + reason + ")" : "";
-            LOGGER.info(() -> "Player forfeited: " + forfeitingName + reasonSuffix + " - winner: " + winnerName);
+                String reasonSuffix = (reason != null && !reason.isBlank()) ? " (" + reason + ")" : "";
+                LOGGER.info(() -> "Player forfeited: " + forfeitingName + reasonSuffix + " - winner: " + winnerName);
 
-            battleStarted = false;
-            gameSessions.remove(gameId);
+                battleStarted = false;
+                sessionEnded = true;
+                removeSession(this);
+            } finally {
+                turnLock.unlock();
+            }
         }
         
         /**
          * Handle player disconnect
+         * The opponent wins by DISCONNECT, or goes back to matchmaking if the battle never started
          */
         public void handlePlayerDisconnect(ClientHandler disconnectedClient) {
-            if (!battleStarted) {
-                return;
-            }
-            
-            ClientHandler remainingClient = (disconnectedClient == player1Handler) ? player2Handler : player1Handler;
-            String winnerName = (disconnectedClient == player1Handler) ? player2Name : player1Name;
-            
-            if (remainingClient != null) {
-                boolean player1Won = remainingClient == player1Handler;
-                String loserName = disconnectedClient == player1Handler ? player1Name : player2Name;
+            turnLock.lock();
+            try {
+                if (sessionEnded) {
+                    return;
+                }
+                sessionEnded = true;
+                removeSession(this);
+
+                boolean disconnectedIsPlayer1 = disconnectedClient == player1Handler;
+                ClientHandler remainingClient = disconnectedIsPlayer1 ? player2Handler : player1Handler;
+                if (!battleStarted) {
+                    // Left between GAME_JOINED and the start: the other player only saw the pairing,
+                    // so they go back in line instead of waiting for a battle that never comes
+                    LOGGER.info("Player left game " + gameId + " before it started, requeueing opponent");
+                    if (remainingClient.isConnected()) {
+                        matchmakePlayer(disconnectedIsPlayer1 ? player2Name : player1Name,
+                            disconnectedIsPlayer1 ? player2Team : player1Team, remainingClient);
+                    }
+                    return;
+                }
+
+                String winnerName = disconnectedIsPlayer1 ? player2Name : player1Name;
+                String loserName = disconnectedIsPlayer1 ? player1Name : player2Name;
                 remainingClient.sendMessage(new BattleEndMessage(
-                    player1Won,
+                    !disconnectedIsPlayer1,
                     winnerName,
                     loserName,
                     BattleOutcomeType.DISCONNECT
                 ));
+                LOGGER.info("Player disconnected from game: " + gameId);
+                battleStarted = false;
+            } finally {
+                turnLock.unlock();
             }
-            
-            LOGGER.info("Player disconnected from game: " + gameId);
-            
-            // FIXED: Remove session from map to prevent memory leak
-            gameSessions.remove(gameId);
-            battleStarted = false;
         }
         
         /**
@@ -462,20 +811,23 @@ public class BattleServer {
     }
     
     /**
-     * Client Handler - Handles individual client connections
+     * Client Handler - Protocol logic for one connected client
+     * Outgoing messages are encoded on the sending thread and queued; transport-specific
+     * subclasses deliver incoming messages and drain the queue to the client
      */
-    private class ClientHandler implements Runnable {
-        private final Socket socket;
+    private abstract class ClientHandler {
         private final String clientId;
-        private ObjectOutputStream out;
-        private ObjectInputStream in;
+        protected final OutboundQueue outbound;
         private String username;
         private List<PokemonDTO> team;
-        private boolean connected;
+        protected volatile boolean connected;
+        // Stays LEGACY until the client advertises binary codec support in CONNECT
+        protected volatile MessageFraming.Format outboundFormat = MessageFraming.Format.LEGACY;
+        private volatile boolean deltaUpdates;
         
-        public ClientHandler(Socket socket) {
-            this.socket = socket;
+        protected ClientHandler(OutboundQueue outbound) {
             this.clientId = UUID.randomUUID().toString();
+            this.outbound = outbound;
             this.connected = true;
         }
         
@@ -490,38 +842,19 @@ public class BattleServer {
         public List<PokemonDTO> getTeam() {
             return team;
         }
-        
-        @Override
-        public void run() {
-            try {
-                out = new ObjectOutputStream(socket.getOutputStream());
-                in = new ObjectInputStream(socket.getInputStream());
-                
-                connectedClients.put(clientId, this);
-                
-                // Handle messages
-                while (connected && !socket.isClosed()) {
-                    try {
-                        Message message = (Message) in.readObject();
-                        handleMessage(message);
-                    } catch (ClassNotFoundException e) {
-                        LOGGER.log(Level.SEVERE, "Invalid message received", e);
-                    }
-                }
-                
-            } catch (IOException e) {
-                if (connected) {
-                    LOGGER.log(Level.WARNING, "Client connection error", e);
-                }
-            } finally {
-                disconnect();
-            }
+
+        public boolean isConnected() {
+            return connected;
+        }
+
+        public boolean acceptsDeltaUpdates() {
+            return deltaUpdates;
         }
         
         /**
          * Handle incoming message
          */
-        private void handleMessage(Message message) {
+        protected void handleMessage(Message message) {
             switch (message.getType()) {
                 case CONNECT:
                     handleConnect((ConnectMessage) message);
@@ -541,6 +874,9 @@ public class BattleServer {
                 case FORFEIT:
                     handleForfeit((ForfeitMessage) message);
                     break;
+                case RESYNC_REQUEST:
+                    handleResyncRequest((ResyncRequestMessage) message);
+                    break;
                 case DISCONNECT:
                     disconnect();
                     break;
@@ -554,7 +890,15 @@ public class BattleServer {
         
         private void handleConnect(ConnectMessage message) {
             this.username = message.getUsername();
+            this.deltaUpdates = message.supportsDeltaUpdates();
             LOGGER.info("Client connected: " + username);
+
+            // Each codec reads only its own version; any other peer stays on the old format
+            if (message.getCodecVersion() == BinaryCodec.VERSION) {
+                // Acknowledge in the old format so the client switches only after reading it
+                sendMessage(new ConnectAckMessage(BinaryCodec.VERSION));
+                outboundFormat = MessageFraming.Format.BINARY;
+            }
         }
         
         private void handleCreateGame(CreateGameMessage message) {
@@ -570,51 +914,91 @@ public class BattleServer {
         
         private void handlePlayerMove(PlayerMoveMessage message) {
             // Find the game session this client is in
-            gameSessions.values().stream()
-                .filter(session -> session.hasClient(this))
-                .findFirst()
-                .ifPresent(session -> session.processMove(this, message.getMoveIndex()));
+            GameSession session = findSession(this);
+            if (session != null) {
+                session.processMove(this, message.getMoveIndex());
+            }
         }
         
         private void handleSwitchPokemon(SwitchPokemonMessage message) {
             // Find the game session this client is in
-            gameSessions.values().stream()
-                .filter(session -> session.hasClient(this))
-                .findFirst()
-                .ifPresent(session -> session.processSwitchPokemon(this, message.getPokemonIndex()));
+            GameSession session = findSession(this);
+            if (session != null) {
+                session.processSwitchPokemon(this, message.getPokemonIndex());
+            }
         }
 
         private void handleForfeit(ForfeitMessage message) {
-            gameSessions.values().stream()
-                .filter(session -> session.hasClient(this))
-                .findFirst()
-                .ifPresent(session -> session.processForfeit(this, message.getReason()));
+            GameSession session = findSession(this);
+            if (session != null) {
+                session.processForfeit(this, message.getReason());
+            }
+        }
+
+        private void handleResyncRequest(ResyncRequestMessage message) {
+            LOGGER.fine(() -> "Resync requested by " + username + " after sequence " + message.getLastSequence());
+            GameSession session = findSession(this);
+            if (session != null) {
+                session.resendState(this);
+            }
         }
         
         /**
-         * Send message to client
+         * Send message to client (never dropped)
          */
         public void sendMessage(Message message) {
+            enqueue(message, false);
+        }
+
+        /**
+         * Send a battle state update, which the overflow policy may drop for a slow client
+         */
+        public void sendStateUpdate(Message message) {
+            enqueue(message, true);
+        }
+
+        private void enqueue(Message message, boolean stateUpdate) {
+            if (!connected) {
+                return;
+            }
+            ByteBuffer frame;
             try {
-                if (out != null && connected) {
-                    out.writeObject(message);
-                    out.flush();
-                }
+                frame = MessageFraming.encodeFrame(message, outboundFormat);
             } catch (IOException e) {
-                LOGGER.log(Level.WARNING, "Error sending message to client", e);
-                disconnect();
+                LOGGER.log(Level.WARNING, "Error encoding message for client", e);
+                return;
+            }
+
+            switch (outbound.offer(frame, stateUpdate)) {
+                case OVERFLOW:
+                    LOGGER.warning("Outbound queue full for " + username + ", disconnecting");
+                    disconnect();
+                    break;
+                case CLOSED:
+                    break;
+                default:
+                    onFrameQueued();
             }
         }
+
+        /**
+         * Wake whatever drains the outbound queue
+         */
+        protected abstract void onFrameQueued();
+
+        /**
+         * Close the underlying transport
+         */
+        protected abstract void closeTransport() throws IOException;
         
         /**
          * Disconnect client
          */
         public void disconnect() {
             connected = false;
+            outbound.close();
             try {
-                if (socket != null && !socket.isClosed()) {
-                    socket.close();
-                }
+                closeTransport();
                 handleClientDisconnect(this);
             } catch (IOException e) {
                 LOGGER.log(Level.WARNING, "Error disconnecting client", e);
@@ -625,6 +1009,108 @@ public class BattleServer {
             return clientId;
         }
     }
+
+    /**
+     * Blocking client handler - one thread reading frames from a socket,
+     * plus a writer task that drains the outbound queue so a slow socket only stalls itself
+     */
+    private class SocketClientHandler extends ClientHandler implements Runnable {
+        private final Socket socket;
+        private BufferedOutputStream out;
+        private DataInputStream in;
+
+        public SocketClientHandler(Socket socket) {
+            super(newOutboundQueue());
+            this.socket = socket;
+        }
+
+        @Override
+        public void run() {
+            try {
+                out = new BufferedOutputStream(socket.getOutputStream());
+                in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                
+                connectedClients.put(getClientId(), this);
+                clientExecutor.execute(this::writeLoop);
+                
+                // Handle messages
+                while (connected && !socket.isClosed()) {
+                    try {
+                        Message message = MessageFraming.readFrame(in);
+                        handleMessage(message);
+                    } catch (ClassNotFoundException e) {
+                        LOGGER.log(Level.SEVERE, "Invalid message received", e);
+                    }
+                }
+                
+            } catch (IOException e) {
+                if (connected) {
+                    LOGGER.log(Level.WARNING, "Client connection error", e);
+                }
+            } finally {
+                disconnect();
+            }
+        }
+
+        /**
+         * Write everything queued since the last batch, then flush once
+         */
+        private void writeLoop() {
+            try {
+                while (!outbound.isClosed()) {
+                    ByteBuffer[] batch = outbound.awaitBatch(1, TimeUnit.SECONDS);
+                    if (batch.length == 0) {
+                        continue;
+                    }
+                    for (ByteBuffer frame : batch) {
+                        out.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+                    }
+                    out.flush();
+                }
+            } catch (IOException e) {
+                if (connected) {
+                    LOGGER.log(Level.WARNING, "Error sending message to client", e);
+                    disconnect();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        protected void onFrameQueued() {
+            // The writer task is already waiting on the queue
+        }
+
+        @Override
+        protected void closeTransport() throws IOException {
+            if (socket != null && !socket.isClosed()) {
+                socket.close();
+            }
+        }
+    }
+
+    /**
+     * NIO client handler - messages arrive on a selector loop, writes are queued to it
+     */
+    private class NioClientHandler extends ClientHandler {
+        private final NioServerTransport.Connection connection;
+
+        public NioClientHandler(NioServerTransport.Connection connection) {
+            super(connection.getOutboundQueue());
+            this.connection = connection;
+        }
+
+        @Override
+        protected void onFrameQueued() {
+            connection.requestFlush();
+        }
+
+        @Override
+        protected void closeTransport() {
+            connection.close();
+        }
+    }
     
     /**
      * Main method to start the server
@@ -0,0 +1,640 @@
+package backend.infrastructure.network;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import backend.application.dto.BattleStateDTO;
+import backend.application.dto.BattleStateDelta;
+import backend.application.dto.BattleStateDelta.PokemonUpdate;
+import backend.application.dto.MoveDTO;
+import backend.application.dto.PokemonDTO;
+import backend.infrastructure.network.NetworkProtocol.BattleEndMessage;
+import backend.infrastructure.network.NetworkProtocol.BattleOutcomeType;
+import backend.infrastructure.network.NetworkProtocol.BattleStateDeltaMessage;
+import backend.infrastructure.network.NetworkProtocol.BattleStateUpdateMessage;
+import backend.infrastructure.network.NetworkProtocol.ConnectAckMessage;
+import backend.infrastructure.network.NetworkProtocol.ConnectMessage;
+import backend.infrastructure.network.NetworkProtocol.CreateGameMessage;
+import backend.infrastructure.network.NetworkProtocol.DisconnectMessage;
+import backend.infrastructure.network.NetworkProtocol.ErrorMessage;
+import backend.infrastructure.network.NetworkProtocol.ForfeitMessage;
+import backend.infrastructure.network.NetworkProtocol.GameCreatedMessage;
+import backend.infrastructure.network.NetworkProtocol.GameErrorMessage;
+import backend.infrastructure.network.NetworkProtocol.GameJoinedMessage;
+import backend.infrastructure.network.NetworkProtocol.GameStartedMessage;
+import backend.infrastructure.network.NetworkProtocol.HeartbeatMessage;
+import backend.infrastructure.network.NetworkProtocol.JoinGameMessage;
+import backend.infrastructure.network.NetworkProtocol.Message;
+import backend.infrastructure.network.NetworkProtocol.MessageType;
+import backend.infrastructure.network.NetworkProtocol.PlayerMoveMessage;
+import backend.infrastructure.network.NetworkProtocol.ResyncRequestMessage;
+import backend.infrastructure.network.NetworkProtocol.SwitchPokemonMessage;
+import backend.infrastructure.network.NetworkProtocol.TurnCompleteMessage;
+
+/**
+ * Binary Codec - Compact, hand-written encoding of every protocol message
+ *
+ * Payload layout: [version byte][MessageType tag byte][fields...]
+ * Integers are zig-zag varints, except counts, stats, HP and move power/accuracy,
+ * which are never negative and use plain varints so that 64-127 still fit one byte.
+ * Strings are varint length + UTF-8 (length 0 = null) or a negative back-reference
+ * to a string already written in the same payload, and Pokemon types are one byte
+ * from a fixed table. Timestamps are not sent;
+ * decoded messages are stamped on arrival. Nothing here ever instantiates
+ * arbitrary classes, unlike Java serialization.
+ */
+final class BinaryCodec {
+    static final int VERSION = 3;
+
+    private static final int MAX_LIST_SIZE = 64;
+    // Two full teams with moves encode to about 300 bytes; start there to skip regrowing
+    private static final int STATE_CAPACITY = 512;
+    // Pokemon types are capitalised, move types from the catalog are lower case, and a
+    // single-typed Pokemon has "" as its second type; all of them decode back unchanged
+    private static final String[] TYPE_TABLE = {
+        null, "Normal", "Fire", "Water", "Electric", "Grass", "Ice", "Fighting", "Poison", "Ground",
+        "Flying", "Psychic", "Bug", "Rock", "Ghost", "Dragon", "Dark", "Steel", "Fairy",
+        "", "normal", "fire", "water", "electric", "grass", "ice", "fighting", "poison", "ground",
+        "flying", "psychic", "bug", "rock", "ghost", "dragon", "dark", "steel", "fairy"
+    };
+    private static final Map<String, Integer> TYPE_INDEX = new HashMap<>();
+    // Marks a type string outside TYPE_TABLE, written inline after the marker
+    private static final int CUSTOM_TYPE = 0xFF;
+
+    static {
+        for (int i = 1; i < TYPE_TABLE.length; i++) {
+            TYPE_INDEX.put(TYPE_TABLE[i], i);
+        }
+    }
+
+    private BinaryCodec() {
+        // Utility class
+    }
+
+    /**
+     * True if the payload was produced by this codec (Java serialization starts with 0xAC)
+     */
+    static boolean isBinary(byte[] payload) {
+        return payload.length > 0 && payload[0] == VERSION;
+    }
+
+    static byte[] encode(Message message) {
+        MessageType type = message.getType();
+        boolean carriesState = type == MessageType.GAME_STARTED || type == MessageType.BATTLE_STATE_UPDATE
+            || type == MessageType.CREATE_GAME || type == MessageType.JOIN_GAME;
+        Writer w = new Writer(carriesState ? STATE_CAPACITY : 64);
+        w.writeByte(VERSION);
+        w.writeByte(type.getTag());
+
+        switch (type) {
+            case CONNECT: {
+                ConnectMessage m = (ConnectMessage) message;
+                w.writeString(m.getUsername());
+                w.writeString(m.getVersion());
+                w.writeInt(m.getCodecVersion());
+                w.writeBoolean(m.supportsDeltaUpdates());
+                break;
+            }
+            case CONNECT_ACK:
+                w.writeInt(((ConnectAckMessage) message).getCodecVersion());
+                break;
+            case DISCONNECT:
+                w.writeString(((DisconnectMessage) message).getReason());
+                break;
+            case HEARTBEAT:
+            case TURN_COMPLETE:
+                break;
+            case CREATE_GAME: {
+                CreateGameMessage m = (CreateGameMessage) message;
+                w.writeString(m.getPlayerName());
+                writePokemonList(w, m.getTeam());
+                break;
+            }
+            case JOIN_GAME: {
+                JoinGameMessage m = (JoinGameMessage) message;
+                w.writeString(m.getGameId());
+                w.writeString(m.getPlayerName());
+                writePokemonList(w, m.getTeam());
+                break;
+            }
+            case GAME_CREATED: {
+                GameCreatedMessage m = (GameCreatedMessage) message;
+                w.writeString(m.getGameId());
+                w.writeBoolean(m.isPlayerOne());
+                break;
+            }
+            case GAME_JOINED: {
+                GameJoinedMessage m = (GameJoinedMessage) message;
+                w.writeString(m.getGameId());
+                w.writeBoolean(m.isPlayerOne());
+                w.writeString(m.getOpponentName());
+                break;
+            }
+            case GAME_STARTED:
+                writeBattleState(w, ((GameStartedMessage) message).getInitialState());
+                break;
+            case GAME_ERROR:
+                w.writeString(((GameErrorMessage) message).getError());
+                break;
+            case BATTLE_STATE_UPDATE: {
+                BattleStateUpdateMessage m = (BattleStateUpdateMessage) message;
+                writeBattleState(w, m.getState());
+                w.writeString(m.getActionMessage());
+                w.writeUInt(m.getSequence());
+                break;
+            }
+            case BATTLE_STATE_DELTA: {
+                BattleStateDeltaMessage m = (BattleStateDeltaMessage) message;
+                writeDelta(w, m.getDelta());
+                w.writeString(m.getActionMessage());
+                break;
+            }
+            case RESYNC_REQUEST:
+                w.writeInt(((ResyncRequestMessage) message).getLastSequence());
+                break;
+            case PLAYER_MOVE:
+                w.writeInt(((PlayerMoveMessage) message).getMoveIndex());
+                break;
+            case SWITCH_POKEMON:
+                w.writeInt(((SwitchPokemonMessage) message).getPokemonIndex());
+                break;
+            case FORFEIT:
+                w.writeString(((ForfeitMessage) message).getReason());
+                break;
+            case BATTLE_END: {
+                BattleEndMessage m = (BattleEndMessage) message;
+                w.writeBoolean(m.isPlayerOneWon());
+                w.writeString(m.getWinnerName());
+                w.writeString(m.getLoserName());
+                w.writeInt(m.getOutcomeType() == null ? -1 : m.getOutcomeType().ordinal());
+                break;
+            }
+            case ERROR: {
+                ErrorMessage m = (ErrorMessage) message;
+                w.writeString(m.getErrorCode());
+                w.writeString(m.getErrorMessage());
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("No binary encoding for " + message.getType());
+        }
+        return w.toByteArray();
+    }
+
+    static Message decode(byte[] payload) throws IOException {
+        Reader r = new Reader(payload);
+        int version = r.readByte();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("Unsupported binary codec version: " + version);
+        }
+        int tag = r.readByte();
+        MessageType type = MessageType.fromTag(tag);
+        if (type == null) {
+            throw new StreamCorruptedException("Unknown message tag: " + tag);
+        }
+
+        Message message;
+        switch (type) {
+            case CONNECT:
+                message = new ConnectMessage(r.readString(), r.readString(), r.readInt(), r.readBoolean());
+                break;
+            case CONNECT_ACK:
+                message = new ConnectAckMessage(r.readInt());
+                break;
+            case DISCONNECT:
+                message = new DisconnectMessage(r.readString());
+                break;
+            case HEARTBEAT:
+                message = new HeartbeatMessage();
+                break;
+            case TURN_COMPLETE:
+                message = new TurnCompleteMessage();
+                break;
+            case CREATE_GAME:
+                message = new CreateGameMessage(r.readString(), readPokemonList(r));
+                break;
+            case JOIN_GAME:
+                message = new JoinGameMessage(r.readString(), r.readString(), readPokemonList(r));
+                break;
+            case GAME_CREATED:
+                message = new GameCreatedMessage(r.readString(), r.readBoolean());
+                break;
+            case GAME_JOINED:
+                message = new GameJoinedMessage(r.readString(), r.readBoolean(), r.readString());
+                break;
+            case GAME_STARTED:
+                message = new GameStartedMessage(readBattleState(r));
+                break;
+            case GAME_ERROR:
+                message = new GameErrorMessage(r.readString());
+                break;
+            case BATTLE_STATE_UPDATE:
+                message = new BattleStateUpdateMessage(readBattleState(r), r.readString(), r.readUInt());
+                break;
+            case BATTLE_STATE_DELTA:
+                message = new BattleStateDeltaMessage(readDelta(r), r.readString());
+                break;
+            case RESYNC_REQUEST:
+                message = new ResyncRequestMessage(r.readInt());
+                break;
+            case PLAYER_MOVE:
+                message = new PlayerMoveMessage(r.readInt());
+                break;
+            case SWITCH_POKEMON:
+                message = new SwitchPokemonMessage(r.readInt());
+                break;
+            case FORFEIT:
+                message = new ForfeitMessage(r.readString());
+                break;
+            case BATTLE_END:
+                message = new BattleEndMessage(r.readBoolean(), r.readString(), r.readString(),
+                    readOutcome(r.readInt()));
+                break;
+            case ERROR:
+                message = new ErrorMessage(r.readString(), r.readString());
+                break;
+            default:
+                throw new StreamCorruptedException("No binary decoding for " + type);
+        }
+
+        if (r.remaining() != 0) {
+            throw new StreamCorruptedException("Trailing bytes after " + type);
+        }
+        return message;
+    }
+
+    // ========== DTO ENCODERS ==========
+
+    static void writeBattleState(Writer w, BattleStateDTO state) {
+        if (state == null) {
+            w.writeBoolean(false);
+            return;
+        }
+        w.writeBoolean(true);
+        writePokemonList(w, state.getPlayerTeam());
+        writePokemonList(w, state.getEnemyTeam());
+        w.writeInt(state.getPlayerActivePokemonIndex());
+        w.writeInt(state.getEnemyActivePokemonIndex());
+        w.writeString(state.getCurrentTurn());
+        w.writeString(state.getPhase());
+        w.writeString(state.getLastActionMessage());
+        w.writeBoolean(state.isBattleEnded());
+        w.writeString(state.getWinner());
+    }
+
+    static BattleStateDTO readBattleState(Reader r) throws IOException {
+        if (!r.readBoolean()) {
+            return null;
+        }
+        BattleStateDTO state = new BattleStateDTO();
+        state.setPlayerTeam(readPokemonList(r));
+        state.setEnemyTeam(readPokemonList(r));
+        state.setPlayerActivePokemonIndex(r.readInt());
+        state.setEnemyActivePokemonIndex(r.readInt());
+        state.setCurrentTurn(r.readString());
+        state.setPhase(r.readString());
+        state.setLastActionMessage(r.readString());
+        state.setBattleEnded(r.readBoolean());
+        state.setWinner(r.readString());
+        return state;
+    }
+
+    static void writeDelta(Writer w, BattleStateDelta delta) {
+        w.writeUInt(delta.getSequence());
+        List<PokemonUpdate> updates = delta.getPokemonUpdates();
+        w.writeUInt(updates.size() + 1);
+        for (PokemonUpdate update : updates) {
+            // Slot index, side and fainted flag packed into one varint
+            w.writeUInt((update.getIndex() << 2) | (update.isEnemyTeam() ? 2 : 0) | (update.isFainted() ? 1 : 0));
+            w.writeUInt(update.getCurrentHp());
+        }
+        writeOptionalIndex(w, delta.getPlayerActivePokemonIndex());
+        writeOptionalIndex(w, delta.getEnemyActivePokemonIndex());
+        w.writeString(delta.getCurrentTurn());
+        w.writeString(delta.getPhase());
+        w.writeString(delta.getLastActionMessage());
+        w.writeBoolean(delta.isBattleEnded());
+        w.writeString(delta.getWinner());
+    }
+
+    static BattleStateDelta readDelta(Reader r) throws IOException {
+        BattleStateDelta delta = new BattleStateDelta();
+        delta.setSequence(r.readUInt());
+        int updates = Math.max(r.readListSize(), 0);
+        for (int i = 0; i < updates; i++) {
+            int packed = r.readUInt();
+            if (packed < 0) {
+                throw new StreamCorruptedException("Invalid Pokemon update: " + packed);
+            }
+            delta.addPokemonUpdate(new PokemonUpdate((packed & 2) != 0, packed >>> 2, r.readUInt(), (packed & 1) != 0));
+        }
+        delta.setPlayerActivePokemonIndex(readOptionalIndex(r));
+        delta.setEnemyActivePokemonIndex(readOptionalIndex(r));
+        delta.setCurrentTurn(r.readString());
+        delta.setPhase(r.readString());
+        delta.setLastActionMessage(r.readString());
+        delta.setBattleEnded(r.readBoolean());
+        delta.setWinner(r.readString());
+        return delta;
+    }
+
+    // Index + 1 so that 0 can encode "unchanged"
+    private static void writeOptionalIndex(Writer w, Integer index) {
+        w.writeInt(index == null ? 0 : index + 1);
+    }
+
+    private static Integer readOptionalIndex(Reader r) throws StreamCorruptedException {
+        int value = r.readInt();
+        return value == 0 ? null : value - 1;
+    }
+
+    static void writePokemonList(Writer w, List<PokemonDTO> pokemon) {
+        // Size + 1 so that 0 can encode a null list
+        if (pokemon == null) {
+            w.writeUInt(0);
+            return;
+        }
+        w.writeUInt(pokemon.size() + 1);
+        for (PokemonDTO p : pokemon) {
+            writePokemon(w, p);
+        }
+    }
+
+    static List<PokemonDTO> readPokemonList(Reader r) throws IOException {
+        int size = r.readListSize();
+        if (size < 0) {
+            return null;
+        }
+        List<PokemonDTO> pokemon = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            pokemon.add(readPokemon(r));
+        }
+        return pokemon;
+    }
+
+    static void writePokemon(Writer w, PokemonDTO p) {
+        w.writeUInt(p.getId());
+        w.writeString(p.getName());
+        w.writeString(p.getForm());
+        writeType(w, p.getType1());
+        writeType(w, p.getType2());
+        w.writeUInt(p.getTotal());
+        w.writeUInt(p.getHp());
+        w.writeUInt(p.getAttack());
+        w.writeUInt(p.getDefense());
+        w.writeUInt(p.getSpAtk());
+        w.writeUInt(p.getSpDef());
+        w.writeUInt(p.getSpeed());
+        w.writeUInt(p.getGeneration());
+        w.writeUInt(p.getCurrentHp());
+        w.writeUInt(p.getMaxHp());
+        w.writeBoolean(p.isFainted());
+
+        List<MoveDTO> moves = p.getAvailableMoves();
+        if (moves == null) {
+            w.writeUInt(0);
+        } else {
+            w.writeUInt(moves.size() + 1);
+            for (MoveDTO move : moves) {
+                writeMove(w, move);
+            }
+        }
+    }
+
+    static PokemonDTO readPokemon(Reader r) throws IOException {
+        PokemonDTO p = new PokemonDTO(
+            r.readUInt(), r.readString(), r.readString(), readType(r), readType(r),
+            r.readUInt(), r.readUInt(), r.readUInt(), r.readUInt(), r.readUInt(), r.readUInt(), r.readUInt(),
+            r.readUInt());
+        p.setCurrentHp(r.readUInt());
+        p.setMaxHp(r.readUInt());
+        p.setFainted(r.readBoolean());
+
+        int moveCount = r.readListSize();
+        if (moveCount >= 0) {
+            List<MoveDTO> moves = new ArrayList<>(moveCount);
+            for (int i = 0; i < moveCount; i++) {
+                moves.add(readMove(r));
+            }
+            p.setAvailableMoves(moves);
+        }
+        return p;
+    }
+
+    static void writeMove(Writer w, MoveDTO move) {
+        w.writeString(move.getName());
+        writeType(w, move.getType());
+        w.writeUInt(move.getPower());
+        w.writeUInt(move.getAccuracy());
+    }
+
+    static MoveDTO readMove(Reader r) throws IOException {
+        return new MoveDTO(r.readString(), readType(r), r.readUInt(), r.readUInt());
+    }
+
+    private static void writeType(Writer w, String type) {
+        if (type == null) {
+            w.writeByte(0);
+            return;
+        }
+        Integer index = TYPE_INDEX.get(type);
+        if (index != null) {
+            w.writeByte(index);
+            return;
+        }
+        w.writeByte(CUSTOM_TYPE);
+        w.writeString(type);
+    }
+
+    private static String readType(Reader r) throws IOException {
+        int index = r.readByte();
+        if (index == CUSTOM_TYPE) {
+            return r.readString();
+        }
+        if (index >= TYPE_TABLE.length) {
+            throw new StreamCorruptedException("Unknown type index: " + index);
+        }
+        return TYPE_TABLE[index];
+    }
+
+    private static BattleOutcomeType readOutcome(int ordinal) throws StreamCorruptedException {
+        if (ordinal == -1) {
+            return null;
+        }
+        BattleOutcomeType[] outcomes = BattleOutcomeType.values();
+        if (ordinal < 0 || ordinal >= outcomes.length) {
+            throw new StreamCorruptedException("Unknown battle outcome: " + ordinal);
+        }
+        return outcomes[ordinal];
+    }
+
+    /**
+     * Growable byte buffer with varint helpers
+     */
+    static final class Writer {
+        private byte[] buffer;
+        private int size;
+        // Strings already written to this payload; repeats become back-references
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeBoolean(boolean value) {
+            writeByte(value ? 1 : 0);
+        }
+
+        void writeInt(int value) {
+            writeUInt((value << 1) ^ (value >> 31));
+        }
+
+        /**
+         * Varint without zig-zag; one byte up to 127, five bytes for negatives
+         */
+        void writeUInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeInt(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeInt(-index - 1);
+                return;
+            }
+            strings.put(value, strings.size());
+            int length = value.length();
+            if (isAscii(value, length)) {
+                // Names, types and phases are ASCII; copy the chars without an intermediate array
+                writeInt(length + 1);
+                ensureCapacity(length);
+                for (int i = 0; i < length; i++) {
+                    buffer[size++] = (byte) value.charAt(i);
+                }
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeInt(bytes.length + 1);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private static boolean isAscii(String value, int length) {
+            for (int i = 0; i < length; i++) {
+                if (value.charAt(i) >= 0x80) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * Bounds-checked reader over a single payload
+     */
+    static final class Reader {
+        private final byte[] buffer;
+        private final List<String> strings = new ArrayList<>();
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        int remaining() {
+            return buffer.length - position;
+        }
+
+        int readByte() throws StreamCorruptedException {
+            if (position >= buffer.length) {
+                throw new StreamCorruptedException("Unexpected end of payload");
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        boolean readBoolean() throws StreamCorruptedException {
+            return readByte() != 0;
+        }
+
+        int readInt() throws StreamCorruptedException {
+            int zigzag = readUInt();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        int readUInt() throws StreamCorruptedException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new StreamCorruptedException("Malformed varint");
+        }
+
+        String readString() throws StreamCorruptedException {
+            int header = readInt();
+            if (header < 0) {
+                int index = -header - 1;
+                if (index >= strings.size()) {
+                    throw new StreamCorruptedException("Unknown string reference: " + index);
+                }
+                return strings.get(index);
+            }
+            int length = header - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > remaining()) {
+                throw new StreamCorruptedException("String length exceeds payload: " + length);
+            }
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            strings.add(value);
+            return value;
+        }
+
+        /**
+         * Read a size+1 encoded list length; -1 means null
+         */
+        int readListSize() throws StreamCorruptedException {
+            int size = readUInt() - 1;
+            if (size > MAX_LIST_SIZE) {
+                throw new StreamCorruptedException("List too large: " + size);
+            }
+            return size;
+        }
+    }
+}
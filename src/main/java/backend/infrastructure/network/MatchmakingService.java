@@ -0,0 +1,271 @@
+package backend.infrastructure.network;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import shared.util.LatencyHistogram;
+
+/**
+ * Matchmaking Service - Bucketed queues paired in periodic batches
+ *
+ * Joining is a lock-free enqueue into the bucket for the player's team strength
+ * (sum of the team's base stat totals), so joins never contend with each other.
+ * A single pairing thread wakes every tick, drains every bucket and pairs players
+ * in arrival order; anyone left alone in a bucket for longer than the widening delay
+ * is paired with the nearest lone player from another bucket.
+ *
+ * @param <P> Whatever the caller needs back when a match is made
+ */
+public class MatchmakingService<P> {
+    private static final Logger LOGGER = Logger.getLogger(MatchmakingService.class.getName());
+
+    public static final int DEFAULT_BUCKET_WIDTH = 600;
+    public static final int DEFAULT_BUCKET_COUNT = 8;
+    public static final long DEFAULT_TICK_MILLIS = 50;
+    public static final long DEFAULT_WIDEN_AFTER_MILLIS = 1000;
+
+    /**
+     * Called on the pairing thread for every match; keep it short
+     */
+    public interface MatchListener<P> {
+        /**
+         * @param first The player who has waited longer
+         */
+        void onMatch(P first, P second);
+    }
+
+    private static final int WAITING = 0;
+    private static final int MATCHED = 1;
+    private static final int CANCELLED = 2;
+
+    private final int bucketWidth;
+    private final long tickMillis;
+    private final long widenAfterMillis;
+    private final MatchListener<P> listener;
+    private final List<Bucket<P>> buckets;
+    private final Map<String, Ticket<P>> tickets = new ConcurrentHashMap<>();
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+    private ScheduledExecutorService pairingThread;
+
+    public MatchmakingService(MatchListener<P> listener) {
+        this(DEFAULT_BUCKET_WIDTH, DEFAULT_BUCKET_COUNT, DEFAULT_TICK_MILLIS, DEFAULT_WIDEN_AFTER_MILLIS, listener);
+    }
+
+    /**
+     * @param bucketWidth Team strength covered by each bucket
+     * @param bucketCount Number of buckets; stronger teams share the last one
+     * @param tickMillis Delay between pairing passes
+     * @param widenAfterMillis How long a lone player waits before matching across buckets
+     */
+    public MatchmakingService(int bucketWidth, int bucketCount, long tickMillis, long widenAfterMillis,
+                              MatchListener<P> listener) {
+        if (bucketWidth < 1 || bucketCount < 1 || tickMillis < 1) {
+            throw new IllegalArgumentException("Bucket width, bucket count and tick must be positive");
+        }
+        this.bucketWidth = bucketWidth;
+        this.tickMillis = tickMillis;
+        this.widenAfterMillis = widenAfterMillis;
+        this.listener = listener;
+        this.buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new Bucket<>());
+        }
+    }
+
+    /**
+     * Start the periodic pairing pass
+     */
+    public void start() {
+        pairingThread = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "battle-matchmaking");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pairingThread.scheduleWithFixedDelay(this::runPairingPassSafely, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (pairingThread != null) {
+            pairingThread.shutdownNow();
+        }
+        tickets.clear();
+    }
+
+    /**
+     * Queue a player
+     *
+     * @param id Unique key used for cancellation (one ticket per id)
+     * @param strength Team strength used to pick the bucket
+     * @return false if this id is already queued
+     */
+    public boolean join(String id, int strength, P player) {
+        Ticket<P> ticket = new Ticket<>(id, player, System.nanoTime());
+        if (tickets.putIfAbsent(id, ticket) != null) {
+            return false;
+        }
+        buckets.get(bucketIndex(strength)).incoming.add(ticket);
+        return true;
+    }
+
+    /**
+     * Remove a queued player; constant time, the pairing pass skips the stale ticket
+     *
+     * @return true if the player was still waiting
+     */
+    public boolean cancel(String id) {
+        Ticket<P> ticket = tickets.remove(id);
+        return ticket != null && ticket.state.compareAndSet(WAITING, CANCELLED);
+    }
+
+    public boolean isQueued(String id) {
+        return tickets.containsKey(id);
+    }
+
+    /**
+     * Players currently waiting for an opponent
+     */
+    public int getQueuedCount() {
+        return tickets.size();
+    }
+
+    /**
+     * Time from join to match, per matched player
+     */
+    public LatencyHistogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    private int bucketIndex(int strength) {
+        return Math.max(0, Math.min(buckets.size() - 1, strength / bucketWidth));
+    }
+
+    private void runPairingPassSafely() {
+        try {
+            runPairingPass();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Matchmaking pass failed", e);
+        }
+    }
+
+    /**
+     * Pair everyone that can be paired right now
+     * Only ever runs on the pairing thread, which owns each bucket's waiting deque.
+     *
+     * @return number of matches made
+     */
+    int runPairingPass() {
+        long now = System.nanoTime();
+        int matches = 0;
+        List<Ticket<P>> loners = new ArrayList<>();
+
+        for (Bucket<P> bucket : buckets) {
+            Ticket<P> ticket;
+            while ((ticket = bucket.incoming.poll()) != null) {
+                bucket.waiting.add(ticket);
+            }
+            matches += pairWithin(bucket.waiting, now);
+
+            Ticket<P> loner = bucket.waiting.peek();
+            if (loner != null && now - loner.joinedAt >= TimeUnit.MILLISECONDS.toNanos(widenAfterMillis)) {
+                loners.add(loner);
+            }
+        }
+
+        // Widen: loners were collected in bucket order, so neighbours are the closest strengths
+        for (int i = 0; i + 1 < loners.size(); i += 2) {
+            Ticket<P> first = loners.get(i);
+            Ticket<P> second = loners.get(i + 1);
+            if (first.joinedAt > second.joinedAt) {
+                Ticket<P> swap = first;
+                first = second;
+                second = swap;
+            }
+            if (match(first, second, now)) {
+                matches++;
+            }
+        }
+        for (Bucket<P> bucket : buckets) {
+            bucket.waiting.removeIf(ticket -> ticket.state.get() != WAITING);
+        }
+        return matches;
+    }
+
+    private int pairWithin(ArrayDeque<Ticket<P>> waiting, long now) {
+        int matches = 0;
+        Ticket<P> pending = null;
+        Iterator<Ticket<P>> it = waiting.iterator();
+        while (it.hasNext()) {
+            Ticket<P> ticket = it.next();
+            if (ticket.state.get() != WAITING) {
+                it.remove();
+                continue;
+            }
+            if (pending == null) {
+                pending = ticket;
+                continue;
+            }
+            if (match(pending, ticket, now)) {
+                matches++;
+                pending = null;
+            } else if (pending.state.get() != WAITING) {
+                // The earlier player cancelled in the meantime; this one waits for the next
+                pending = ticket;
+            }
+        }
+        waiting.removeIf(ticket -> ticket.state.get() != WAITING);
+        return matches;
+    }
+
+    private boolean match(Ticket<P> first, Ticket<P> second, long now) {
+        if (!first.state.compareAndSet(WAITING, MATCHED)) {
+            return false;
+        }
+        if (!second.state.compareAndSet(WAITING, MATCHED)) {
+            first.state.set(WAITING);
+            return false;
+        }
+        tickets.remove(first.id, first);
+        tickets.remove(second.id, second);
+        waitTimes.record(TimeUnit.NANOSECONDS.toMillis(now - first.joinedAt));
+        waitTimes.record(TimeUnit.NANOSECONDS.toMillis(now - second.joinedAt));
+
+        try {
+            listener.onMatch(first.player, second.player);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error creating match", e);
+        }
+        return true;
+    }
+
+    private static final class Bucket<P> {
+        // Written by any joining thread, drained by the pairing thread
+        private final Queue<Ticket<P>> incoming = new ConcurrentLinkedQueue<>();
+        // Pairing thread only, in arrival order
+        private final ArrayDeque<Ticket<P>> waiting = new ArrayDeque<>();
+    }
+
+    private static final class Ticket<P> {
+        private final String id;
+        private final P player;
+        private final long joinedAt;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Ticket(String id, P player, long joinedAt) {
+            this.id = id;
+            this.player = player;
+            this.joinedAt = joinedAt;
+        }
+    }
+}
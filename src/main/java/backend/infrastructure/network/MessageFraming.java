@@ -0,0 +1,117 @@
+package backend.infrastructure.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+
+import backend.infrastructure.network.NetworkProtocol.Message;
+
+/**
+ * Message Framing - Length-prefixed frames shared by every transport
+ * Each frame is a 4-byte big-endian length followed by one encoded Message,
+ * so non-blocking readers can find message boundaries without parsing the payload.
+ * The payload is either Java serialization (LEGACY) or {@link BinaryCodec} (BINARY);
+ * decoding detects the format from the first byte, so peers only negotiate what they send.
+ */
+final class MessageFraming {
+    static final int HEADER_SIZE = 4;
+    // The largest real frame (a legacy full battle state) is about 4 KB
+    static final int MAX_FRAME_SIZE = 64 * 1024;
+
+    // Legacy payloads may only contain protocol messages and their DTOs
+    private static final ObjectInputFilter LEGACY_FILTER = ObjectInputFilter.Config.createFilter(
+        "maxdepth=16;maxrefs=10000;"
+            + "backend.infrastructure.network.NetworkProtocol$*;backend.application.dto.*;"
+            + "java.util.*;java.lang.*;java.time.*;!*");
+
+    /**
+     * Payload encoding used for outbound frames
+     */
+    enum Format {
+        LEGACY,
+        BINARY
+    }
+
+    private MessageFraming() {
+        // Utility class
+    }
+
+    /**
+     * Encode a message into a standalone payload (no length header)
+     */
+    static byte[] encode(Message message, Format format) throws IOException {
+        if (format == Format.BINARY) {
+            return BinaryCodec.encode(message);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(message);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Serialize a message into a complete frame ready to be written to a channel
+     */
+    static ByteBuffer encodeFrame(Message message, Format format) throws IOException {
+        byte[] payload = encode(message, format);
+        checkLength(payload.length);
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        frame.putInt(payload.length).put(payload).flip();
+        return frame;
+    }
+
+    /**
+     * Decode a payload produced by {@link #encode(Message, Format)} in either format
+     */
+    static Message decode(byte[] payload) throws IOException, ClassNotFoundException {
+        if (BinaryCodec.isBinary(payload)) {
+            return BinaryCodec.decode(payload);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            in.setObjectInputFilter(LEGACY_FILTER);
+            return (Message) in.readObject();
+        }
+    }
+
+    /**
+     * Write one frame to a blocking stream (caller flushes)
+     */
+    static void writeFrame(DataOutputStream out, Message message, Format format) throws IOException {
+        byte[] payload = encode(message, format);
+        checkLength(payload.length);
+        out.writeInt(payload.length);
+        out.write(payload);
+    }
+
+    /**
+     * Read one frame from a blocking stream
+     * readNBytes fills chunk by chunk, so a header alone doesn't allocate the announced length
+     */
+    static Message readFrame(DataInputStream in) throws IOException, ClassNotFoundException {
+        int length = checkLength(in.readInt());
+        byte[] payload = in.readNBytes(length);
+        if (payload.length < length) {
+            throw new EOFException("Connection closed inside a frame");
+        }
+        return decode(payload);
+    }
+
+    /**
+     * Validate a frame length read from (or about to be written to) the wire
+     */
+    static int checkLength(int length) throws StreamCorruptedException {
+        if (length <= 0 || length > MAX_FRAME_SIZE) {
+            throw new StreamCorruptedException("Invalid frame length: " + length);
+        }
+        return length;
+    }
+}
@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.List;
 
 import backend.application.dto.BattleStateDTO;
+import backend.application.dto.BattleStateDelta;
 import backend.application.dto.PokemonDTO;
 
 /**
@@ -21,32 +22,60 @@ public class NetworkProtocol {
         DISCONNECT
     }
     
-    // Message Types
+    // Message Types (each carries a stable one-byte tag for the binary codec)
     public enum MessageType {
         // Connection messages
-        CONNECT,
-        DISCONNECT,
-        HEARTBEAT,
+        CONNECT(1),
+        DISCONNECT(2),
+        HEARTBEAT(3),
+        CONNECT_ACK(4),
         
         // Game setup messages
-        CREATE_GAME,
-        JOIN_GAME,
-        GAME_CREATED,
-        GAME_JOINED,
-        GAME_STARTED,
-        GAME_ERROR,
+        CREATE_GAME(10),
+        JOIN_GAME(11),
+        GAME_CREATED(12),
+        GAME_JOINED(13),
+        GAME_STARTED(14),
+        GAME_ERROR(15),
         
         // Battle messages
-        BATTLE_STATE_UPDATE,
-        PLAYER_MOVE,
-        SWITCH_POKEMON,
-        FORFEIT,
-        TURN_COMPLETE,
-        BATTLE_END,
+        BATTLE_STATE_UPDATE(20),
+        PLAYER_MOVE(21),
+        SWITCH_POKEMON(22),
+        FORFEIT(23),
+        TURN_COMPLETE(24),
+        BATTLE_END(25),
+        BATTLE_STATE_DELTA(26),
+        RESYNC_REQUEST(27),
         
         // Error messages
-        ERROR,
-        INVALID_MOVE
+        ERROR(30),
+        INVALID_MOVE(31);
+
+        private static final MessageType[] BY_TAG = new MessageType[256];
+
+        static {
+            for (MessageType type : values()) {
+                BY_TAG[type.tag] = type;
+            }
+        }
+
+        private final int tag;
+
+        MessageType(int tag) {
+            this.tag = tag;
+        }
+
+        public int getTag() {
+            return tag;
+        }
+
+        /**
+         * Resolve a wire tag, or null if the tag is unknown
+         */
+        public static MessageType fromTag(int tag) {
+            return tag >= 0 && tag < BY_TAG.length ? BY_TAG[tag] : null;
+        }
     }
     
     /**
@@ -78,11 +107,25 @@ public class NetworkProtocol {
         private static final long serialVersionUID = 1L;
         private final String username;
         private final String version;
+        // Highest binary codec version the client understands (0 = Java serialization only)
+        private final int codecVersion;
+        // Client can apply BATTLE_STATE_DELTA instead of full state updates
+        private final boolean deltaUpdates;
         
         public ConnectMessage(String username, String version) {
+            this(username, version, 0);
+        }
+
+        public ConnectMessage(String username, String version, int codecVersion) {
+            this(username, version, codecVersion, false);
+        }
+
+        public ConnectMessage(String username, String version, int codecVersion, boolean deltaUpdates) {
             super(MessageType.CONNECT);
             this.username = username;
             this.version = version;
+            this.codecVersion = codecVersion;
+            this.deltaUpdates = deltaUpdates;
         }
         
         public String getUsername() {
@@ -92,6 +135,31 @@ public class NetworkProtocol {
         public String getVersion() {
             return version;
         }
+
+        public int getCodecVersion() {
+            return codecVersion;
+        }
+
+        public boolean supportsDeltaUpdates() {
+            return deltaUpdates;
+        }
+    }
+
+    /**
+     * Connection accepted - tells the client which codec the server will speak from now on
+     */
+    public static class ConnectAckMessage extends Message {
+        private static final long serialVersionUID = 1L;
+        private final int codecVersion;
+
+        public ConnectAckMessage(int codecVersion) {
+            super(MessageType.CONNECT_ACK);
+            this.codecVersion = codecVersion;
+        }
+
+        public int getCodecVersion() {
+            return codecVersion;
+        }
     }
     
     /**
@@ -216,17 +284,24 @@ public class NetworkProtocol {
     }
     
     /**
-     * Battle state update
+     * Battle state update (full snapshot)
      */
     public static class BattleStateUpdateMessage extends Message {
         private static final long serialVersionUID = 1L;
         private final BattleStateDTO state;
         private final String actionMessage;
+        // Sequence of the last delta folded into this snapshot
+        private final int sequence;
         
         public BattleStateUpdateMessage(BattleStateDTO state, String actionMessage) {
+            this(state, actionMessage, 0);
+        }
+
+        public BattleStateUpdateMessage(BattleStateDTO state, String actionMessage, int sequence) {
             super(MessageType.BATTLE_STATE_UPDATE);
             this.state = state;
             this.actionMessage = actionMessage;
+            this.sequence = sequence;
         }
         
         public BattleStateDTO getState() {
@@ -236,6 +311,50 @@ public class NetworkProtocol {
         public String getActionMessage() {
             return actionMessage;
         }
+
+        public int getSequence() {
+            return sequence;
+        }
+    }
+
+    /**
+     * Battle state update (only the fields changed since the previous sequence)
+     */
+    public static class BattleStateDeltaMessage extends Message {
+        private static final long serialVersionUID = 1L;
+        private final BattleStateDelta delta;
+        private final String actionMessage;
+
+        public BattleStateDeltaMessage(BattleStateDelta delta, String actionMessage) {
+            super(MessageType.BATTLE_STATE_DELTA);
+            this.delta = delta;
+            this.actionMessage = actionMessage;
+        }
+
+        public BattleStateDelta getDelta() {
+            return delta;
+        }
+
+        public String getActionMessage() {
+            return actionMessage;
+        }
+    }
+
+    /**
+     * Client missed a delta and asks for a full snapshot
+     */
+    public static class ResyncRequestMessage extends Message {
+        private static final long serialVersionUID = 1L;
+        private final int lastSequence;
+
+        public ResyncRequestMessage(int lastSequence) {
+            super(MessageType.RESYNC_REQUEST);
+            this.lastSequence = lastSequence;
+        }
+
+        public int getLastSequence() {
+            return lastSequence;
+        }
     }
     
     /**
@@ -0,0 +1,481 @@
+package backend.infrastructure.network;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import backend.infrastructure.network.NetworkProtocol.Message;
+
+/**
+ * NIO Server Transport - Selector-based alternative to thread-per-client sockets
+ * One acceptor thread hands new channels to a small fixed set of I/O loops,
+ * each multiplexing thousands of non-blocking connections on its own Selector.
+ * Idle connections only hold a 4-byte header buffer; a frame body grows as its bytes
+ * arrive, so memory follows what clients actually sent rather than what their headers
+ * announce, and socket reads go through one buffer per loop.
+ * Outgoing frames wait in a bounded {@link OutboundQueue} and are written with one
+ * gathering write per batch.
+ */
+class NioServerTransport {
+    private static final Logger LOGGER = Logger.getLogger(NioServerTransport.class.getName());
+    private static final int ACCEPT_BACKLOG = 4096;
+    private static final int LOOP_READ_BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_BODY_BUFFER_SIZE = 256;
+
+    /**
+     * Server callbacks
+     * onOpen and onMessage run on the I/O loop that owns the connection. onClose runs on
+     * whichever thread closed it: the loop, or a sender whose outbound queue overflowed or
+     * that disconnected the client, so it must be thread-safe.
+     */
+    interface Handler {
+        void onOpen(Connection connection);
+
+        void onMessage(Connection connection, Message message);
+
+        void onClose(Connection connection);
+    }
+
+    private final int port;
+    private final int ioThreads;
+    private final Handler handler;
+    private final Supplier<OutboundQueue> outboundQueues;
+    private ServerSocketChannel serverChannel;
+    private Selector acceptSelector;
+    private IoLoop[] loops;
+    private volatile boolean running;
+
+    NioServerTransport(int port, int ioThreads, Handler handler, Supplier<OutboundQueue> outboundQueues) {
+        if (ioThreads < 1) {
+            throw new IllegalArgumentException("At least one I/O thread is required");
+        }
+        this.port = port;
+        this.ioThreads = ioThreads;
+        this.handler = handler;
+        this.outboundQueues = outboundQueues;
+    }
+
+    /**
+     * Bind the listening socket and start the acceptor and I/O loops
+     */
+    void start() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(new InetSocketAddress(port), ACCEPT_BACKLOG);
+        serverChannel.configureBlocking(false);
+        acceptSelector = Selector.open();
+        serverChannel.register(acceptSelector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        loops = new IoLoop[ioThreads];
+        for (int i = 0; i < ioThreads; i++) {
+            loops[i] = new IoLoop(i);
+            loops[i].thread.start();
+        }
+
+        Thread acceptThread = new Thread(this::acceptLoop, "battle-nio-accept");
+        acceptThread.start();
+    }
+
+    /**
+     * Stop accepting, close every connection and shut the loops down
+     */
+    void stop() {
+        running = false;
+        if (acceptSelector != null) {
+            acceptSelector.wakeup();
+        }
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error closing server channel", e);
+        }
+        if (loops != null) {
+            for (IoLoop loop : loops) {
+                loop.selector.wakeup();
+            }
+        }
+    }
+
+    /**
+     * Number of connections currently registered across all loops
+     */
+    int getConnectionCount() {
+        int total = 0;
+        if (loops != null) {
+            for (IoLoop loop : loops) {
+                total += loop.connectionCount.get();
+            }
+        }
+        return total;
+    }
+
+    private void acceptLoop() {
+        int nextLoop = 0;
+        while (running) {
+            try {
+                acceptSelector.select();
+                acceptSelector.selectedKeys().clear();
+
+                SocketChannel channel;
+                while ((channel = serverChannel.accept()) != null) {
+                    channel.configureBlocking(false);
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                    loops[nextLoop].register(channel);
+                    nextLoop = (nextLoop + 1) % loops.length;
+                }
+            } catch (ClosedSelectorException e) {
+                break;
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.log(Level.SEVERE, "Error accepting client", e);
+                }
+            }
+        }
+
+        try {
+            acceptSelector.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error closing accept selector", e);
+        }
+    }
+
+    /**
+     * One selector thread owning a disjoint subset of the connections
+     */
+    private final class IoLoop implements Runnable {
+        private final Selector selector;
+        private final Thread thread;
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(LOOP_READ_BUFFER_SIZE);
+        private final Queue<SocketChannel> pendingRegistrations = new ConcurrentLinkedQueue<>();
+        private final Queue<Connection> pendingFlushes = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger connectionCount = new AtomicInteger();
+
+        IoLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "battle-nio-io-" + index);
+        }
+
+        void register(SocketChannel channel) {
+            pendingRegistrations.add(channel);
+            selector.wakeup();
+        }
+
+        void scheduleFlush(Connection connection) {
+            pendingFlushes.add(connection);
+            if (Thread.currentThread() != thread) {
+                selector.wakeup();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    processRegistrations();
+                    processFlushes();
+                    selector.select();
+
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        handleKey(key);
+                    }
+                } catch (ClosedSelectorException e) {
+                    break;
+                } catch (IOException e) {
+                    LOGGER.log(Level.SEVERE, "I/O loop error", e);
+                } catch (RuntimeException e) {
+                    // Per-connection failures are handled below; whatever gets here must not end the
+                    // loop, or every connection on this thread would be orphaned
+                    LOGGER.log(Level.SEVERE, "Unexpected I/O loop error", e);
+                }
+            }
+            closeAll();
+        }
+
+        private void processRegistrations() {
+            SocketChannel channel;
+            while ((channel = pendingRegistrations.poll()) != null) {
+                Connection connection = null;
+                try {
+                    connection = new Connection(channel, this, outboundQueues.get());
+                    connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                    connectionCount.incrementAndGet();
+                    handler.onOpen(connection);
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Failed to register client channel", e);
+                    closeQuietly(channel);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Error opening client connection", e);
+                    if (connection != null && connection.key != null) {
+                        connection.close();
+                    } else {
+                        closeQuietly(channel);
+                    }
+                }
+            }
+        }
+
+        private void processFlushes() {
+            Connection connection;
+            while ((connection = pendingFlushes.poll()) != null) {
+                try {
+                    connection.flush();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Error flushing client connection", e);
+                    connection.close();
+                }
+            }
+        }
+
+        private void handleKey(SelectionKey key) {
+            Connection connection = (Connection) key.attachment();
+            try {
+                if (!key.isValid()) {
+                    connection.close();
+                    return;
+                }
+                if (key.isReadable()) {
+                    connection.onReadable(readBuffer);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    connection.flush();
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Error handling client message", e);
+                connection.close();
+            }
+        }
+
+        private void closeAll() {
+            try {
+                for (SelectionKey key : selector.keys()) {
+                    if (key.attachment() instanceof Connection) {
+                        ((Connection) key.attachment()).close();
+                    }
+                }
+                selector.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Error closing I/O loop selector", e);
+            }
+        }
+    }
+
+    /**
+     * A single non-blocking client connection
+     * requestFlush() and close() are safe from any thread; reads and writes happen on the owning loop.
+     */
+    final class Connection {
+        private static final ByteBuffer[] NO_FRAMES = new ByteBuffer[0];
+
+        private final SocketChannel channel;
+        private final IoLoop loop;
+        private final OutboundQueue outbound;
+        private final ByteBuffer header = ByteBuffer.allocate(MessageFraming.HEADER_SIZE);
+        private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private SelectionKey key;
+        // Frame being read, grown towards bodyLength as bytes arrive (loop thread only)
+        private ByteBuffer body;
+        private int bodyLength;
+        // Batch taken from the outbound queue and not fully written yet (loop thread only)
+        private ByteBuffer[] batch = NO_FRAMES;
+        private int batchStart;
+        private volatile Object attachment;
+
+        private Connection(SocketChannel channel, IoLoop loop, OutboundQueue outbound) {
+            this.channel = channel;
+            this.loop = loop;
+            this.outbound = outbound;
+        }
+
+        OutboundQueue getOutboundQueue() {
+            return outbound;
+        }
+
+        Object getAttachment() {
+            return attachment;
+        }
+
+        void setAttachment(Object attachment) {
+            this.attachment = attachment;
+        }
+
+        SocketAddress getRemoteAddress() {
+            try {
+                return channel.getRemoteAddress();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        boolean isOpen() {
+            return !closed.get();
+        }
+
+        /**
+         * Ask the owning loop to write whatever is in the outbound queue
+         */
+        void requestFlush() {
+            if (!closed.get() && flushScheduled.compareAndSet(false, true)) {
+                loop.scheduleFlush(this);
+            }
+        }
+
+        /**
+         * Close the channel and notify the handler exactly once
+         */
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            closeQuietly(channel);
+            outbound.close();
+            loop.connectionCount.decrementAndGet();
+            try {
+                handler.onClose(this);
+            } catch (RuntimeException e) {
+                // Callers close from error paths and from any thread; the connection is gone either way
+                LOGGER.log(Level.WARNING, "Error in connection close callback", e);
+            }
+        }
+
+        private void onReadable(ByteBuffer scratch) {
+            scratch.clear();
+            int read;
+            try {
+                read = channel.read(scratch);
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Client connection error", e);
+                close();
+                return;
+            }
+            if (read < 0) {
+                close();
+                return;
+            }
+
+            scratch.flip();
+            try {
+                while (scratch.hasRemaining() && !closed.get()) {
+                    if (body == null) {
+                        transfer(scratch, header);
+                        if (header.hasRemaining()) {
+                            break;
+                        }
+                        bodyLength = MessageFraming.checkLength(header.getInt(0));
+                        body = ByteBuffer.allocate(Math.min(bodyLength,
+                            Math.max(MIN_BODY_BUFFER_SIZE, scratch.remaining())));
+                        header.clear();
+                    }
+
+                    ensureBodyCapacity(Math.min(scratch.remaining(), bodyLength - body.position()));
+                    transfer(scratch, body);
+                    if (body.position() == bodyLength) {
+                        // Growth stops at bodyLength, so the array is exactly the payload
+                        byte[] payload = body.array();
+                        body = null;
+                        dispatch(payload);
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Invalid frame received, closing client", e);
+                close();
+            }
+        }
+
+        /**
+         * Double the body buffer (up to the announced length) until the next bytes fit
+         */
+        private void ensureBodyCapacity(int incoming) {
+            if (body.remaining() >= incoming) {
+                return;
+            }
+            int needed = body.position() + incoming;
+            ByteBuffer grown = ByteBuffer.allocate(Math.min(bodyLength, Math.max(body.capacity() * 2, needed)));
+            body.flip();
+            grown.put(body);
+            body = grown;
+        }
+
+        private void dispatch(byte[] payload) throws IOException {
+            try {
+                handler.onMessage(this, MessageFraming.decode(payload));
+            } catch (ClassNotFoundException e) {
+                LOGGER.log(Level.SEVERE, "Invalid message received", e);
+            }
+        }
+
+        private void flush() {
+            if (closed.get()) {
+                return;
+            }
+            try {
+                while (true) {
+                    if (batchStart == batch.length) {
+                        batch = outbound.drain();
+                        batchStart = 0;
+                        if (batch.length == 0) {
+                            key.interestOps(SelectionKey.OP_READ);
+                            flushScheduled.set(false);
+                            // A sender may have queued a frame after the drain but before the flag reset
+                            if (outbound.isEmpty() || !flushScheduled.compareAndSet(false, true)) {
+                                return;
+                            }
+                            continue;
+                        }
+                    }
+
+                    channel.write(batch, batchStart, batch.length - batchStart);
+                    while (batchStart < batch.length && !batch[batchStart].hasRemaining()) {
+                        batch[batchStart++] = null;
+                    }
+                    if (batchStart < batch.length) {
+                        // Socket buffer full - resume when the channel becomes writable
+                        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                        return;
+                    }
+                }
+            } catch (IOException | CancelledKeyException e) {
+                LOGGER.log(Level.FINE, "Error writing to client", e);
+                close();
+            }
+        }
+    }
+
+    private static void transfer(ByteBuffer source, ByteBuffer target) {
+        int count = Math.min(source.remaining(), target.remaining());
+        ByteBuffer slice = source.duplicate();
+        slice.limit(source.position() + count);
+        target.put(slice);
+        source.position(source.position() + count);
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error closing client channel", e);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package backend.infrastructure.network;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import backend.infrastructure.network.BattleServer.OverflowPolicy;
+
+/**
+ * Outbound Queue - Bounded per-connection queue of encoded frames
+ * Game threads only enqueue; a writer (a dedicated thread for blocking sockets,
+ * the I/O loop for NIO) drains everything queued so far and writes it as one batch.
+ * When the queue is full the {@link OverflowPolicy} decides what gives way, so a
+ * client with a stalled TCP window can never block the sender or its opponent.
+ * Non-state frames (game start, battle end, errors...) are never dropped; if nothing
+ * can be dropped the connection is closed whatever the policy.
+ */
+final class OutboundQueue {
+    static final int DEFAULT_CAPACITY = 256;
+
+    private static final ByteBuffer[] EMPTY = new ByteBuffer[0];
+
+    /**
+     * Result of {@link #offer}
+     */
+    enum OfferResult {
+        QUEUED,
+        QUEUED_AFTER_DROP,
+        OVERFLOW,
+        CLOSED
+    }
+
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Metrics metrics;
+    private final ArrayDeque<Entry> frames = new ArrayDeque<>();
+    // ReentrantLock rather than synchronized so virtual-thread writers don't pin
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private boolean closed;
+
+    OutboundQueue(int capacity, OverflowPolicy policy, Metrics metrics) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Outbound queue capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.policy = policy;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Queue a complete frame
+     *
+     * @param stateUpdate true if a newer state update makes this frame obsolete
+     */
+    OfferResult offer(ByteBuffer frame, boolean stateUpdate) {
+        lock.lock();
+        try {
+            if (closed) {
+                return OfferResult.CLOSED;
+            }
+            OfferResult result = OfferResult.QUEUED;
+            if (frames.size() >= capacity) {
+                if (!makeRoom()) {
+                    metrics.overflowDisconnects.increment();
+                    return OfferResult.OVERFLOW;
+                }
+                result = OfferResult.QUEUED_AFTER_DROP;
+            }
+            frames.add(new Entry(frame, stateUpdate));
+            metrics.queuedFrames.increment();
+            metrics.recordDepth(frames.size());
+            notEmpty.signal();
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean makeRoom() {
+        if (policy == OverflowPolicy.DISCONNECT) {
+            return false;
+        }
+        int dropped = 0;
+        Iterator<Entry> it = frames.iterator();
+        while (it.hasNext()) {
+            if (it.next().stateUpdate) {
+                it.remove();
+                dropped++;
+                if (policy == OverflowPolicy.DROP_STALE_STATE) {
+                    break;
+                }
+            }
+        }
+        if (dropped > 0) {
+            metrics.queuedFrames.add(-dropped);
+            metrics.droppedFrames.add(dropped);
+        }
+        return dropped > 0;
+    }
+
+    /**
+     * Take every queued frame without waiting (empty array if none)
+     */
+    ByteBuffer[] drain() {
+        lock.lock();
+        try {
+            return drainLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until at least one frame is queued, then take all of them
+     * Returns an empty array once the queue is closed or the timeout elapses.
+     */
+    ByteBuffer[] awaitBatch(long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = unit.toNanos(timeout);
+            while (frames.isEmpty() && !closed) {
+                if (nanos <= 0) {
+                    return EMPTY;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return drainLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ByteBuffer[] drainLocked() {
+        if (frames.isEmpty()) {
+            return EMPTY;
+        }
+        ByteBuffer[] batch = new ByteBuffer[frames.size()];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = frames.poll().frame;
+        }
+        metrics.queuedFrames.add(-batch.length);
+        return batch;
+    }
+
+    boolean isEmpty() {
+        lock.lock();
+        try {
+            return frames.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Discard pending frames and wake the writer so it can exit
+     */
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            metrics.queuedFrames.add(-frames.size());
+            frames.clear();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final ByteBuffer frame;
+        private final boolean stateUpdate;
+
+        private Entry(ByteBuffer frame, boolean stateUpdate) {
+            this.frame = frame;
+            this.stateUpdate = stateUpdate;
+        }
+    }
+
+    /**
+     * Counters shared by every queue of one server
+     */
+    static final class Metrics {
+        private final LongAdder queuedFrames = new LongAdder();
+        private final LongAdder droppedFrames = new LongAdder();
+        private final LongAdder overflowDisconnects = new LongAdder();
+        private final AtomicInteger peakDepth = new AtomicInteger();
+
+        private void recordDepth(int depth) {
+            if (depth > peakDepth.get()) {
+                peakDepth.accumulateAndGet(depth, Math::max);
+            }
+        }
+
+        /**
+         * Frames currently waiting across all connections
+         */
+        long getQueuedFrames() {
+            return queuedFrames.sum();
+        }
+
+        /**
+         * Deepest single queue seen since the server started
+         */
+        int getPeakDepth() {
+            return peakDepth.get();
+        }
+
+        long getDroppedFrames() {
+            return droppedFrames.sum();
+        }
+
+        long getOverflowDisconnects() {
+            return overflowDisconnects.sum();
+        }
+    }
+}
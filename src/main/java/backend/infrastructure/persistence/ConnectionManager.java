@@ -1,25 +1,27 @@
 package backend.infrastructure.persistence;
 
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Manages database connections
- * Provides connection pooling for repositories
+ * One ConnectionPool per database, shared by every repository on that database
  * Centralized connection management to keep frontend clean
  */
 public class ConnectionManager {
     private static final Logger LOGGER = Logger.getLogger(ConnectionManager.class.getName());
+    // WAL lets readers run in parallel; past a few per core they only queue inside SQLite
+    private static final int MAX_READERS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
     private static ConnectionManager instance;
 
-    private final Map<String, Connection> connections;
+    private final Map<String, ConnectionPool> pools;
 
     private ConnectionManager() {
-        this.connections = new HashMap<>();
+        this.pools = new ConcurrentHashMap<>();
     }
 
     public static synchronized ConnectionManager getInstance() {
@@ -30,31 +32,47 @@ public class ConnectionManager {
     }
 
     /**
-     * Get or create a connection to a database
+     * Get or create the connection pool for a database
      */
-    public Connection getConnection(String dbName) throws SQLException {
-        if (!connections.containsKey(dbName) || connections.get(dbName).isClosed()) {
-            Connection conn = DatabaseConnection.connect(dbName);
-            connections.put(dbName, conn);
-            LOGGER.log(Level.INFO, "Created new connection to: {0}", dbName);
+    public ConnectionPool getPool(String dbName) {
+        return pools.computeIfAbsent(dbName, name -> {
+            LOGGER.log(Level.INFO, "Created connection pool for: {0} ({1} readers)", new Object[]{name, MAX_READERS});
+            return new ConnectionPool(name, DatabaseConnection.url(name), MAX_READERS,
+                ConnectionPool.DEFAULT_TIMEOUT_MILLIS);
+        });
+    }
+
+    /**
+     * Metrics for every open pool
+     */
+    public List<ConnectionPool.Stats> getStats() {
+        List<ConnectionPool.Stats> stats = new ArrayList<>();
+        for (ConnectionPool pool : pools.values()) {
+            stats.add(pool.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Health-check every open pool
+     * @return true if every database answered
+     */
+    public boolean healthCheck() {
+        boolean healthy = true;
+        for (ConnectionPool pool : pools.values()) {
+            healthy &= pool.healthCheck();
         }
-        return connections.get(dbName);
+        return healthy;
     }
 
     /**
      * Close all connections
      */
     public void closeAll() {
-        for (Map.Entry<String, Connection> entry : connections.entrySet()) {
-            try {
-                if (!entry.getValue().isClosed()) {
-                    entry.getValue().close();
-                    LOGGER.log(Level.INFO, "Closed connection to: {0}", entry.getKey());
-                }
-            } catch (SQLException e) {
-                LOGGER.log(Level.WARNING, "Error closing connection to: " + entry.getKey(), e);
-            }
+        for (ConnectionPool pool : pools.values()) {
+            LOGGER.log(Level.INFO, "Pool stats at shutdown: {0}", pool.getStats());
+            pool.close();
         }
-        connections.clear();
+        pools.clear();
     }
 }
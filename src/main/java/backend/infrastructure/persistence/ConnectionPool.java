@@ -0,0 +1,574 @@
+package backend.infrastructure.persistence;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Connection pool for one SQLite database
+ *
+ * SQLite allows many readers but one writer at a time, so the pool keeps a bounded set of
+ * read-only connections and a single writer connection behind a lock. With WAL journaling
+ * readers never block the writer or each other, and synchronous=NORMAL only syncs at
+ * checkpoints. Connections are checked out for one operation via read() and write(), or
+ * query() and update() to run one statement from the connection's prepared statement cache.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+    public static final long DEFAULT_TIMEOUT_MILLIS = 5000;
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+    // How long SQLite itself retries a locked database (e.g. another process writing)
+    private static final int BUSY_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * Work done with a checked-out connection
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Work done with a cached prepared statement; it must not be closed
+     */
+    @FunctionalInterface
+    public interface StatementWork<T> {
+        T run(PreparedStatement statement) throws SQLException;
+    }
+
+    private final String name;
+    private final String url;
+    private final int maxReaders;
+    private final long timeoutNanos;
+    private final int statementCacheSize;
+
+    private final ReentrantLock readerLock = new ReentrantLock();
+    private final Condition readerReturned = readerLock.newCondition();
+    // Most recently returned first, so a quiet pool keeps reusing the same warm connection
+    private final ArrayDeque<PooledConnection> idleReaders = new ArrayDeque<>();
+    private int openReaders;
+
+    private final ReentrantLock writerLock = new ReentrantLock(true);
+    private PooledConnection writer;
+
+    private volatile boolean closed;
+
+    private final LongAdder readerCheckouts = new LongAdder();
+    private final LongAdder writerCheckouts = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder replaced = new LongAdder();
+    private final StatementCache.Metrics statementMetrics = new StatementCache.Metrics();
+
+    /**
+     * @param name Shown in logs and errors, e.g. the database file name
+     * @param url JDBC URL of the database
+     * @param maxReaders Most read connections open at once
+     * @param timeoutMillis Longest wait for a free connection before failing
+     */
+    public ConnectionPool(String name, String url, int maxReaders, long timeoutMillis) {
+        this(name, url, maxReaders, timeoutMillis, DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    /**
+     * @param statementCacheSize Prepared statements kept per connection; 0 prepares every time
+     */
+    public ConnectionPool(String name, String url, int maxReaders, long timeoutMillis, int statementCacheSize) {
+        if (maxReaders < 1) {
+            throw new IllegalArgumentException("A pool needs at least one reader");
+        }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Statement cache size cannot be negative");
+        }
+        this.name = name;
+        this.url = url;
+        this.maxReaders = maxReaders;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * Run a query on a read-only connection; many reads run in parallel
+     */
+    public <T> T read(SqlWork<T> work) throws SQLException {
+        return withReader(connection -> work.run(connection.connection));
+    }
+
+    /**
+     * Run one query on a read-only connection, reusing its prepared statement for the SQL
+     */
+    public <T> T query(String sql, StatementWork<T> work) throws SQLException {
+        return withReader(connection -> connection.execute(sql, work));
+    }
+
+    private <T> T withReader(PooledWork<T> work) throws SQLException {
+        PooledConnection connection = borrowReader();
+        boolean broken = false;
+        try {
+            return work.run(connection);
+        } catch (SQLException e) {
+            broken = !isValid(connection.connection);
+            throw e;
+        } finally {
+            returnReader(connection, broken);
+        }
+    }
+
+    /**
+     * Run statements on the writer connection; writes are serialized
+     */
+    public <T> T write(SqlWork<T> work) throws SQLException {
+        return withWriter(connection -> work.run(connection.connection));
+    }
+
+    /**
+     * Run one statement on the writer connection, reusing its prepared statement for the SQL
+     */
+    public <T> T update(String sql, StatementWork<T> work) throws SQLException {
+        return withWriter(connection -> connection.execute(sql, work));
+    }
+
+    private <T> T withWriter(PooledWork<T> work) throws SQLException {
+        acquire(writerLock, "writer");
+        try {
+            if (closed) {
+                throw new SQLException("Connection pool for " + name + " is closed");
+            }
+            writerCheckouts.increment();
+            if (writer == null) {
+                writer = open(false);
+            }
+            Exception failure = null;
+            try {
+                return work.run(writer);
+            } catch (SQLException e) {
+                failure = e;
+                if (!isValid(writer.connection)) {
+                    closeQuietly(writer);
+                    writer = null;
+                    replaced.increment();
+                }
+                throw e;
+            } catch (RuntimeException e) {
+                failure = e;
+                throw e;
+            } finally {
+                resetWriter(failure);
+            }
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    /**
+     * Never hand the next writer an open transaction
+     * If the rollback fails the connection is replaced, and the work's own failure, if any,
+     * stays the one the caller sees.
+     */
+    private void resetWriter(Exception failure) throws SQLException {
+        if (writer == null) {
+            return;
+        }
+        try {
+            if (!writer.connection.getAutoCommit()) {
+                writer.connection.rollback();
+                writer.connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            closeQuietly(writer);
+            writer = null;
+            replaced.increment();
+            if (failure == null) {
+                throw e;
+            }
+            failure.addSuppressed(e);
+        }
+    }
+
+    private PooledConnection borrowReader() throws SQLException {
+        readerLock.lock();
+        try {
+            long remaining = timeoutNanos;
+            long waitStart = 0;
+            while (true) {
+                if (closed) {
+                    throw new SQLException("Connection pool for " + name + " is closed");
+                }
+                PooledConnection idle = idleReaders.pollFirst();
+                if (idle != null) {
+                    checkedOut(waitStart);
+                    return idle;
+                }
+                if (openReaders < maxReaders) {
+                    // Reserve the slot; the connection is opened outside the lock
+                    openReaders++;
+                    checkedOut(waitStart);
+                    break;
+                }
+                if (waitStart == 0) {
+                    waitStart = System.nanoTime();
+                    waits.increment();
+                }
+                if (remaining <= 0) {
+                    timeouts.increment();
+                    throw new SQLException("Timed out waiting for a " + name + " connection ("
+                        + maxReaders + " in use)");
+                }
+                remaining = readerReturned.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a " + name + " connection", e);
+        } finally {
+            readerLock.unlock();
+        }
+
+        try {
+            return open(true);
+        } catch (SQLException e) {
+            releaseSlot();
+            throw e;
+        }
+    }
+
+    private void checkedOut(long waitStart) {
+        readerCheckouts.increment();
+        if (waitStart != 0) {
+            waitNanos.add(System.nanoTime() - waitStart);
+        }
+    }
+
+    private void returnReader(PooledConnection connection, boolean broken) {
+        if (broken) {
+            replaced.increment();
+        }
+        readerLock.lock();
+        try {
+            if (!broken && !closed) {
+                idleReaders.addFirst(connection);
+                readerReturned.signal();
+                return;
+            }
+            openReaders--;
+            readerReturned.signal();
+        } finally {
+            readerLock.unlock();
+        }
+        closeQuietly(connection);
+    }
+
+    private void releaseSlot() {
+        readerLock.lock();
+        try {
+            openReaders--;
+            readerReturned.signal();
+        } finally {
+            readerLock.unlock();
+        }
+    }
+
+    private void acquire(ReentrantLock lock, String role) throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool for " + name + " is closed");
+        }
+        if (lock.tryLock()) {
+            return;
+        }
+        long start = System.nanoTime();
+        waits.increment();
+        try {
+            if (!lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                timeouts.increment();
+                throw new SQLException("Timed out waiting for the " + name + " " + role + " connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for the " + name + " " + role + " connection", e);
+        } finally {
+            waitNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private PooledConnection open(boolean readOnly) throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement st = connection.createStatement()) {
+            st.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MILLIS);
+            // Persistent in the file; later connections just confirm it
+            try (ResultSet rs = st.executeQuery("PRAGMA journal_mode = WAL")) {
+                if (rs.next() && !"wal".equalsIgnoreCase(rs.getString(1))) {
+                    LOGGER.log(Level.WARNING, "{0} stays in {1} journal mode", new Object[]{name, rs.getString(1)});
+                }
+            }
+            st.execute("PRAGMA synchronous = NORMAL");
+            if (readOnly) {
+                st.execute("PRAGMA query_only = ON");
+            }
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw e;
+        }
+        LOGGER.log(Level.FINE, "Opened {0} connection to {1}", new Object[]{readOnly ? "read" : "write", name});
+        return new PooledConnection(connection, new StatementCache(connection, statementCacheSize, statementMetrics));
+    }
+
+    /**
+     * Check every idle connection, drop broken ones, and run a query end to end
+     * @return true if the database answered
+     */
+    public boolean healthCheck() {
+        // Take the idle connections out as if checked out, so nobody borrows one mid-check
+        List<PooledConnection> idle = new ArrayList<>();
+        readerLock.lock();
+        try {
+            idle.addAll(idleReaders);
+            idleReaders.clear();
+        } finally {
+            readerLock.unlock();
+        }
+        for (PooledConnection connection : idle) {
+            returnReader(connection, !isValid(connection.connection));
+        }
+
+        try {
+            return read(connection -> {
+                try (Statement st = connection.createStatement();
+                     ResultSet rs = st.executeQuery("SELECT 1")) {
+                    return rs.next();
+                }
+            });
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Health check failed for " + name, e);
+            return false;
+        }
+    }
+
+    public Stats getStats() {
+        readerLock.lock();
+        try {
+            return new Stats(name, maxReaders, openReaders, idleReaders.size(), writer != null,
+                readerCheckouts.sum(), writerCheckouts.sum(), waits.sum(), waitNanos.sum(),
+                timeouts.sum(), replaced.sum(), statementMetrics.hits.sum(), statementMetrics.misses.sum(),
+                statementMetrics.evictions.sum(), statementMetrics.prepareNanos.sum());
+        } finally {
+            readerLock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Close idle connections now and the rest as they are returned
+     */
+    @Override
+    public void close() {
+        closed = true;
+        readerLock.lock();
+        try {
+            for (PooledConnection connection : idleReaders) {
+                closeQuietly(connection);
+            }
+            openReaders -= idleReaders.size();
+            idleReaders.clear();
+            readerReturned.signalAll();
+        } finally {
+            readerLock.unlock();
+        }
+        writerLock.lock();
+        try {
+            if (writer != null) {
+                closeQuietly(writer);
+                writer = null;
+            }
+        } finally {
+            writerLock.unlock();
+        }
+        LOGGER.log(Level.INFO, "Closed connection pool for: {0}", name);
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(1);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void closeQuietly(PooledConnection connection) {
+        connection.statements.close();
+        closeQuietly(connection.connection);
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Error closing connection to: " + name, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface PooledWork<T> {
+        T run(PooledConnection connection) throws SQLException;
+    }
+
+    /**
+     * A connection and the statements prepared on it, checked out together
+     */
+    private static final class PooledConnection {
+        private final Connection connection;
+        private final StatementCache statements;
+
+        PooledConnection(Connection connection, StatementCache statements) {
+            this.connection = connection;
+            this.statements = statements;
+        }
+
+        <T> T execute(String sql, StatementWork<T> work) throws SQLException {
+            PreparedStatement statement = statements.prepare(sql);
+            boolean failed = true;
+            try {
+                T result = work.run(statement);
+                failed = false;
+                return result;
+            } finally {
+                statements.release(sql, statement, failed);
+            }
+        }
+    }
+
+    /**
+     * Point-in-time pool metrics
+     */
+    public static class Stats {
+        private final String name;
+        private final int maxReaders;
+        private final int openReaders;
+        private final int idleReaders;
+        private final boolean writerOpen;
+        private final long readerCheckouts;
+        private final long writerCheckouts;
+        private final long waits;
+        private final long waitNanos;
+        private final long timeouts;
+        private final long replaced;
+        private final long statementHits;
+        private final long statementMisses;
+        private final long statementEvictions;
+        private final long prepareNanos;
+
+        Stats(String name, int maxReaders, int openReaders, int idleReaders, boolean writerOpen,
+              long readerCheckouts, long writerCheckouts, long waits, long waitNanos, long timeouts, long replaced,
+              long statementHits, long statementMisses, long statementEvictions, long prepareNanos) {
+            this.name = name;
+            this.maxReaders = maxReaders;
+            this.openReaders = openReaders;
+            this.idleReaders = idleReaders;
+            this.writerOpen = writerOpen;
+            this.readerCheckouts = readerCheckouts;
+            this.writerCheckouts = writerCheckouts;
+            this.waits = waits;
+            this.waitNanos = waitNanos;
+            this.timeouts = timeouts;
+            this.replaced = replaced;
+            this.statementHits = statementHits;
+            this.statementMisses = statementMisses;
+            this.statementEvictions = statementEvictions;
+            this.prepareNanos = prepareNanos;
+        }
+
+        public int getMaxReaders() {
+            return maxReaders;
+        }
+
+        public int getOpenReaders() {
+            return openReaders;
+        }
+
+        public int getReadersInUse() {
+            return openReaders - idleReaders;
+        }
+
+        public boolean isWriterOpen() {
+            return writerOpen;
+        }
+
+        public long getReaderCheckouts() {
+            return readerCheckouts;
+        }
+
+        public long getWriterCheckouts() {
+            return writerCheckouts;
+        }
+
+        /**
+         * Checkouts that found no free connection and had to wait
+         */
+        public long getWaits() {
+            return waits;
+        }
+
+        public double getAverageWaitMillis() {
+            return waits == 0 ? 0.0 : waitNanos / 1e6 / waits;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        /**
+         * Connections found broken and discarded
+         */
+        public long getReplaced() {
+            return replaced;
+        }
+
+        public long getStatementHits() {
+            return statementHits;
+        }
+
+        /**
+         * Statements that had to be prepared because none was cached
+         */
+        public long getStatementMisses() {
+            return statementMisses;
+        }
+
+        public long getStatementEvictions() {
+            return statementEvictions;
+        }
+
+        public double getStatementHitRate() {
+            long lookups = statementHits + statementMisses;
+            return lookups == 0 ? 0.0 : (double) statementHits / lookups;
+        }
+
+        public double getAveragePrepareMicros() {
+            return statementMisses == 0 ? 0.0 : prepareNanos / 1e3 / statementMisses;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: readers %d/%d open (%d in use), writer %s, %d reads, %d writes, "
+                    + "%d waits (avg %.2f ms), %d timeouts, %d replaced, statement hit rate %.1f%% "
+                    + "(%d prepared, avg %.1f us, %d evicted)",
+                name, openReaders, maxReaders, getReadersInUse(), writerOpen ? "open" : "closed",
+                readerCheckouts, writerCheckouts, waits, getAverageWaitMillis(), timeouts, replaced,
+                100 * getStatementHitRate(), statementMisses, getAveragePrepareMicros(), statementEvictions);
+        }
+    }
+}
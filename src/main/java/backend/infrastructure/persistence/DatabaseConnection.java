@@ -10,7 +10,13 @@ public class DatabaseConnection {
      * Open a connection anchored to the resolved project-root database path.
      */
     public static Connection connect(String dbFileName) throws SQLException {
-        String resolvedPath = DatabasePathResolver.resolve(dbFileName);
-        return DriverManager.getConnection("jdbc:sqlite:" + resolvedPath);
+        return DriverManager.getConnection(url(dbFileName));
+    }
+
+    /**
+     * JDBC URL for the resolved project-root database path.
+     */
+    public static String url(String dbFileName) {
+        return "jdbc:sqlite:" + DatabasePathResolver.resolve(dbFileName);
     }
 }
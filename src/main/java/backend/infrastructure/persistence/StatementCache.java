@@ -0,0 +1,105 @@
+package backend.infrastructure.persistence;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Statement cache - the prepared statements of one connection, keyed by SQL text
+ *
+ * SQLite parses and plans a statement on every prepareStatement, so repeated queries reuse
+ * the prepared one instead. The least recently used statement is closed once the cache is
+ * full. Not thread-safe: a connection and its cache belong to whoever checked them out.
+ */
+final class StatementCache {
+    private static final Logger LOGGER = Logger.getLogger(StatementCache.class.getName());
+
+    private final Connection connection;
+    private final int capacity;
+    private final Metrics metrics;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    StatementCache(Connection connection, int capacity, Metrics metrics) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.metrics = metrics;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= StatementCache.this.capacity) {
+                    return false;
+                }
+                metrics.evictions.increment();
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * The cached statement for the SQL, prepared on first use
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null) {
+            metrics.hits.increment();
+            return statement;
+        }
+        metrics.misses.increment();
+        long start = System.nanoTime();
+        statement = connection.prepareStatement(sql);
+        metrics.prepareNanos.add(System.nanoTime() - start);
+        if (capacity > 0) {
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * Hand a statement back after use; one that failed is dropped rather than reused
+     */
+    void release(String sql, PreparedStatement statement, boolean failed) {
+        if (capacity == 0 || failed) {
+            statements.remove(sql, statement);
+            closeQuietly(statement);
+            return;
+        }
+        try {
+            // Don't keep the last caller's values (e.g. password hashes) alive
+            statement.clearParameters();
+        } catch (SQLException e) {
+            statements.remove(sql, statement);
+            closeQuietly(statement);
+        }
+    }
+
+    void close() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Error closing cached statement", e);
+        }
+    }
+
+    /**
+     * Counters shared by the caches of every connection in a pool
+     */
+    static final class Metrics {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+        final LongAdder prepareNanos = new LongAdder();
+    }
+}
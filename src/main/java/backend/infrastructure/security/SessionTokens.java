@@ -0,0 +1,189 @@
+package backend.infrastructure.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Session tokens - short-lived proof of a recent password login
+ *
+ * A token is "id.expiry.signature", signed with HMAC-SHA256 under a key generated at startup.
+ * Issued tokens are kept in memory until they expire, which makes them revocable, together
+ * with a keyed digest of the password they were issued for. Logging in again with the token
+ * and the same password costs two HMACs instead of a BCrypt verification; a token alone is
+ * not enough. Tokens are only valid in the process that issued them and do not survive a
+ * restart.
+ *
+ * Thread-safe.
+ */
+public class SessionTokens {
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int ID_BYTES = 16;
+
+    private final long ttlMillis;
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ThreadLocal<Mac> macs;
+    private volatile long nextPurge;
+
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public SessionTokens() {
+        this(DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * @param ttlMillis How long a token stays valid after it is issued
+     */
+    public SessionTokens(long ttlMillis) {
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Token lifetime must be positive");
+        }
+        this.ttlMillis = ttlMillis;
+        byte[] secret = new byte[32];
+        random.nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " unavailable", e);
+            }
+        });
+        this.nextPurge = System.currentTimeMillis() + ttlMillis;
+    }
+
+    /**
+     * New token for a user who just proved their password
+     */
+    public String issue(String username, String password) {
+        long now = System.currentTimeMillis();
+        purgeExpired(now);
+        byte[] idBytes = new byte[ID_BYTES];
+        random.nextBytes(idBytes);
+        String id = Base64.getUrlEncoder().withoutPadding().encodeToString(idBytes);
+        long expiresAt = now + ttlMillis;
+        sessions.put(id, new Session(username, digest(password), expiresAt));
+        issued.increment();
+        return id + "." + expiresAt + "." + sign(username, id, expiresAt);
+    }
+
+    /**
+     * True if the token was issued to this user with this password, has not expired and was not revoked
+     */
+    public boolean validate(String username, String password, String token) {
+        if (username == null || password == null || token == null) {
+            rejected.increment();
+            return false;
+        }
+        String[] parts = token.split("\\.");
+        long now = System.currentTimeMillis();
+        long expiresAt;
+        try {
+            expiresAt = parts.length == 3 ? Long.parseLong(parts[1]) : 0;
+        } catch (NumberFormatException e) {
+            expiresAt = 0;
+        }
+        // Signature first, so forged tokens never touch the store
+        boolean valid = expiresAt > now
+            && MessageDigest.isEqual(sign(username, parts[0], expiresAt).getBytes(StandardCharsets.US_ASCII),
+                parts[2].getBytes(StandardCharsets.US_ASCII));
+        if (valid) {
+            Session session = sessions.get(parts[0]);
+            valid = session != null && session.username.equals(username) && session.expiresAt > now
+                && MessageDigest.isEqual(session.passwordDigest, digest(password));
+        }
+        (valid ? accepted : rejected).increment();
+        return valid;
+    }
+
+    /**
+     * End every session of a user, e.g. when their password changes
+     */
+    public void revokeAll(String username) {
+        sessions.values().removeIf(session -> session.username.equals(username));
+    }
+
+    /**
+     * Sessions still in memory, including expired ones not yet purged
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    public long getIssued() {
+        return issued.sum();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Expired sessions dropped from memory
+     */
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    /**
+     * Drop expired sessions; runs at most once per lifetime, piggybacked on issue()
+     */
+    private void purgeExpired(long now) {
+        if (now < nextPurge) {
+            return;
+        }
+        nextPurge = now + ttlMillis;
+        sessions.values().removeIf(session -> {
+            boolean expired = session.expiresAt <= now;
+            if (expired) {
+                evicted.increment();
+            }
+            return expired;
+        });
+    }
+
+    private String sign(String username, String id, long expiresAt) {
+        Mac mac = macs.get();
+        byte[] signature = mac.doFinal((username + '\n' + id + '\n' + expiresAt).getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    // Keyed, so the digests in memory can't be attacked offline like a plain hash; the NUL
+    // prefix keeps them apart from signatures, which start with a username
+    private byte[] digest(String password) {
+        return macs.get().doFinal(("\0" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class Session {
+        private final String username;
+        private final byte[] passwordDigest;
+        private final long expiresAt;
+
+        Session(String username, byte[] passwordDigest, long expiresAt) {
+            this.username = username;
+            this.passwordDigest = passwordDigest;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package frontend.util;
+
+/**
+ * Session of the user logged in on this client
+ * Holds the token from the last password login, so logging in again as the same user
+ * (e.g. after going back from the Pokedex) skips BCrypt.
+ */
+public final class ClientSession {
+    private static String username;
+    private static String token;
+
+    private ClientSession() {
+    }
+
+    public static synchronized void start(String username, String token) {
+        ClientSession.username = username;
+        ClientSession.token = token;
+    }
+
+    /**
+     * Token of the last login if it was this user's, otherwise null
+     */
+    public static synchronized String tokenFor(String username) {
+        return username != null && username.equals(ClientSession.username) ? token : null;
+    }
+}
@@ -15,6 +15,7 @@ import java.awt.Insets;
 import java.awt.Point;
 import java.awt.RenderingHints;
 import java.sql.SQLException;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,8 +35,10 @@ import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.border.EmptyBorder;
 
+import backend.application.service.AuthenticationService;
 import backend.application.service.UserService;
 import backend.infrastructure.ServiceLocator;
+import frontend.util.ClientSession;
 import frontend.util.UIUtils;
 import shared.util.I18n;
 
@@ -45,6 +48,7 @@ public class LoginFrame extends JFrame {
     private static final Logger LOGGER = Logger.getLogger(LoginFrame.class.getName());
 
     private final UserService userService;
+    private final AuthenticationService authenticationService;
 
     private JTextField userField;
     private JPasswordField passField;
@@ -59,6 +63,7 @@ public class LoginFrame extends JFrame {
 
     public LoginFrame() {
         this.userService = ServiceLocator.getInstance().getUserService();
+        this.authenticationService = ServiceLocator.getInstance().getAuthenticationService();
 
         setTitle(I18n.get("login.title"));
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -381,24 +386,22 @@ public class LoginFrame extends JFrame {
         setProcessing(true);
         statusLabel.setText(I18n.get("login.status.authenticating"));
 
-        SwingWorker<Boolean, Void> worker = new SwingWorker<>() {
-            private String errorMessage = null;
-
-            @Override
-            protected Boolean doInBackground() {
-                try {
-                    return userService.authenticate(username, password);
-                } catch (SQLException ex) {
-                    LOGGER.log(Level.SEVERE, "Erro ao autenticar", ex);
-                    errorMessage = I18n.get("login.error.connectionFailed", ex.getMessage());
-                    return false;
-                }
-            }
-
-            @Override
-            protected void done() {
+        // Hashing runs on the authentication pool, unless an earlier login's token lets it skip BCrypt;
+        // only the result comes back to the EDT
+        authenticationService.loginAsync(username, password, ClientSession.tokenFor(username))
+            .whenComplete((token, failure) -> SwingUtilities.invokeLater(() -> {
                 try {
-                    if (get()) {
+                    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                    if (cause instanceof AuthenticationService.BusyException) {
+                        showError(I18n.get("login.error.busy"), userField, passField);
+                    } else if (cause instanceof SQLException) {
+                        LOGGER.log(Level.SEVERE, "Erro ao autenticar", cause);
+                        showError(I18n.get("login.error.connectionFailed", cause.getMessage()), userField, passField);
+                    } else if (cause != null) {
+                        LOGGER.log(Level.SEVERE, "Erro ao processar login/registro", cause);
+                        showError(I18n.get("login.error.unexpected", cause.getMessage()));
+                    } else if (token != null) {
+                        ClientSession.start(username, token);
                         statusLabel.setText(I18n.get("login.status.success"));
                         JOptionPane.showMessageDialog(LoginFrame.this,
                                 I18n.get("login.success.welcome", username),
@@ -406,21 +409,12 @@ public class LoginFrame extends JFrame {
                                 JOptionPane.INFORMATION_MESSAGE);
                         openPokedex(username);
                     } else {
-                        if (errorMessage != null) {
-                            showError(errorMessage, userField, passField);
-                        } else {
-                            showError(I18n.get("login.error.invalidCredentials"), userField, passField);
-                        }
+                        showError(I18n.get("login.error.invalidCredentials"), userField, passField);
                     }
-                } catch (InterruptedException | java.util.concurrent.ExecutionException ex) {
-                    LOGGER.log(Level.SEVERE, "Erro ao processar login/registro", ex);
-                    showError(I18n.get("login.error.unexpected", ex.getMessage()));
                 } finally {
                     setProcessing(false);
                 }
-            }
-        };
-        worker.execute();
+            }));
     }
 
     private void register(String username, String password, String confirmPassword) {
@@ -22,6 +22,7 @@ import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,8 +40,10 @@ import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.border.EmptyBorder;
 
+import backend.application.service.BattleDecision;
 import backend.application.service.BattleService;
 import backend.application.service.BattleService.BattleResult;
 import backend.domain.model.BattleState;
@@ -577,18 +580,48 @@ public class SingleplayerBattlePanel extends JPanel {
             return;
         }
 
-        if (enemyTeam.getActivePokemon().isFainted()) {
-            switchEnemyPokemon();
-            return;
-        }
-
         isProcessing = true;
-        // Use BattleService to execute enemy turn
         battleState.setCurrentTurn(BattleState.Turn.ENEMY);
-        String attackerName = enemyTeam.getActivePokemon().getPokemon().getName();
 
-        // Get random move
-        Move enemyMove = enemyMoves.get((int) (Math.random() * enemyMoves.size()));
+        // The AI can think for its whole time budget, so ask it off the EDT
+        new SwingWorker<BattleDecision, Void>() {
+            @Override
+            protected BattleDecision doInBackground() {
+                return battleService.getEnemyAI().decide(battleState);
+            }
+
+            @Override
+            protected void done() {
+                if (battleEnded) {
+                    return;
+                }
+                BattleDecision decision;
+                try {
+                    decision = get();
+                } catch (InterruptedException | ExecutionException ex) {
+                    LOGGER.log(Level.WARNING, "Enemy AI failed, falling back to a random action", ex);
+                    if (enemyTeam.getActivePokemon().isFainted()) {
+                        switchEnemyPokemon();
+                        return;
+                    }
+                    decision = BattleDecision.move(battleState.getRandom().nextInt(enemyMoves.size()));
+                }
+
+                if (decision.isSwitch()) {
+                    if (enemyTeam.switchPokemon(decision.getIndex())) {
+                        showEnemySentOut();
+                    } else {
+                        switchEnemyPokemon();
+                    }
+                } else {
+                    executeEnemyMove(enemyMoves.get(decision.getIndex()));
+                }
+            }
+        }.execute();
+    }
+
+    private void executeEnemyMove(Move enemyMove) {
+        String attackerName = enemyTeam.getActivePokemon().getPokemon().getName();
 
         showBattleMessage(I18n.get("battle.message.usedEnemy", attackerName, enemyMove.getLocalizedName()), 1500, () -> {
             BattleResult result = battleService.executeMove(battleState, enemyMove);
@@ -636,7 +669,9 @@ public class SingleplayerBattlePanel extends JPanel {
                     isProcessing = false;
                     endBattle(true);
                 } else {
-                    switchEnemyPokemon();
+                    // The enemy AI picks the replacement
+                    isProcessing = false;
+                    executeEnemyTurn();
                 }
             }
         });
@@ -751,8 +786,11 @@ public class SingleplayerBattlePanel extends JPanel {
             endBattle(true);
             return;
         }
+        showEnemySentOut();
+    }
 
-        // Get the new active Pokemon after auto-switch
+    private void showEnemySentOut() {
+        // Get the new active Pokemon after the switch
         PokemonBattleStats newActivePokemon = enemyTeam.getActivePokemon();
 
         showBattleMessage(I18n.get("battle.message.sentOut", newActivePokemon.getPokemon().getName()), 2000, () -> {
@@ -779,7 +817,7 @@ public class SingleplayerBattlePanel extends JPanel {
 
                 isProcessing = false; // Reset processing flag
 
-                // After enemy switches due to fainting, it's player's turn
+                // Switching uses up the enemy's turn
                 battleState.setCurrentTurn(BattleState.Turn.PLAYER);
                 showBattleMessage(I18n.get("battle.message.whatWillDo", playerTeam.getActivePokemon().getPokemon().getName()), 1000, () -> {
                     enableControls();
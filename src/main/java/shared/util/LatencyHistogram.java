@@ -0,0 +1,95 @@
+package shared.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in milliseconds
+ * Buckets are powers of two (0-1 ms, 1-2 ms, 2-4 ms ... up to about 18 minutes), so
+ * recording is one array increment and percentiles are accurate to within a factor of two.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 21;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sumMillis = new LongAdder();
+
+    /**
+     * Record one duration
+     */
+    public void record(long millis) {
+        long value = Math.max(0, millis);
+        counts.incrementAndGet(bucketFor(value));
+        total.increment();
+        sumMillis.add(value);
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    public double getMeanMillis() {
+        long count = total.sum();
+        return count == 0 ? 0.0 : (double) sumMillis.sum() / count;
+    }
+
+    /**
+     * Upper bound (ms) of the bucket holding the given percentile, 0 if nothing was recorded
+     *
+     * @param percentile Between 0.0 and 1.0
+     */
+    public long getPercentileMillis(double percentile) {
+        long count = total.sum();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * Snapshot of the bucket counts; bucket i covers [upperBound(i - 1), upperBound(i)) ms
+     */
+    public long[] getBucketCounts() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Exclusive upper bound of a bucket in milliseconds
+     */
+    public static long upperBound(int bucket) {
+        return 1L << bucket;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        sumMillis.reset();
+    }
+
+    private static int bucketFor(long millis) {
+        int bucket = 64 - Long.numberOfLeadingZeros(millis);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.1fms p50<%dms p95<%dms p99<%dms",
+            getCount(), getMeanMillis(), getPercentileMillis(0.50),
+            getPercentileMillis(0.95), getPercentileMillis(0.99));
+    }
+}